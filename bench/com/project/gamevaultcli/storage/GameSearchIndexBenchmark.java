@@ -0,0 +1,88 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Build and query timings for GameSearchIndex. Not part of the application;
+ * compile it against the application classes and run it by hand, e.g.
+ * javac -cp build/classes -d build/bench bench/com/project/gamevaultcli/storage/GameSearchIndexBenchmark.java
+ * java -cp build/classes:build/bench com.project.gamevaultcli.storage.GameSearchIndexBenchmark
+ */
+public class GameSearchIndexBenchmark {
+
+    /**
+     * Benchmarks the index on a generated catalog: the time to build it and
+     * the average time of some type-ahead queries. Words are drawn roughly
+     * by Zipf's law from a generated vocabulary, so a few words are in most
+     * descriptions and most words are rare, as in real text.
+     * Usage: GameSearchIndexBenchmark [games] (defaults to 100,000).
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0].replace("_", "")) : 100_000;
+        Random random = new Random(42);
+        String[] syllables = { "ka", "ro", "mi", "dra", "gon", "sha", "dow", "star", "el", "ven", "tor", "ix",
+                "bel", "zar", "quo", "lum", "fen", "grim", "ost", "vel" };
+        // Distinct words: each index written in base 20 with syllables as digits
+        String[] vocabulary = new String[50_000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            StringBuilder word = new StringBuilder();
+            for (int n = i + syllables.length; n > 0; n /= syllables.length) {
+                word.append(syllables[n % syllables.length]);
+            }
+            vocabulary[i] = word.toString();
+        }
+        String[] platforms = { "PC", "PS4", "PS5", "Xbox One", "Xbox Series X", "Switch" };
+
+        List<Game> games = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            games.add(new Game(i, words(random, vocabulary, 2 + random.nextInt(3)),
+                    words(random, vocabulary, 15 + random.nextInt(30)), words(random, vocabulary, 1) + " Studios",
+                    platforms[random.nextInt(platforms.length)], 999, new Date()));
+        }
+
+        GameSearchIndex index = new GameSearchIndex();
+        long start = System.nanoTime();
+        index.sync(games);
+        System.out.printf("Indexed %,d games in %.0f ms%n", index.size(), (System.nanoTime() - start) / 1e6);
+        start = System.nanoTime();
+        index.sync(games);
+        System.out.printf("Synced the unchanged catalog in %.0f ms%n", (System.nanoTime() - start) / 1e6);
+
+        String common = vocabulary[0];
+        String mid = vocabulary[200];
+        String rare = vocabulary[20_000];
+        String[] queries = { common.substring(0, 1), common.substring(0, 3), common, mid.substring(0, 3), mid, rare,
+                common + " " + mid.substring(0, 2), mid + " " + common.substring(0, 3), mid + " " + rare,
+                "studios " + rare.substring(0, 4), "ps5 " + mid.substring(0, 4), "nomatch" };
+        final int warmups = 500;
+        final int runs = 2000;
+        System.out.printf("%-34s %8s %10s%n", "query", "results", "ms/query");
+        for (String query : queries) {
+            int results = 0;
+            for (int i = 0; i < warmups; i++) {
+                results = index.search(query, 50).length;
+            }
+            long queryStart = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                index.search(query, 50);
+            }
+            System.out.printf("%-34s %8d %10.3f%n", "'" + query + "'", results,
+                    (System.nanoTime() - queryStart) / 1e6 / runs);
+        }
+    }
+
+    // Words drawn roughly by Zipf's law: the k-th most common word about 1/k as often as the first
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            int rank = (int) Math.exp(random.nextDouble() * Math.log(vocabulary.length + 1)) - 1;
+            text.append(i > 0 ? " " : "").append(vocabulary[Math.min(rank, vocabulary.length - 1)]);
+        }
+        return text.toString();
+    }
+}
@@ -4,11 +4,16 @@ import com.project.gamevaultcli.management.GameVaultManagement;
 import com.project.gamevaultcli.management.CartManagement;
 import com.project.gamevaultcli.management.GameManagement;
 import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.management.RecommendationManagement;
+import com.project.gamevaultcli.management.SalesCounters;
+import com.project.gamevaultcli.management.StatisticsManagement;
 import com.project.gamevaultcli.management.TransactionManagement;
 import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultcli.management.WalletManagement;
 import com.project.gamevaultcli.storage.CartStorage;
 import com.project.gamevaultcli.storage.GameStorage;
 import com.project.gamevaultcli.storage.OrderStorage;
+import com.project.gamevaultcli.storage.SalesCounterStorage;
 import com.project.gamevaultcli.storage.TransactionStorage;
 import com.project.gamevaultcli.storage.UserStorage;
 import com.project.gamevaultcli.helpers.DBUtil;
@@ -30,11 +35,16 @@ public class GameVaultCLI {
 
             // Initialize Managements
             UserManagement userManagement = new UserManagement(userStorage);
-            GameManagement gameManagement = new GameManagement(gameStorage);
-            CartManagement cartManagement = new CartManagement(cartStorage);
+            SalesCounters salesCounters = new SalesCounters(new SalesCounterStorage());
+            GameManagement gameManagement = new GameManagement(gameStorage, salesCounters);
+            CartManagement cartManagement = new CartManagement(cartStorage, gameStorage);
             TransactionManagement transactionManagement = new TransactionManagement(transactionStorage);
+            StatisticsManagement statisticsManagement = new StatisticsManagement(userStorage, gameStorage,
+                    transactionStorage, salesCounters);
+            RecommendationManagement recommendationManagement = new RecommendationManagement(gameStorage);
             OrderManagement orderManagement = new OrderManagement(orderStorage, cartStorage, userStorage,
-                    transactionManagement);
+                    gameStorage, transactionManagement, salesCounters, recommendationManagement);
+            WalletManagement walletManagement = new WalletManagement(userStorage, transactionStorage, salesCounters);
 
             // Create GameVaultManagement but DO NOT initialize data yet (which would
             // trigger DB connection)
@@ -50,7 +60,10 @@ public class GameVaultCLI {
                         gameManagement,
                         cartManagement,
                         orderManagement,
-                        transactionManagement);
+                        transactionManagement,
+                        statisticsManagement,
+                        walletManagement,
+                        recommendationManagement);
                 frame.setVisible(true);
 
                 // Start with the database connection panel
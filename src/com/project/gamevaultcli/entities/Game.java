@@ -1,5 +1,6 @@
 package com.project.gamevaultcli.entities;
 
+import com.project.gamevaultcli.helpers.Money;
 
 import java.util.Date;
 
@@ -9,25 +10,26 @@ public class Game {
     private String description;
     private String developer;
     private String platform;
-    private float price;
+    // In cents
+    private long priceCents;
     private Date releaseDate;
 
-    public Game(String title, String description, String developer, String platform, float price, Date releaseDate) {
+    public Game(String title, String description, String developer, String platform, long priceCents, Date releaseDate) {
         this.title = title;
         this.description = description;
         this.developer = developer;
         this.platform = platform;
-        this.price = price;
+        this.priceCents = priceCents;
         this.releaseDate = releaseDate;
     }
 
-    public Game(int gameId, String title, String description, String developer, String platform, float price, Date releaseDate) {
+    public Game(int gameId, String title, String description, String developer, String platform, long priceCents, Date releaseDate) {
         this.gameId = gameId;
         this.title = title;
         this.description = description;
         this.developer = developer;
         this.platform = platform;
-        this.price = price;
+        this.priceCents = priceCents;
         this.releaseDate = releaseDate;
     }
 
@@ -71,12 +73,12 @@ public class Game {
         this.platform = platform;
     }
 
-    public float getPrice() {
-        return price;
+    public long getPriceCents() {
+        return priceCents;
     }
 
-    public void setPrice(float price) {
-        this.price = price;
+    public void setPriceCents(long priceCents) {
+        this.priceCents = priceCents;
     }
 
     public Date getReleaseDate() {
@@ -95,7 +97,7 @@ public class Game {
                 ", description='" + description + '\'' +
                 ", developer='" + developer + '\'' +
                 ", platform='" + platform + '\'' +
-                ", price=" + price +
+                ", price=" + Money.format(priceCents) +
                 ", releaseDate=" + releaseDate +
                 '}';
     }
@@ -1,16 +1,21 @@
 package com.project.gamevaultcli.entities;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 
 public class Order {
     private int orderId;
     private int userId;
-    private double totalAmount;
+    // In cents
+    private long totalAmountCents;
     private Date orderDate;
+    // Titles of the games in the order, only filled in by order history queries
+    private List<String> gameTitles = new ArrayList<>();
 
-    public Order(int userId, double totalAmount, Date orderDate) {
+    public Order(int userId, long totalAmountCents, Date orderDate) {
         this.userId = userId;
-        this.totalAmount = totalAmount;
+        this.totalAmountCents = totalAmountCents;
         this.orderDate = orderDate;
     }
 
@@ -32,12 +37,12 @@ public class Order {
         this.userId = userId;
     }
 
-    public double getTotalAmount() {
-        return totalAmount;
+    public long getTotalAmountCents() {
+        return totalAmountCents;
     }
 
-    public void setTotalAmount(double totalAmount) {
-        this.totalAmount = totalAmount;
+    public void setTotalAmountCents(long totalAmountCents) {
+        this.totalAmountCents = totalAmountCents;
     }
 
     public Date getOrderDate() {
@@ -47,4 +52,12 @@ public class Order {
     public void setOrderDate(Date orderDate) {
         this.orderDate = orderDate;
     }
+
+    public List<String> getGameTitles() {
+        return gameTitles;
+    }
+
+    public void setGameTitles(List<String> gameTitles) {
+        this.gameTitles = gameTitles;
+    }
 }
\ No newline at end of file
@@ -7,17 +7,17 @@ public class Transaction {
     private Integer orderId; // Changed this
     private Integer userId;
     private String transactionType;
-    private Float amount;
+    private long amountCents; // In cents
     private LocalDateTime transactionDate;
 
     public Transaction() {}
 
-    public Transaction (Integer transactionId, Integer orderId, Integer userId, String transactionType, Float amount, LocalDateTime transactionDate) {
+    public Transaction (Integer transactionId, Integer orderId, Integer userId, String transactionType, long amountCents, LocalDateTime transactionDate) {
         this.transactionId = transactionId;
         this.orderId = orderId;
         this.userId = userId;
         this.transactionType = transactionType;
-        this.amount = amount;
+        this.amountCents = amountCents;
         this.transactionDate = transactionDate;
     }
 
@@ -29,8 +29,8 @@ public class Transaction {
     public void setUserId(Integer userId) { this.userId = userId; }
     public String getTransactionType() { return transactionType; }
     public void setTransactionType(String transactionType) { this.transactionType = transactionType; }
-    public Float getAmount() { return amount; }
-    public void setAmount(Float amount) { this.amount = amount; }
+    public long getAmountCents() { return amountCents; }
+    public void setAmountCents(long amountCents) { this.amountCents = amountCents; }
     public LocalDateTime getTransactionDate() { return transactionDate; }
     public void setTransactionDate(LocalDateTime transactionDate) { this.transactionDate = transactionDate; }
 }
\ No newline at end of file
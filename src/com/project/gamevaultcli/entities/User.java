@@ -7,23 +7,24 @@ public class User {
     private String email;
     private String password;
     private String username;
-    private float walletBalance;
+    // In cents
+    private long walletBalanceCents;
     private Date createdAt;
 
-    public User(String email, String password, String username, float walletBalance) {
+    public User(String email, String password, String username, long walletBalanceCents) {
         this.email = email;
         this.password = password;
         this.username = username;
-        this.walletBalance = walletBalance;
+        this.walletBalanceCents = walletBalanceCents;
         this.createdAt = new Date();
     }
 
-    public User(int userId, String email, String password, String username, float walletBalance, Date createdAt) {
+    public User(int userId, String email, String password, String username, long walletBalanceCents, Date createdAt) {
         this.userId = userId;
         this.email = email;
         this.password = password;
         this.username = username;
-        this.walletBalance = walletBalance;
+        this.walletBalanceCents = walletBalanceCents;
         this.createdAt = createdAt;
     }
 
@@ -59,12 +60,12 @@ public class User {
         this.username = username;
     }
 
-    public float getWalletBalance() {
-        return walletBalance;
+    public long getWalletBalanceCents() {
+        return walletBalanceCents;
     }
 
-    public void setWalletBalance(float walletBalance) {
-        this.walletBalance = walletBalance;
+    public void setWalletBalanceCents(long walletBalanceCents) {
+        this.walletBalanceCents = walletBalanceCents;
     }
 
     public Date getCreatedAt() {
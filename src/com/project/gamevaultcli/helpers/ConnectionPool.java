@@ -0,0 +1,395 @@
+package com.project.gamevaultcli.helpers;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe pool of JDBC connections.
+ * Connections handed out by {@link #borrow()} are proxies: calling close() on
+ * them returns the physical connection to the pool instead of closing it.
+ */
+public class ConnectionPool {
+
+    // Creates new physical connections for the pool
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long borrowTimeoutMillis;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+    private final StatementCache.Stats statementCacheStats;
+
+    // Idle connections, most recently returned first
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    // One permit per connection that may be handed out
+    private final Semaphore permits;
+    private final ScheduledExecutorService evictor;
+    private volatile boolean shutdown = false;
+
+    // Counters
+    private final AtomicInteger activeCount = new AtomicInteger();
+    private final AtomicInteger totalCount = new AtomicInteger();
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder borrowWaitNanos = new LongAdder();
+    private final LongAdder borrowTimeouts = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder invalidCount = new LongAdder();
+    private volatile long maxBorrowWaitNanos = 0;
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeoutMillis,
+            long borrowTimeoutMillis, int validationTimeoutSeconds, int statementCacheSize,
+            StatementCache.Stats statementCacheStats) throws SQLException {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.borrowTimeoutMillis = borrowTimeoutMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.statementCacheStats = statementCacheStats;
+        this.permits = new Semaphore(maxSize, true);
+
+        // Warm up the pool with the minimum number of connections
+        for (int i = 0; i < minSize; i++) {
+            PooledConnection pooled = createPooledConnection();
+            synchronized (idle) {
+                idle.push(pooled);
+            }
+        }
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gamevault-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if
+     * all connections are in use. The caller must close() the returned
+     * connection to give it back.
+     *
+     * @return A validated connection
+     * @throws SQLException If the pool is shut down, the wait timed out or a
+     *                      new connection could not be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (shutdown) {
+            throw new SQLException("Connection pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                borrowTimeouts.increment();
+                throw new SQLException("Timed out after " + borrowTimeoutMillis
+                        + " ms waiting for a database connection (max pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - start);
+
+        try {
+            PooledConnection pooled = takeValidIdleConnection();
+            if (pooled == null) {
+                pooled = createPooledConnection();
+            }
+            activeCount.incrementAndGet();
+            borrowCount.increment();
+            return pooled.lease();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    // Pops idle connections until one passes validation
+    private PooledConnection takeValidIdleConnection() {
+        while (true) {
+            PooledConnection pooled;
+            synchronized (idle) {
+                pooled = idle.poll();
+            }
+            if (pooled == null) {
+                return null;
+            }
+            if (pooled.isValid(validationTimeoutSeconds)) {
+                return pooled;
+            }
+            invalidCount.increment();
+            destroy(pooled);
+        }
+    }
+
+    private PooledConnection createPooledConnection() throws SQLException {
+        Connection physical = factory.create();
+        totalCount.incrementAndGet();
+        createdCount.increment();
+        return new PooledConnection(physical);
+    }
+
+    // Called when a leased connection is closed by its borrower
+    private void giveBack(PooledConnection pooled) {
+        activeCount.decrementAndGet();
+        try {
+            if (shutdown || !pooled.resetForReuse()) {
+                destroy(pooled);
+                return;
+            }
+            pooled.lastUsedAt = System.currentTimeMillis();
+            synchronized (idle) {
+                idle.push(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pooled) {
+        totalCount.decrementAndGet();
+        pooled.closePhysical();
+    }
+
+    // Closes connections that have been idle longer than the idle timeout,
+    // keeping at least minSize connections open.
+    private void evictIdleConnections() {
+        long cutoff = System.currentTimeMillis() - idleTimeoutMillis;
+        synchronized (idle) {
+            // Oldest connections sit at the tail of the deque
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && totalCount.get() > minSize) {
+                PooledConnection pooled = it.next();
+                if (pooled.lastUsedAt > cutoff) {
+                    break;
+                }
+                it.remove();
+                evictedCount.increment();
+                destroy(pooled);
+            }
+        }
+    }
+
+    /**
+     * Returns the statement cache of the physical connection behind a borrowed
+     * connection, or null if the connection did not come from a pool.
+     */
+    static StatementCache statementCacheOf(Connection conn) {
+        if (conn != null && Proxy.isProxyClass(conn.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(conn);
+            if (handler instanceof ConnectionPool.Lease) {
+                PooledConnection pooled = ((ConnectionPool.Lease) handler).pooled;
+                return pooled == null ? null : pooled.statementCache;
+            }
+        }
+        return null;
+    }
+
+    private void recordWait(long nanos) {
+        borrowWaitNanos.add(nanos);
+        if (nanos > maxBorrowWaitNanos) {
+            synchronized (this) {
+                if (nanos > maxBorrowWaitNanos) {
+                    maxBorrowWaitNanos = nanos;
+                }
+            }
+        }
+    }
+
+    /**
+     * Closes all idle connections and stops handing out new ones. Connections
+     * still on loan are closed when their borrowers return them.
+     */
+    public void shutdown() {
+        shutdown = true;
+        evictor.shutdownNow();
+        synchronized (idle) {
+            while (!idle.isEmpty()) {
+                destroy(idle.poll());
+            }
+        }
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    public int getActiveCount() {
+        return activeCount.get();
+    }
+
+    public int getIdleCount() {
+        synchronized (idle) {
+            return idle.size();
+        }
+    }
+
+    public int getTotalCount() {
+        return totalCount.get();
+    }
+
+    public long getBorrowCount() {
+        return borrowCount.sum();
+    }
+
+    public long getBorrowTimeouts() {
+        return borrowTimeouts.sum();
+    }
+
+    public double getAverageBorrowWaitMillis() {
+        long borrows = borrowCount.sum();
+        return borrows == 0 ? 0.0 : borrowWaitNanos.sum() / 1_000_000.0 / borrows;
+    }
+
+    public double getMaxBorrowWaitMillis() {
+        return maxBorrowWaitNanos / 1_000_000.0;
+    }
+
+    public long getCreatedCount() {
+        return createdCount.sum();
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    public long getInvalidCount() {
+        return invalidCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "ConnectionPool{active=%d, idle=%d, total=%d, max=%d, borrows=%d, avgWait=%.3fms, maxWait=%.3fms, "
+                        + "timeouts=%d, created=%d, evicted=%d, invalid=%d}",
+                getActiveCount(), getIdleCount(), getTotalCount(), maxSize, getBorrowCount(),
+                getAverageBorrowWaitMillis(), getMaxBorrowWaitMillis(), getBorrowTimeouts(), getCreatedCount(),
+                getEvictedCount(), getInvalidCount());
+    }
+
+    // A physical connection owned by the pool
+    private final class PooledConnection {
+        private final Connection physical;
+        private final StatementCache statementCache;
+        private volatile long lastUsedAt = System.currentTimeMillis();
+
+        private PooledConnection(Connection physical) {
+            this.physical = physical;
+            this.statementCache = new StatementCache(physical, statementCacheSize, statementCacheStats);
+        }
+
+        // Wraps the physical connection in a proxy whose close() returns it to the pool
+        private Connection lease() {
+            return (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[] { Connection.class },
+                    new Lease(this));
+        }
+
+        private boolean isValid(int timeoutSeconds) {
+            try {
+                return !physical.isClosed() && physical.isValid(timeoutSeconds);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        // Undoes anything a borrower may have left behind; false if the connection is unusable
+        private boolean resetForReuse() {
+            try {
+                if (physical.isClosed()) {
+                    return false;
+                }
+                if (!physical.getAutoCommit()) {
+                    physical.rollback();
+                    physical.setAutoCommit(true);
+                }
+                physical.clearWarnings();
+                return true;
+            } catch (SQLException e) {
+                System.err.println("Discarding pooled connection: " + e.getMessage());
+                return false;
+            }
+        }
+
+        private void closePhysical() {
+            statementCache.close();
+            try {
+                physical.close();
+            } catch (SQLException e) {
+                System.err.println("Error closing pooled connection: " + e.getMessage());
+            }
+        }
+    }
+
+    // One borrower's handle on a pooled connection; closing it twice is harmless
+    private final class Lease implements InvocationHandler {
+        private PooledConnection pooled;
+
+        private Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            PooledConnection current;
+            synchronized (this) {
+                if ("close".equals(name)) {
+                    if (pooled != null) {
+                        PooledConnection returned = pooled;
+                        pooled = null;
+                        giveBack(returned);
+                    }
+                    return null;
+                }
+                if ("isClosed".equals(name)) {
+                    return pooled == null || pooled.physical.isClosed();
+                }
+                if ("equals".equals(name)) {
+                    return proxy == args[0];
+                }
+                if ("hashCode".equals(name)) {
+                    return System.identityHashCode(proxy);
+                }
+                if ("toString".equals(name)) {
+                    return "PooledConnection[" + (pooled == null ? "returned" : pooled.physical) + "]";
+                }
+                if (pooled == null) {
+                    throw new SQLException("Connection has already been returned to the pool");
+                }
+                current = pooled;
+            }
+            try {
+                return method.invoke(current.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.project.gamevaultcli.helpers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Minimal RFC 4180 CSV reading and writing. Fields may be quoted with double
+ * quotes, in which case they can contain commas, line breaks and doubled
+ * quotes. Records are read one at a time so files of any size can be
+ * streamed.
+ */
+public class CsvUtil {
+
+    /**
+     * Reads the next record from the reader. Blank lines are skipped.
+     *
+     * @param in The reader, positioned at the start of a record
+     * @return The fields of the record, or null at the end of the input
+     * @throws IOException If reading fails or a quoted field is not terminated
+     */
+    public static List<String> readRecord(BufferedReader in) throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean inQuotes = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            int c = in.read();
+            if (c == -1) {
+                if (inQuotes) {
+                    throw new IOException("Unterminated quoted field at end of input");
+                }
+                if (fields.isEmpty() && field.length() == 0 && !wasQuoted) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+
+            if (inQuotes) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"'); // Escaped quote
+                    } else {
+                        in.reset();
+                        inQuotes = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+                continue;
+            }
+
+            if (c == '"' && field.length() == 0 && !wasQuoted) {
+                inQuotes = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    in.mark(1);
+                    if (in.read() != '\n') {
+                        in.reset();
+                    }
+                }
+                if (fields.isEmpty() && field.length() == 0 && !wasQuoted) {
+                    continue; // Blank line
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Formats fields as one CSV record, without the trailing line break.
+     * Null fields are written as empty fields.
+     */
+    public static String formatRecord(List<String> fields) {
+        StringBuilder record = new StringBuilder();
+        for (int i = 0; i < fields.size(); i++) {
+            if (i > 0) {
+                record.append(',');
+            }
+            appendField(record, fields.get(i));
+        }
+        return record.toString();
+    }
+
+    private static void appendField(StringBuilder record, String value) {
+        if (value == null) {
+            return;
+        }
+        boolean needsQuotes = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!needsQuotes) {
+            record.append(value);
+            return;
+        }
+        record.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                record.append('"');
+            }
+            record.append(c);
+        }
+        record.append('"');
+    }
+}
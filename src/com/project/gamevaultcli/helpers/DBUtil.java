@@ -2,14 +2,19 @@ package com.project.gamevaultcli.helpers;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Properties;
+import java.util.function.Consumer;
 import java.io.IOException;
 import java.util.Scanner;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetProvider;
 
 public class DBUtil {
 
-    private static Connection connection;
+    // Pool of connections shared by all storage classes
+    private static ConnectionPool pool;
 
     // Hardcoded part of the URL (up to the database name)
     private static final String DB_BASE_URL = "jdbc:mysql://localhost:3306/";
@@ -19,6 +24,26 @@ public class DBUtil {
     private static String databaseUsername = null;
     private static String databasePassword = null;
 
+    // Pool settings, can be overridden with configurePool() before the first connection
+    private static int poolMinSize = 2;
+    private static int poolMaxSize = 10;
+    private static long poolIdleTimeoutMillis = 5 * 60 * 1000L;
+    private static long poolBorrowTimeoutMillis = 10 * 1000L;
+    private static int poolValidationTimeoutSeconds = 2;
+
+    // Prepared statements cached per pooled connection, and their shared counters
+    private static int statementCacheSize = 64;
+    private static final StatementCache.Stats statementCacheStats = new StatementCache.Stats();
+
+    // Rows sent per JDBC batch by executeBatch()
+    private static int batchSize = 500;
+
+    // Rows fetched per round trip by executeStreamingQuery()
+    private static int streamFetchSize = 1000;
+
+    // Connection of the transaction running on the current thread, if any
+    private static final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+
     /**
      * Sets the database credentials to be used for connections.
      * This method should be called before the first getConnection() call.
@@ -33,6 +58,67 @@ public class DBUtil {
         databasePassword = password;
     }
 
+    /**
+     * Sets the connection pool limits. Takes effect the next time the pool is
+     * created, so call it before the first getConnection() call.
+     *
+     * @param minSize             Connections kept open even when idle
+     * @param maxSize             Maximum connections open at once
+     * @param idleTimeoutMillis   How long a connection may sit idle before it is
+     *                            closed (down to minSize)
+     * @param borrowTimeoutMillis How long getConnection() waits when all
+     *                            connections are in use
+     */
+    public static synchronized void configurePool(int minSize, int maxSize, long idleTimeoutMillis,
+            long borrowTimeoutMillis) {
+        if (minSize < 0 || maxSize <= 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        poolMinSize = minSize;
+        poolMaxSize = maxSize;
+        poolIdleTimeoutMillis = idleTimeoutMillis;
+        poolBorrowTimeoutMillis = borrowTimeoutMillis;
+    }
+
+    /**
+     * Sets how many prepared statements each pooled connection keeps cached.
+     * Takes effect the next time the pool is created.
+     *
+     * @param size Maximum cached statements per connection (at least 1)
+     */
+    public static synchronized void setStatementCacheSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Statement cache size must be positive: " + size);
+        }
+        statementCacheSize = size;
+    }
+
+    /**
+     * Sets how many rows executeBatch() and executeBatchInsert() send to the
+     * database per JDBC batch.
+     *
+     * @param size Rows per batch (at least 1)
+     */
+    public static synchronized void setBatchSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + size);
+        }
+        batchSize = size;
+    }
+
+    /**
+     * Sets how many rows executeStreamingQuery() fetches from the server per
+     * round trip.
+     *
+     * @param size Rows per fetch (at least 1)
+     */
+    public static synchronized void setStreamFetchSize(int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + size);
+        }
+        streamFetchSize = size;
+    }
+
     // Method to get the database name from the user (called only once)
     private static String getDatabaseNameFromUser() {
         if (databaseName == null) { // Ask only if databaseName is not already set
@@ -43,8 +129,18 @@ public class DBUtil {
         return databaseName;
     }
 
+    /**
+     * Borrows a connection from the pool, creating the pool (and the database
+     * and tables) on first use. Callers must close() the connection to return it
+     * to the pool.
+     */
     public static Connection getConnection() throws SQLException, IOException {
-        if (connection == null || connection.isClosed()) {
+        return getPool().borrow();
+    }
+
+    // Returns the live pool, building it on first use or after closeConnection()
+    private static synchronized ConnectionPool getPool() throws SQLException, IOException {
+        if (pool == null || pool.isShutdown()) {
             String user;
             String password;
 
@@ -71,8 +167,13 @@ public class DBUtil {
                 password = databasePassword;
             }
 
-            // Construct the full database URL
-            String url = DB_BASE_URL + databaseName;
+            // Construct the full database URL. Server-side prepared statements let
+            // the cached statements skip the parse on the MySQL side as well, and
+            // rewriteBatchedStatements turns a JDBC batch into multi-row INSERTs.
+            // useCursorFetch makes statements with a fetch size read through a
+            // server-side cursor; statements without one are unaffected.
+            String url = DB_BASE_URL + databaseName
+                    + "?useServerPrepStmts=true&rewriteBatchedStatements=true&useCursorFetch=true";
 
             try {
                 Class.forName("com.mysql.cj.jdbc.Driver"); // Load the MySQL driver
@@ -80,27 +181,50 @@ public class DBUtil {
                 // Create the database if it doesn't exist
                 createDatabaseIfNotExist(databaseName, user, password);
 
-                connection = DriverManager.getConnection(url, user, password);
-                System.out.println("Database connection established to: " + databaseName);
-                createTablesIfNotExist();
+                ConnectionPool newPool = new ConnectionPool(() -> DriverManager.getConnection(url, user, password),
+                        poolMinSize, poolMaxSize, poolIdleTimeoutMillis, poolBorrowTimeoutMillis,
+                        poolValidationTimeoutSeconds, statementCacheSize, statementCacheStats);
+                try (Connection conn = newPool.borrow()) {
+                    SchemaMigrations.migrate(conn);
+                } catch (SQLException e) {
+                    newPool.shutdown();
+                    throw e;
+                }
+                pool = newPool;
+                System.out.println("Database connection pool established to: " + databaseName);
             } catch (ClassNotFoundException e) {
                 System.err.println("MySQL JDBC driver not found. Make sure it's in your classpath.");
                 throw new SQLException("MySQL JDBC driver not found", e);
             } catch (SQLException e) {
-                System.err.println("Error creating database: " + e.getMessage());
+                System.err.println("Error connecting to database: " + e.getMessage());
+                throw e;
             }
         }
-        return connection;
+        return pool;
     }
 
-    public static void closeConnection() {
-        if (connection != null) {
-            try {
-                connection.close();
-                System.out.println("Database connection closed.");
-            } catch (SQLException e) {
-                System.err.println("Error closing database connection: " + e.getMessage());
-            }
+    /**
+     * Returns the active connection pool so callers can read its counters
+     * (active/idle connections, borrow wait times), or null if no connection
+     * has been made yet.
+     */
+    public static synchronized ConnectionPool getConnectionPool() {
+        return pool;
+    }
+
+    /**
+     * Returns the hit/miss/eviction counters of the prepared statement caches.
+     */
+    public static StatementCache.Stats getStatementCacheStats() {
+        return statementCacheStats;
+    }
+
+    public static synchronized void closeConnection() {
+        if (pool != null) {
+            System.out.println("Closing database connection pool.");
+            pool.shutdown();
+            pool = null;
+            System.out.println("Database connection closed.");
         }
     }
 
@@ -124,28 +248,14 @@ public class DBUtil {
         }
     }
 
-    private static void createTablesIfNotExist() throws SQLException, IOException {
-        try (Statement statement = getConnection().createStatement()) {
-            statement.executeUpdate(SQL_CREATE_USERS_TABLE);
-            statement.executeUpdate(SQL_CREATE_GAMES_TABLE);
-            statement.executeUpdate(SQL_CREATE_CARTS_TABLE);
-            statement.executeUpdate(SQL_CREATE_CART_ITEMS_TABLE);
-            statement.executeUpdate(SQL_CREATE_ORDERS_TABLE);
-            statement.executeUpdate(SQL_CREATE_ORDER_ITEMS_TABLE);
-            statement.executeUpdate(SQL_CREATE_TRANSACTIONS_TABLE);
-            // System.out.println("Tables created or already exist."); remove
-        }
-    }
-
     // Helper function to execute a query and process the ResultSet
     public static <T> List<T> executeQuery(String sql, ResultSetHandler<T> handler, Object... params)
             throws SQLException, IOException {
         List<T> results = new ArrayList<>();
-        try (Connection conn = getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            for (int i = 0; i < params.length; i++) {
-                pstmt.setObject(i + 1, params[i]);
-            }
+        Connection conn = acquireConnection();
+        try {
+            PreparedStatement pstmt = prepareCached(conn, sql, Statement.NO_GENERATED_KEYS);
+            setParameters(pstmt, params);
 
             try (ResultSet rs = pstmt.executeQuery()) {
                 while (rs.next()) {
@@ -153,29 +263,330 @@ public class DBUtil {
                 }
             }
 
+        } finally {
+            releaseConnection(conn);
         }
         return results;
     }
 
+    /**
+     * Runs a query and passes each row to an action as it is read, instead of
+     * collecting the rows in a list. The driver reads the result through a
+     * forward-only server-side cursor, a fetch size at a time, so memory use
+     * doesn't depend on the number of rows. The statement, result set and
+     * connection are closed before this returns, also when the action throws.
+     *
+     * The connection is held until the last row is handled, so keep the action
+     * quick (e.g. writing to a file) and don't run other queries from it.
+     *
+     * @param sql     The query
+     * @param handler Maps each row
+     * @param action  Receives the mapped rows, in result order
+     * @param params  The query parameters
+     * @return The number of rows read
+     */
+    public static <T> long executeStreamingQuery(String sql, ResultSetHandler<T> handler,
+            RowCallback<? super T> action, Object... params) throws SQLException, IOException {
+        long rows = 0;
+        Connection conn = acquireConnection();
+        // Not taken from the statement cache, since the fetch size would stick to the cached statement
+        try (PreparedStatement pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY,
+                ResultSet.CONCUR_READ_ONLY)) {
+            pstmt.setFetchSize(streamFetchSize);
+            setParameters(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    action.accept(handler.handle(rs));
+                    rows++;
+                }
+            }
+        } finally {
+            releaseConnection(conn);
+        }
+        return rows;
+    }
+
+    /**
+     * Passes every row of a table to an action in ID order. Rows are read
+     * batchSize at a time, each batch starting after the last ID of the one
+     * before, so memory use doesn't grow with the table and no query has to
+     * skip over rows already read.
+     *
+     * @param table     The table to read
+     * @param idColumn  The table's integer primary key
+     * @param batchSize Rows read per query
+     * @param handler   Maps each row
+     * @param action    Receives the mapped rows
+     */
+    public static <T> void forEachByKeyset(String table, String idColumn, int batchSize, ResultSetHandler<T> handler,
+            Consumer<? super T> action) throws SQLException, IOException {
+        String sql = "SELECT * FROM " + table + " WHERE " + idColumn + " > ? ORDER BY " + idColumn + " LIMIT ?";
+        int[] lastId = { 0 };
+        List<T> batch;
+        do {
+            batch = executeQuery(sql, rs -> {
+                lastId[0] = rs.getInt(idColumn);
+                return handler.handle(rs);
+            }, lastId[0], batchSize);
+            batch.forEach(action);
+        } while (batch.size() == batchSize);
+    }
+
+    /**
+     * Reads one page of a table, ordered by the request's sort column and then
+     * by ID. Pages requested by cursor seek straight to the first row after
+     * the cursor, so their cost doesn't depend on how deep they are.
+     *
+     * @param table           The table to read
+     * @param idColumn        The table's integer primary key
+     * @param sortableColumns The columns callers may sort by; others are rejected
+     * @param request         Which page to read
+     * @param handler         Maps each row
+     * @return The page, with the cursor of its last row
+     */
+    public static <T> Page<T> executePage(String table, String idColumn, Collection<String> sortableColumns,
+            PageRequest request, ResultSetHandler<T> handler) throws SQLException, IOException {
+        String column = request.getSortColumn();
+        if (!sortableColumns.contains(column)) {
+            throw new IllegalArgumentException("Cannot sort " + table + " by " + column);
+        }
+        boolean byId = column.equals(idColumn);
+        String direction = request.isAscending() ? "ASC" : "DESC";
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT * FROM ").append(table);
+
+        if (request.hasCursor()) {
+            Object value = request.getAfterSortValue();
+            int afterId = request.getAfterId();
+            sql.append(" WHERE ");
+            if (byId) {
+                sql.append(idColumn).append(request.isAscending() ? " > ?" : " < ?");
+                params.add(afterId);
+            } else if (value == null) {
+                // MySQL sorts NULL first ascending and last descending
+                sql.append("(").append(column).append(" IS NULL AND ").append(idColumn).append(" > ?)");
+                params.add(afterId);
+                if (request.isAscending()) {
+                    sql.append(" OR ").append(column).append(" IS NOT NULL");
+                }
+            } else {
+                sql.append("(").append(column).append(request.isAscending() ? " > ?" : " < ?")
+                        .append(" OR (").append(column).append(" = ? AND ").append(idColumn).append(" > ?)");
+                params.add(value);
+                params.add(value);
+                params.add(afterId);
+                if (!request.isAscending()) {
+                    sql.append(" OR ").append(column).append(" IS NULL");
+                }
+                sql.append(")");
+            }
+        }
+
+        sql.append(" ORDER BY ").append(column).append(' ').append(direction);
+        if (!byId) {
+            sql.append(", ").append(idColumn).append(" ASC");
+        }
+        sql.append(" LIMIT ?");
+        params.add(request.getLimit());
+        if (!request.hasCursor() && request.getOffset() > 0) {
+            sql.append(" OFFSET ?");
+            params.add(request.getOffset());
+        }
+
+        // Remember the sort value and ID of the last row as the next page's cursor
+        Object[] last = new Object[2];
+        List<T> rows = executeQuery(sql.toString(), rs -> {
+            last[0] = rs.getObject(column);
+            last[1] = rs.getInt(idColumn);
+            return handler.handle(rs);
+        }, params.toArray());
+        return new Page<>(rows, last[0], (Integer) last[1]);
+    }
+
     // Helper function to execute an update (INSERT, UPDATE, DELETE)
     public static int executeUpdate(String sql, Object... params) throws SQLException, IOException {
-        try (Connection conn = getConnection();
-                PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            for (int i = 0; i < params.length; i++) {
-                pstmt.setObject(i + 1, params[i]);
-            }
+        Connection conn = acquireConnection();
+        try {
+            PreparedStatement pstmt = prepareCached(conn, sql, Statement.NO_GENERATED_KEYS);
+            setParameters(pstmt, params);
             return pstmt.executeUpdate(); // Returns the number of rows affected
+        } finally {
+            releaseConnection(conn);
         }
     }
 
-    // Helper function to execute an insert and return generated keys
+    // Helper function to execute an insert and return generated keys.
+    // The keys are copied into a disconnected row set so the pooled connection
+    // can be returned straight away.
     public static ResultSet executeInsert(String sql, Object... params) throws SQLException, IOException {
-        PreparedStatement pstmt = getConnection().prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+        Connection conn = acquireConnection();
+        try {
+            PreparedStatement pstmt = prepareCached(conn, sql, Statement.RETURN_GENERATED_KEYS);
+            setParameters(pstmt, params);
+            pstmt.executeUpdate();
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                CachedRowSet generatedKeys = RowSetProvider.newFactory().createCachedRowSet();
+                generatedKeys.populate(keys);
+                return generatedKeys; // Returns the generated keys
+            }
+        } finally {
+            releaseConnection(conn);
+        }
+    }
+
+    /**
+     * Runs the same statement once per parameter row using JDBC batches of the
+     * configured batch size. All rows are written in one transaction (or in the
+     * caller's transaction, if there is one).
+     *
+     * @param sql  The INSERT, UPDATE or DELETE statement
+     * @param rows One parameter array per execution
+     * @return The total number of rows affected, as far as the driver reports it
+     */
+    public static int executeBatch(String sql, List<Object[]> rows) throws SQLException, IOException {
+        return executeBatch(sql, rows, batchSize);
+    }
+
+    public static int executeBatch(String sql, List<Object[]> rows, int batchSize)
+            throws SQLException, IOException {
+        return runBatches(sql, rows, batchSize, null);
+    }
+
+    /**
+     * Like executeBatch(), but collects the auto-generated key of every
+     * inserted row, in the order of the parameter rows.
+     *
+     * @param sql  The INSERT statement
+     * @param rows One parameter array per row to insert
+     * @return The generated keys
+     */
+    public static List<Integer> executeBatchInsert(String sql, List<Object[]> rows) throws SQLException, IOException {
+        return executeBatchInsert(sql, rows, batchSize);
+    }
+
+    public static List<Integer> executeBatchInsert(String sql, List<Object[]> rows, int batchSize)
+            throws SQLException, IOException {
+        List<Integer> generatedKeys = new ArrayList<>(rows.size());
+        runBatches(sql, rows, batchSize, generatedKeys);
+        return generatedKeys;
+    }
+
+    // Sends rows in chunks of batchSize; collects generated keys if a list is given
+    private static int runBatches(String sql, List<Object[]> rows, int batchSize, List<Integer> generatedKeys)
+            throws SQLException, IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int autoGeneratedKeys = generatedKeys != null ? Statement.RETURN_GENERATED_KEYS : Statement.NO_GENERATED_KEYS;
+        return executeInTransaction(conn -> {
+            PreparedStatement pstmt = prepareCached(conn, sql, autoGeneratedKeys);
+            int affected = 0;
+            int pending = 0;
+            for (Object[] params : rows) {
+                setParameters(pstmt, params);
+                pstmt.addBatch();
+                if (++pending == batchSize) {
+                    affected += flushBatch(pstmt, generatedKeys);
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                affected += flushBatch(pstmt, generatedKeys);
+            }
+            return affected;
+        });
+    }
+
+    private static int flushBatch(PreparedStatement pstmt, List<Integer> generatedKeys) throws SQLException {
+        int affected = 0;
+        for (int count : pstmt.executeBatch()) {
+            // SUCCESS_NO_INFO (-2) is reported for rewritten batches
+            affected += count > 0 ? count : 0;
+        }
+        if (generatedKeys != null) {
+            try (ResultSet keys = pstmt.getGeneratedKeys()) {
+                while (keys.next()) {
+                    generatedKeys.add(keys.getInt(1));
+                }
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Runs work inside a single database transaction. Every DBUtil call the
+     * work makes on this thread (including calls made through the storage
+     * classes) uses the same connection. The transaction commits when the work
+     * returns and rolls back if it throws. Nested calls join the outer
+     * transaction.
+     *
+     * @param work The statements to run atomically
+     * @return Whatever the work returns
+     */
+    public static <T> T executeInTransaction(TransactionCallback<T> work) throws SQLException, IOException {
+        Connection bound = transactionConnection.get();
+        if (bound != null) {
+            return work.execute(bound); // Already inside a transaction, join it
+        }
+
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            transactionConnection.set(conn);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | IOException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                transactionConnection.remove();
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Interface for work run by executeInTransaction()
+    public interface TransactionCallback<T> {
+        T execute(Connection conn) throws SQLException, IOException;
+    }
+
+    // Uses the connection of the current transaction if there is one,
+    // otherwise borrows one from the pool
+    private static Connection acquireConnection() throws SQLException, IOException {
+        Connection bound = transactionConnection.get();
+        return bound != null ? bound : getConnection();
+    }
+
+    // Returns a connection from acquireConnection() unless it belongs to a transaction
+    private static void releaseConnection(Connection conn) throws SQLException {
+        if (conn != transactionConnection.get()) {
+            conn.close();
+        }
+    }
+
+    // Looks the statement up in the connection's statement cache. The cache owns
+    // the statement, so callers must not close it.
+    private static PreparedStatement prepareCached(Connection conn, String sql, int autoGeneratedKeys)
+            throws SQLException {
+        StatementCache cache = ConnectionPool.statementCacheOf(conn);
+        if (cache == null) {
+            throw new SQLException("Connection was not borrowed from the DBUtil pool");
+        }
+        return cache.prepare(sql, autoGeneratedKeys);
+    }
+
+    private static void setParameters(PreparedStatement pstmt, Object... params) throws SQLException {
         for (int i = 0; i < params.length; i++) {
             pstmt.setObject(i + 1, params[i]);
         }
-        pstmt.executeUpdate();
-        return pstmt.getGeneratedKeys(); // Returns the generated keys
     }
 
     // Interface for handling the ResultSet and mapping to an object
@@ -183,63 +594,8 @@ public class DBUtil {
         T handle(ResultSet rs) throws SQLException;
     }
 
-    private static final String SQL_CREATE_USERS_TABLE = "CREATE TABLE IF NOT EXISTS Users (" +
-            "userId INT AUTO_INCREMENT PRIMARY KEY," +
-            "email VARCHAR(255) NOT NULL," +
-            "password VARCHAR(255) NOT NULL," +
-            "username VARCHAR(255) NOT NULL," +
-            "walletBalance FLOAT NOT NULL," +
-            "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
-            ")";
-
-    private static final String SQL_CREATE_GAMES_TABLE = "CREATE TABLE IF NOT EXISTS Games (" +
-            "gameId INT AUTO_INCREMENT PRIMARY KEY," +
-            "title VARCHAR(255) NOT NULL," +
-            "description TEXT," +
-            "developer VARCHAR(255)," +
-            "platform VARCHAR(255)," +
-            "price FLOAT NOT NULL," +
-            "releaseDate DATE" +
-            ")";
-
-    private static final String SQL_CREATE_CARTS_TABLE = "CREATE TABLE IF NOT EXISTS Carts (" +
-            "userId INT PRIMARY KEY," +
-            "FOREIGN KEY (userId) REFERENCES Users(userId)" +
-            ")";
-
-    private static final String SQL_CREATE_CART_ITEMS_TABLE = "CREATE TABLE IF NOT EXISTS CartItems (" +
-            "cartItemId INT AUTO_INCREMENT PRIMARY KEY," +
-            "userId INT NOT NULL," +
-            "gameId INT NOT NULL," +
-            "FOREIGN KEY (userId) REFERENCES Carts(userId)," +
-            "FOREIGN KEY (gameId) REFERENCES Games(gameId)" +
-            ")";
-
-    private static final String SQL_CREATE_ORDERS_TABLE = "CREATE TABLE IF NOT EXISTS Orders (" +
-            "orderId INT AUTO_INCREMENT PRIMARY KEY," +
-            "userId INT NOT NULL," +
-            "totalAmount DOUBLE NOT NULL," +
-            "orderDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-            "FOREIGN KEY (userId) REFERENCES Users(userId)" +
-            ")";
-
-    private static final String SQL_CREATE_ORDER_ITEMS_TABLE = "CREATE TABLE IF NOT EXISTS OrderItems (" +
-            "orderItemId INT AUTO_INCREMENT PRIMARY KEY," +
-            "orderId INT NOT NULL," +
-            "gameId INT NOT NULL," +
-            "price FLOAT NOT NULL," +
-            "FOREIGN KEY (orderId) REFERENCES Orders(orderId)," +
-            "FOREIGN KEY (gameId) REFERENCES Games(gameId)" +
-            ")";
-
-    private static final String SQL_CREATE_TRANSACTIONS_TABLE = "CREATE TABLE IF NOT EXISTS Transactions (" +
-            "transactionId INT AUTO_INCREMENT PRIMARY KEY," +
-            "orderId INT NOT NULL," +
-            "userId INT NOT NULL," +
-            "transactionType VARCHAR(255)," +
-            "amount FLOAT NOT NULL," +
-            "transactionDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
-            "FOREIGN KEY (userId) REFERENCES Users(userId)," +
-            "FOREIGN KEY (orderId) REFERENCES Orders(orderId)" +
-            ")";
-}
\ No newline at end of file
+    // Interface for the work done on each row by executeStreamingQuery()
+    public interface RowCallback<T> {
+        void accept(T row) throws SQLException, IOException;
+    }
+}
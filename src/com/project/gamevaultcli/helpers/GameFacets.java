@@ -0,0 +1,38 @@
+package com.project.gamevaultcli.helpers;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * How many games match a GameFilter, and how many would match for each
+ * platform and developer. A facet's counts ignore that facet's own part of
+ * the filter (the platform counts ignore the selected platforms, but apply
+ * the developer, price and release date parts), so they tell how many games
+ * picking each value would show. Every known value is listed, in name order,
+ * including those with no matches.
+ */
+public class GameFacets {
+
+    private final int matchCount;
+    private final Map<String, Integer> platformCounts;
+    private final Map<String, Integer> developerCounts;
+
+    public GameFacets(int matchCount, Map<String, Integer> platformCounts, Map<String, Integer> developerCounts) {
+        this.matchCount = matchCount;
+        this.platformCounts = Collections.unmodifiableMap(platformCounts);
+        this.developerCounts = Collections.unmodifiableMap(developerCounts);
+    }
+
+    // The number of games matching the whole filter
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    public Map<String, Integer> getPlatformCounts() {
+        return platformCounts;
+    }
+
+    public Map<String, Integer> getDeveloperCounts() {
+        return developerCounts;
+    }
+}
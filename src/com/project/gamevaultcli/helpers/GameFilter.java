@@ -0,0 +1,146 @@
+package com.project.gamevaultcli.helpers;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Which games a filtered catalog view shows: games on any of some platforms,
+ * by any of some developers, within a price range and released within a date
+ * window. Every part is optional; an empty set or a null bound doesn't
+ * filter. Bounds are inclusive.
+ *
+ * Filters are immutable; the with... methods return a changed copy.
+ */
+public class GameFilter {
+
+    private static final GameFilter ANY = new GameFilter(Collections.<String>emptySet(),
+            Collections.<String>emptySet(), null, null, null, null);
+
+    private final Set<String> platforms;
+    private final Set<String> developers;
+    private final Long minPriceCents;
+    private final Long maxPriceCents;
+    private final Date releasedFrom;
+    private final Date releasedTo;
+
+    private GameFilter(Set<String> platforms, Set<String> developers, Long minPriceCents, Long maxPriceCents,
+            Date releasedFrom, Date releasedTo) {
+        this.platforms = platforms;
+        this.developers = developers;
+        this.minPriceCents = minPriceCents;
+        this.maxPriceCents = maxPriceCents;
+        this.releasedFrom = releasedFrom;
+        this.releasedTo = releasedTo;
+    }
+
+    // The filter that matches every game
+    public static GameFilter any() {
+        return ANY;
+    }
+
+    // Only games on one of these platforms; an empty collection allows any
+    public GameFilter withPlatforms(Collection<String> platforms) {
+        return new GameFilter(copy(platforms), developers, minPriceCents, maxPriceCents, releasedFrom, releasedTo);
+    }
+
+    // Only games by one of these developers; an empty collection allows any
+    public GameFilter withDevelopers(Collection<String> developers) {
+        return new GameFilter(platforms, copy(developers), minPriceCents, maxPriceCents, releasedFrom, releasedTo);
+    }
+
+    /**
+     * Only games priced within a range.
+     *
+     * @param minCents The lowest price in cents, or null for no minimum
+     * @param maxCents The highest price in cents, or null for no maximum
+     */
+    public GameFilter withPriceRange(Long minCents, Long maxCents) {
+        return new GameFilter(platforms, developers, minCents, maxCents, releasedFrom, releasedTo);
+    }
+
+    /**
+     * Only games released within a window. Games without a release date
+     * only match when neither bound is set.
+     *
+     * @param from The earliest release date, or null for no limit
+     * @param to   The latest release date, or null for no limit
+     */
+    public GameFilter withReleaseWindow(Date from, Date to) {
+        return new GameFilter(platforms, developers, minPriceCents, maxPriceCents,
+                from != null ? new Date(from.getTime()) : null, to != null ? new Date(to.getTime()) : null);
+    }
+
+    public Set<String> getPlatforms() {
+        return platforms;
+    }
+
+    public Set<String> getDevelopers() {
+        return developers;
+    }
+
+    public Long getMinPriceCents() {
+        return minPriceCents;
+    }
+
+    public Long getMaxPriceCents() {
+        return maxPriceCents;
+    }
+
+    public Date getReleasedFrom() {
+        return releasedFrom != null ? new Date(releasedFrom.getTime()) : null;
+    }
+
+    public Date getReleasedTo() {
+        return releasedTo != null ? new Date(releasedTo.getTime()) : null;
+    }
+
+    // True if this filter matches every game
+    public boolean isEmpty() {
+        return platforms.isEmpty() && developers.isEmpty() && minPriceCents == null && maxPriceCents == null
+                && releasedFrom == null && releasedTo == null;
+    }
+
+    /**
+     * Checks one game against the filter. Meant for short lists, such as
+     * search results; whole catalogs are filtered by GameStorage's index.
+     */
+    public boolean matches(Game game) {
+        if (!platforms.isEmpty() && !platforms.contains(game.getPlatform())) {
+            return false;
+        }
+        if (!developers.isEmpty() && !developers.contains(game.getDeveloper())) {
+            return false;
+        }
+        if (minPriceCents != null && game.getPriceCents() < minPriceCents) {
+            return false;
+        }
+        if (maxPriceCents != null && game.getPriceCents() > maxPriceCents) {
+            return false;
+        }
+        if (releasedFrom != null || releasedTo != null) {
+            Date released = game.getReleaseDate();
+            if (released == null) {
+                return false;
+            }
+            if (releasedFrom != null && released.getTime() < releasedFrom.getTime()) {
+                return false;
+            }
+            if (releasedTo != null && released.getTime() > releasedTo.getTime()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> copy(Collection<String> values) {
+        if (values == null || values.isEmpty()) {
+            return Collections.emptySet();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(values));
+    }
+}
@@ -28,9 +28,7 @@ public class Helper {
             for (int i = 0; i < columnNames.size(); i++) {
                 try {
                     String fieldName = columnNames.get(i);
-                    Field field = item.getClass().getDeclaredField(fieldName);
-                    field.setAccessible(true); // Allow access to private fields
-                    Object value = field.get(item);
+                    Object value = readField(item, fieldName);
                     String stringValue = (value != null) ? value.toString() : "null";
                     maxColumnLengths.set(i, Math.max(maxColumnLengths.get(i), stringValue.length()));
                 } catch (NoSuchFieldException | IllegalAccessException e) {
@@ -60,9 +58,7 @@ public class Helper {
             for (int i = 0; i < columnNames.size(); i++) {
                 try {
                     String fieldName = columnNames.get(i);
-                    Field field = item.getClass().getDeclaredField(fieldName);
-                    field.setAccessible(true);
-                    Object value = field.get(item);
+                    Object value = readField(item, fieldName);
                     rowData[i] = (value != null) ? value.toString() : "null";
                 } catch (NoSuchFieldException | IllegalAccessException e) {
                     System.err.println("Error accessing field " + columnNames.get(i) + ": " + e.getMessage());
@@ -76,6 +72,23 @@ public class Helper {
         printSeparator(maxColumnLengths);
     }
 
+    // Reads a field by name. Money is stored in a "<name>Cents" field, which
+    // is shown as an amount under the plain name (e.g. "price")
+    private static Object readField(Object item, String fieldName)
+            throws NoSuchFieldException, IllegalAccessException {
+        Field field;
+        boolean cents = false;
+        try {
+            field = item.getClass().getDeclaredField(fieldName);
+        } catch (NoSuchFieldException e) {
+            field = item.getClass().getDeclaredField(fieldName + "Cents");
+            cents = true;
+        }
+        field.setAccessible(true); // Allow access to private fields
+        Object value = field.get(item);
+        return cents ? Money.format((Long) value) : value;
+    }
+
     private static void printSeparator(List<Integer> columnLengths) {
         System.out.print("+");
         for (int length : columnLengths) {
@@ -0,0 +1,76 @@
+package com.project.gamevaultcli.helpers;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Money is held as a long number of cents everywhere in the application:
+ * prices, wallet balances, order totals, transaction amounts and the totals
+ * built from them. Adding and comparing cents is exact and allocates
+ * nothing, unlike float (which can't represent most prices exactly) or
+ * BigDecimal.
+ *
+ * The database keeps money in DECIMAL(12,2) columns, so SQL sums are exact
+ * too; {@link #toDecimal} and {@link #fromDecimal} convert at the JDBC
+ * boundary. Text is only parsed and formatted at the edges (forms, files).
+ */
+public final class Money {
+
+    // Digits in total and after the decimal point of every money column
+    private static final int PRECISION = 12;
+    private static final int SCALE = 2;
+
+    // The column type of every money column
+    public static final String SQL_TYPE = "DECIMAL(" + PRECISION + "," + SCALE + ")";
+
+    // The largest amount a money column holds, 9,999,999,999.99, in cents
+    public static final long MAX_CENTS = BigDecimal.TEN.pow(PRECISION).longValueExact() - 1;
+
+    private Money() {
+    }
+
+    /**
+     * Parses an amount such as "12", "12.5" or "12.50" into cents.
+     *
+     * @throws NumberFormatException If the text isn't a number, has more than
+     *                               two decimal places or is out of range
+     */
+    public static long parse(String amount) {
+        BigDecimal value;
+        try {
+            value = new BigDecimal(amount.trim());
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Not an amount: '" + amount + "'");
+        }
+        long cents;
+        try {
+            cents = value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("Amounts can't have more than two decimal places or be this large: '"
+                    + amount + "'");
+        }
+        if (cents > MAX_CENTS || cents < -MAX_CENTS) {
+            throw new NumberFormatException("Amounts can't be larger than " + format(MAX_CENTS) + ": '"
+                    + amount + "'");
+        }
+        return cents;
+    }
+
+    // Formats cents with two decimal places, e.g. 1250 as "12.50"
+    public static String format(long cents) {
+        return BigDecimal.valueOf(cents, SCALE).toPlainString();
+    }
+
+    // The value to bind to a DECIMAL column
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    // Reads a DECIMAL column's value as cents; SQL NULL reads as 0
+    public static long fromDecimal(BigDecimal value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
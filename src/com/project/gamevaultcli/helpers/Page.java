@@ -0,0 +1,35 @@
+package com.project.gamevaultcli.helpers;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of rows returned by DBUtil.executePage(), with the sort value and
+ * ID of its last row so the next page can be requested by keyset.
+ */
+public class Page<T> {
+
+    private final List<T> rows;
+    private final Object lastSortValue;
+    private final Integer lastId;
+
+    public Page(List<T> rows, Object lastSortValue, Integer lastId) {
+        this.rows = Collections.unmodifiableList(rows);
+        this.lastSortValue = lastSortValue;
+        this.lastId = lastId;
+    }
+
+    public List<T> getRows() {
+        return rows;
+    }
+
+    // Sort column value of the last row (may be null), or null if the page is empty
+    public Object getLastSortValue() {
+        return lastSortValue;
+    }
+
+    // ID of the last row, or null if the page is empty
+    public Integer getLastId() {
+        return lastId;
+    }
+}
@@ -0,0 +1,85 @@
+package com.project.gamevaultcli.helpers;
+
+/**
+ * Describes one page of a sorted table read, for DBUtil.executePage().
+ * Rows are ordered by the sort column and then by ID, so the order is total
+ * even when sort values repeat. A page that follows a page already read
+ * should start from that page's cursor (keyset pagination, which stays fast
+ * however deep the page is); otherwise it is located by row offset.
+ */
+public class PageRequest {
+
+    private final String sortColumn;
+    private final boolean ascending;
+    private final int offset;
+    private final int limit;
+    private final boolean hasCursor;
+    private final Object afterSortValue;
+    private final int afterId;
+
+    private PageRequest(String sortColumn, boolean ascending, int offset, int limit, boolean hasCursor,
+            Object afterSortValue, int afterId) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Page size must be positive: " + limit);
+        }
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset must not be negative: " + offset);
+        }
+        this.sortColumn = sortColumn;
+        this.ascending = ascending;
+        this.offset = offset;
+        this.limit = limit;
+        this.hasCursor = hasCursor;
+        this.afterSortValue = afterSortValue;
+        this.afterId = afterId;
+    }
+
+    /**
+     * Requests the rows starting at a row offset. Use for the first page, or
+     * to jump to a page whose predecessor hasn't been read.
+     */
+    public static PageRequest atOffset(String sortColumn, boolean ascending, int offset, int limit) {
+        return new PageRequest(sortColumn, ascending, offset, limit, false, null, 0);
+    }
+
+    /**
+     * Requests the rows that come right after a page read with the same sort.
+     *
+     * @param previous The page before the one wanted; must not be empty
+     */
+    public static PageRequest after(Page<?> previous, String sortColumn, boolean ascending, int limit) {
+        if (previous.getLastId() == null) {
+            throw new IllegalArgumentException("Cannot continue after an empty page");
+        }
+        return new PageRequest(sortColumn, ascending, 0, limit, true, previous.getLastSortValue(),
+                previous.getLastId());
+    }
+
+    public String getSortColumn() {
+        return sortColumn;
+    }
+
+    public boolean isAscending() {
+        return ascending;
+    }
+
+    public int getOffset() {
+        return offset;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public boolean hasCursor() {
+        return hasCursor;
+    }
+
+    public Object getAfterSortValue() {
+        return afterSortValue;
+    }
+
+    public int getAfterId() {
+        return afterId;
+    }
+}
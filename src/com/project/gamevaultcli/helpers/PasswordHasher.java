@@ -0,0 +1,160 @@
+package com.project.gamevaultcli.helpers;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Hashes passwords with salted PBKDF2-HMAC-SHA256. A stored hash looks like
+ * "pbkdf2_sha256$iterations$salt$hash" (salt and hash in Base64), so it
+ * carries its own cost and old hashes keep verifying after the iteration
+ * count is raised; {@link #needsRehash} tells the login path to upgrade them.
+ *
+ * Passwords stored in plain text by older versions still verify and always
+ * need a rehash.
+ *
+ * The iteration count sets how long one login takes. Run main() on the
+ * production hardware to see the cost of a login at a few counts, and pick
+ * the highest count that still meets the login rate we need.
+ */
+public class PasswordHasher {
+
+    // OWASP's recommendation for PBKDF2-HMAC-SHA256 when this was written
+    public static final int DEFAULT_ITERATIONS = 310_000;
+
+    private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+    private static final String PREFIX = "pbkdf2_sha256";
+    private static final int SALT_BYTES = 16;
+    private static final int HASH_BITS = 256;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final int iterations;
+    // Verified against when the user doesn't exist, so a failed login takes
+    // as long whether or not the email is registered
+    private final String dummyHash;
+
+    public PasswordHasher() {
+        this(DEFAULT_ITERATIONS);
+    }
+
+    public PasswordHasher(int iterations) {
+        if (iterations <= 0) {
+            throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+        this.dummyHash = hash("");
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    // Hashes a password with a new random salt and the current iteration count
+    public String hash(String password) {
+        byte[] salt = new byte[SALT_BYTES];
+        RANDOM.nextBytes(salt);
+        byte[] hash = pbkdf2(password, salt, iterations);
+        Base64.Encoder base64 = Base64.getEncoder().withoutPadding();
+        return PREFIX + "$" + iterations + "$" + base64.encodeToString(salt) + "$" + base64.encodeToString(hash);
+    }
+
+    /**
+     * Checks a password against a stored hash (or a legacy plain-text password).
+     * The comparison takes the same time wherever the first difference is.
+     *
+     * @param password The password entered
+     * @param stored   The stored value, or null if there is no such user
+     * @return true if the password matches
+     */
+    public boolean verify(String password, String stored) {
+        if (stored == null) {
+            verify(password, dummyHash);
+            return false;
+        }
+        if (!isHashed(stored)) {
+            return MessageDigest.isEqual(stored.getBytes(StandardCharsets.UTF_8),
+                    password.getBytes(StandardCharsets.UTF_8));
+        }
+        String[] parts = stored.split("\\$");
+        if (parts.length != 4) {
+            return false;
+        }
+        try {
+            int storedIterations = Integer.parseInt(parts[1]);
+            byte[] salt = Base64.getDecoder().decode(parts[2]);
+            byte[] expected = Base64.getDecoder().decode(parts[3]);
+            if (storedIterations <= 0) {
+                return false;
+            }
+            return MessageDigest.isEqual(expected, pbkdf2(password, salt, storedIterations));
+        } catch (IllegalArgumentException e) { // Malformed number or Base64
+            return false;
+        }
+    }
+
+    // True if the stored value is plain text or was hashed with another iteration count
+    public boolean needsRehash(String stored) {
+        if (stored == null || !isHashed(stored)) {
+            return true;
+        }
+        String[] parts = stored.split("\\$");
+        return parts.length != 4 || !parts[1].equals(String.valueOf(iterations));
+    }
+
+    private static boolean isHashed(String stored) {
+        return stored.startsWith(PREFIX + "$");
+    }
+
+    private static byte[] pbkdf2(String password, byte[] salt, int iterations) {
+        PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, iterations, HASH_BITS);
+        try {
+            return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+        } catch (GeneralSecurityException e) {
+            // Every Java 8+ runtime ships PBKDF2WithHmacSHA256
+            throw new IllegalStateException("Password hashing is unavailable", e);
+        } finally {
+            spec.clearPassword();
+        }
+    }
+
+    /**
+     * Benchmarks the login path: the time to verify one password at each
+     * iteration count, and the logins per second one core can sustain.
+     * Usage: PasswordHasher [iterations...] (defaults to a range around the
+     * default count).
+     */
+    public static void main(String[] args) {
+        int[] counts;
+        if (args.length > 0) {
+            counts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                counts[i] = Integer.parseInt(args[i].replace("_", ""));
+            }
+        } else {
+            counts = new int[] { 50_000, 100_000, 210_000, DEFAULT_ITERATIONS, 600_000 };
+        }
+
+        final int warmups = 5;
+        final int runs = 20;
+        System.out.printf("%12s %12s %14s%n", "iterations", "ms/login", "logins/s/core");
+        for (int count : counts) {
+            PasswordHasher hasher = new PasswordHasher(count);
+            String stored = hasher.hash("correct horse battery staple");
+            for (int i = 0; i < warmups; i++) {
+                hasher.verify("correct horse battery staple", stored);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < runs; i++) {
+                if (!hasher.verify("correct horse battery staple", stored)) {
+                    throw new IllegalStateException("Verification failed");
+                }
+            }
+            double millis = (System.nanoTime() - start) / 1_000_000.0 / runs;
+            System.out.printf("%,12d %12.1f %14.1f%n", count, millis, 1000.0 / millis);
+        }
+    }
+}
@@ -0,0 +1,330 @@
+package com.project.gamevaultcli.helpers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Brings the database schema up to date when the application connects. The
+ * schema is changed by an ordered list of numbered migrations; each applied
+ * migration is recorded in the schema_version table, so a startup only runs
+ * the migrations the database hasn't seen yet.
+ *
+ * MySQL commits DDL as it runs, so a migration can't be rolled back if it
+ * fails halfway. Every step therefore checks whether its change is already
+ * there (e.g. via information_schema) and a failed migration is simply run
+ * again at the next startup. This also lets databases created before
+ * schema_version existed go through every migration safely.
+ *
+ * Add new schema changes as a new migration at the end of the list; never
+ * change one that has shipped.
+ */
+public class SchemaMigrations {
+
+    // Serializes migrations between application instances starting at the same time
+    private static final String LOCK_NAME = "gamevault_schema_migrations";
+    private static final int LOCK_TIMEOUT_SECONDS = 60;
+
+    private static final String SQL_CREATE_SCHEMA_VERSION_TABLE = "CREATE TABLE IF NOT EXISTS schema_version (" +
+            "version INT PRIMARY KEY," +
+            "description VARCHAR(255) NOT NULL," +
+            "appliedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            ")";
+
+    private static final String SQL_CREATE_USERS_TABLE = "CREATE TABLE IF NOT EXISTS Users (" +
+            "userId INT AUTO_INCREMENT PRIMARY KEY," +
+            "email VARCHAR(255) NOT NULL," +
+            "password VARCHAR(255) NOT NULL," +
+            "username VARCHAR(255) NOT NULL," +
+            "walletBalance " + Money.SQL_TYPE + " NOT NULL," +
+            "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+            ")";
+
+    private static final String SQL_CREATE_GAMES_TABLE = "CREATE TABLE IF NOT EXISTS Games (" +
+            "gameId INT AUTO_INCREMENT PRIMARY KEY," +
+            "title VARCHAR(255) NOT NULL," +
+            "description TEXT," +
+            "developer VARCHAR(255)," +
+            "platform VARCHAR(255)," +
+            "price " + Money.SQL_TYPE + " NOT NULL," +
+            "releaseDate DATE" +
+            ")";
+
+    private static final String SQL_CREATE_CARTS_TABLE = "CREATE TABLE IF NOT EXISTS Carts (" +
+            "userId INT PRIMARY KEY," +
+            "FOREIGN KEY (userId) REFERENCES Users(userId)" +
+            ")";
+
+    private static final String SQL_CREATE_CART_ITEMS_TABLE = "CREATE TABLE IF NOT EXISTS CartItems (" +
+            "cartItemId INT AUTO_INCREMENT PRIMARY KEY," +
+            "userId INT NOT NULL," +
+            "gameId INT NOT NULL," +
+            "FOREIGN KEY (userId) REFERENCES Carts(userId)," +
+            "FOREIGN KEY (gameId) REFERENCES Games(gameId)" +
+            ")";
+
+    private static final String SQL_CREATE_ORDERS_TABLE = "CREATE TABLE IF NOT EXISTS Orders (" +
+            "orderId INT AUTO_INCREMENT PRIMARY KEY," +
+            "userId INT NOT NULL," +
+            "totalAmount " + Money.SQL_TYPE + " NOT NULL," +
+            "orderDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "FOREIGN KEY (userId) REFERENCES Users(userId)" +
+            ")";
+
+    private static final String SQL_CREATE_ORDER_ITEMS_TABLE = "CREATE TABLE IF NOT EXISTS OrderItems (" +
+            "orderItemId INT AUTO_INCREMENT PRIMARY KEY," +
+            "orderId INT NOT NULL," +
+            "gameId INT NOT NULL," +
+            "price " + Money.SQL_TYPE + " NOT NULL," +
+            "FOREIGN KEY (orderId) REFERENCES Orders(orderId)," +
+            "FOREIGN KEY (gameId) REFERENCES Games(gameId)" +
+            ")";
+
+    private static final String SQL_CREATE_TRANSACTIONS_TABLE = "CREATE TABLE IF NOT EXISTS Transactions (" +
+            "transactionId INT AUTO_INCREMENT PRIMARY KEY," +
+            "orderId INT NULL," + // NULL for wallet top-ups
+            "userId INT NOT NULL," +
+            "transactionType VARCHAR(255)," +
+            "amount " + Money.SQL_TYPE + " NOT NULL," +
+            "transactionDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP," +
+            "FOREIGN KEY (userId) REFERENCES Users(userId)," +
+            "FOREIGN KEY (orderId) REFERENCES Orders(orderId)" +
+            ")";
+
+    private static final String SQL_CREATE_SALES_COUNTERS_TABLE = "CREATE TABLE IF NOT EXISTS SalesCounters (" +
+            "counterName VARCHAR(64) NOT NULL," +
+            "counterKey VARCHAR(64) NOT NULL," +
+            "counterValue BIGINT NOT NULL," +
+            "updatedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP," +
+            "PRIMARY KEY (counterName, counterKey)" +
+            ")";
+
+    // One change to the schema
+    private interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    private static final class Migration {
+        private final int version;
+        private final String description;
+        private final Step step;
+
+        private Migration(int version, String description, Step step) {
+            this.version = version;
+            this.description = description;
+            this.step = step;
+        }
+    }
+
+    private static final List<Migration> MIGRATIONS = Collections.unmodifiableList(Arrays.asList(
+            new Migration(1, "Create tables", conn -> execute(conn,
+                    SQL_CREATE_USERS_TABLE, SQL_CREATE_GAMES_TABLE, SQL_CREATE_CARTS_TABLE,
+                    SQL_CREATE_CART_ITEMS_TABLE, SQL_CREATE_ORDERS_TABLE, SQL_CREATE_ORDER_ITEMS_TABLE,
+                    SQL_CREATE_TRANSACTIONS_TABLE, SQL_CREATE_SALES_COUNTERS_TABLE)),
+            // Older versions required an order for every transaction, which top-ups don't have
+            new Migration(2, "Allow transactions without an order", conn ->
+                    makeColumnNullableIfNot(conn, "Transactions", "orderId", "INT")),
+            // Older versions kept money in FLOAT/DOUBLE columns; MODIFY rounds the stored values to cents
+            new Migration(3, "Store money as DECIMAL", conn -> {
+                makeColumnDecimalIfNot(conn, "Users", "walletBalance");
+                makeColumnDecimalIfNot(conn, "Games", "price");
+                makeColumnDecimalIfNot(conn, "Orders", "totalAmount");
+                makeColumnDecimalIfNot(conn, "OrderItems", "price");
+                makeColumnDecimalIfNot(conn, "Transactions", "amount");
+            }),
+            new Migration(4, "Index order history, cart and sales lookups", conn -> {
+                createIndexIfNotExist(conn, "Orders", "idx_orders_user_date", "userId, orderDate");
+                createIndexIfNotExist(conn, "Transactions", "idx_transactions_user_date", "userId, transactionDate");
+                createIndexIfNotExist(conn, "Transactions", "idx_transactions_type_amount", "transactionType, amount");
+                // Covers the cart item lookups and deletes, which filter on both columns
+                createIndexIfNotExist(conn, "CartItems", "idx_cartitems_user_game", "userId, gameId");
+                // Covers the order history and ownership joins, which read gameId by orderId
+                createIndexIfNotExist(conn, "OrderItems", "idx_orderitems_order_game", "orderId, gameId");
+            }),
+            // Logins look users up by email, which must identify one user
+            new Migration(5, "Make user emails unique", conn -> {
+                if (indexExists(conn, "Users", "uq_users_email")) {
+                    return;
+                }
+                List<String> duplicates = findDuplicateEmails(conn);
+                if (!duplicates.isEmpty()) {
+                    throw new SQLException("Users has emails used by more than one account " + duplicates
+                            + "; merge or remove those accounts and restart");
+                }
+                execute(conn, "ALTER TABLE Users ADD UNIQUE INDEX uq_users_email (email)");
+            }),
+            // Lets the trending sales counters read the last week's orders on startup without a full scan
+            new Migration(6, "Index orders by date", conn ->
+                    createIndexIfNotExist(conn, "Orders", "idx_orders_date", "orderDate")),
+            // A cart holds each game once; older versions could add a game twice, which counted it twice at checkout
+            new Migration(7, "Make cart items unique per user and game", conn -> {
+                if (indexExists(conn, "CartItems", "uq_cartitems_user_game")) {
+                    return;
+                }
+                execute(conn, "DELETE dup FROM CartItems dup JOIN CartItems kept "
+                        + "ON dup.userId = kept.userId AND dup.gameId = kept.gameId "
+                        + "AND dup.cartItemId > kept.cartItemId",
+                        "ALTER TABLE CartItems ADD UNIQUE INDEX uq_cartitems_user_game (userId, gameId)");
+                // The unique index covers the same lookups
+                if (indexExists(conn, "CartItems", "idx_cartitems_user_game")) {
+                    execute(conn, "DROP INDEX idx_cartitems_user_game ON CartItems");
+                }
+            })));
+
+    private SchemaMigrations() {
+    }
+
+    // The version a fully migrated database is at
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version;
+    }
+
+    /**
+     * Applies the migrations the database hasn't seen yet, in order, and
+     * records each one as it completes.
+     *
+     * @param conn A connection to the application's database (in auto-commit mode)
+     * @throws SQLException If a migration fails; the ones before it stay applied
+     */
+    public static void migrate(Connection conn) throws SQLException {
+        execute(conn, SQL_CREATE_SCHEMA_VERSION_TABLE);
+        acquireLock(conn);
+        try {
+            Set<Integer> applied = findAppliedVersions(conn);
+            for (Migration migration : MIGRATIONS) {
+                if (applied.contains(migration.version)) {
+                    continue;
+                }
+                migration.step.apply(conn);
+                recordVersion(conn, migration);
+                System.out.println("Applied schema migration " + migration.version + ": " + migration.description);
+            }
+            int newest = applied.isEmpty() ? 0 : Collections.max(applied);
+            if (newest > getLatestVersion()) {
+                System.err.println("Database schema version " + newest + " is newer than this application ("
+                        + getLatestVersion() + ")");
+            }
+        } finally {
+            releaseLock(conn);
+        }
+    }
+
+    private static Set<Integer> findAppliedVersions(Connection conn) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = conn.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT version FROM schema_version")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private static void recordVersion(Connection conn, Migration migration) throws SQLException {
+        String sql = "INSERT INTO schema_version (version, description) VALUES (?, ?)";
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            pstmt.setInt(1, migration.version);
+            pstmt.setString(2, migration.description);
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static void acquireLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT GET_LOCK(?, ?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.setInt(2, LOCK_TIMEOUT_SECONDS);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (!rs.next() || rs.getInt(1) != 1) {
+                    throw new SQLException("Timed out waiting for another instance to migrate the schema");
+                }
+            }
+        }
+    }
+
+    private static void releaseLock(Connection conn) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            pstmt.setString(1, LOCK_NAME);
+            pstmt.executeQuery().close();
+        }
+    }
+
+    private static void execute(Connection conn, String... statements) throws SQLException {
+        try (Statement statement = conn.createStatement()) {
+            for (String sql : statements) {
+                statement.executeUpdate(sql);
+            }
+        }
+    }
+
+    private static void makeColumnNullableIfNot(Connection conn, String table, String column, String type)
+            throws SQLException {
+        String nullable = findColumnAttribute(conn, "is_nullable", table, column);
+        if (nullable == null || "YES".equals(nullable)) {
+            return;
+        }
+        execute(conn, "ALTER TABLE " + table + " MODIFY " + column + " " + type + " NULL");
+    }
+
+    private static void makeColumnDecimalIfNot(Connection conn, String table, String column) throws SQLException {
+        String dataType = findColumnAttribute(conn, "data_type", table, column);
+        if (dataType == null || "decimal".equalsIgnoreCase(dataType)) {
+            return;
+        }
+        execute(conn, "ALTER TABLE " + table + " MODIFY " + column + " " + Money.SQL_TYPE + " NOT NULL");
+    }
+
+    // Reads one information_schema.columns attribute, or null if the column doesn't exist
+    private static String findColumnAttribute(Connection conn, String attribute, String table, String column)
+            throws SQLException {
+        String sqlFindColumn = "SELECT " + attribute + " FROM information_schema.columns " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND column_name = ?";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlFindColumn)) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, column);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next() ? rs.getString(1) : null;
+            }
+        }
+    }
+
+    // MySQL has no CREATE INDEX IF NOT EXISTS, so check information_schema first
+    private static void createIndexIfNotExist(Connection conn, String table, String indexName, String columns)
+            throws SQLException {
+        if (!indexExists(conn, table, indexName)) {
+            execute(conn, "CREATE INDEX " + indexName + " ON " + table + " (" + columns + ")");
+        }
+    }
+
+    private static boolean indexExists(Connection conn, String table, String indexName) throws SQLException {
+        String sqlFindIndex = "SELECT 1 FROM information_schema.statistics " +
+                "WHERE table_schema = DATABASE() AND table_name = ? AND index_name = ? LIMIT 1";
+        try (PreparedStatement pstmt = conn.prepareStatement(sqlFindIndex)) {
+            pstmt.setString(1, table);
+            pstmt.setString(2, indexName);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // Up to 10 emails registered more than once
+    private static List<String> findDuplicateEmails(Connection conn) throws SQLException {
+        List<String> emails = new ArrayList<>();
+        try (Statement statement = conn.createStatement();
+                ResultSet rs = statement.executeQuery(
+                        "SELECT email FROM Users GROUP BY email HAVING COUNT(*) > 1 LIMIT 10")) {
+            while (rs.next()) {
+                emails.add(rs.getString(1));
+            }
+        }
+        return emails;
+    }
+}
@@ -0,0 +1,119 @@
+package com.project.gamevaultcli.helpers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LRU cache of prepared statements for one physical connection, keyed by SQL
+ * text. Statements returned by {@link #prepare} stay owned by the cache, so
+ * callers must close their ResultSets but never the statement itself.
+ * A connection is only used by one borrower at a time, so the cache itself is
+ * not synchronized.
+ */
+public class StatementCache {
+
+    // Hit/miss/eviction counters shared by the caches of every pooled connection
+    public static class Stats {
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        private final LongAdder evictions = new LongAdder();
+
+        public long getHits() {
+            return hits.sum();
+        }
+
+        public long getMisses() {
+            return misses.sum();
+        }
+
+        public long getEvictions() {
+            return evictions.sum();
+        }
+
+        public double getHitRate() {
+            long hitCount = hits.sum();
+            long total = hitCount + misses.sum();
+            return total == 0 ? 0.0 : (double) hitCount / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StatementCache{hits=%d, misses=%d, evictions=%d, hitRate=%.1f%%}",
+                    getHits(), getMisses(), getEvictions(), getHitRate() * 100);
+        }
+    }
+
+    private final Connection connection;
+    private final Stats stats;
+    private final Map<String, PreparedStatement> statements;
+
+    public StatementCache(Connection connection, int capacity, Stats stats) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Statement cache capacity must be positive: " + capacity);
+        }
+        this.connection = connection;
+        this.stats = stats;
+        // Access-ordered map: the eldest entry is the least recently used statement
+        this.statements = new LinkedHashMap<String, PreparedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > capacity) {
+                    stats.evictions.increment();
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a cached statement for the SQL, preparing it on a miss.
+     *
+     * @param sql               The SQL text
+     * @param autoGeneratedKeys Statement.RETURN_GENERATED_KEYS or
+     *                          Statement.NO_GENERATED_KEYS
+     * @return A statement with its parameters and batch cleared
+     */
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys + ":" + sql;
+        PreparedStatement pstmt = statements.get(key);
+        if (pstmt != null && !pstmt.isClosed()) {
+            stats.hits.increment();
+            pstmt.clearParameters();
+            // A batch that failed midway leaves its rows queued; don't send them with the next one
+            pstmt.clearBatch();
+            return pstmt;
+        }
+        stats.misses.increment();
+        pstmt = connection.prepareStatement(sql, autoGeneratedKeys);
+        statements.put(key, pstmt);
+        return pstmt;
+    }
+
+    public int size() {
+        return statements.size();
+    }
+
+    // Closes every cached statement; called when the physical connection is closed
+    public void close() {
+        Iterator<PreparedStatement> it = statements.values().iterator();
+        while (it.hasNext()) {
+            closeQuietly(it.next());
+            it.remove();
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement pstmt) {
+        try {
+            pstmt.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing cached statement: " + e.getMessage());
+        }
+    }
+}
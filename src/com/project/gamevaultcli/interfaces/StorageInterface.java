@@ -1,10 +1,15 @@
 package com.project.gamevaultcli.interfaces;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface StorageInterface<T, ID> {
     T findById(ID id);
     List<T> findAll();
+    // Up to limit entities with an ID above afterId (null for the first page), in ID order
+    List<T> findPage(ID afterId, int limit);
+    // Passes every entity to action in ID order, reading a page at a time; false if a read failed
+    boolean forEach(Consumer<? super T> action);
     void save(T entity);
     void update(T entity);
     void delete(ID id);
@@ -7,6 +7,8 @@ import com.project.gamevaultcli.exceptions.GameAlreadyOwnedException;
 import com.project.gamevaultcli.storage.CartStorage;
 import com.project.gamevaultcli.storage.GameStorage;
 
+import java.io.IOException;
+import java.sql.SQLException;
 import java.util.List;
 
 public class CartManagement {
@@ -33,26 +35,34 @@ public class CartManagement {
         return cart;
     }
 
-    public void addGameToCart(int userId, int gameId) throws GameAlreadyOwnedException {
+    /**
+     * Adds a game to the user's cart, creating the cart if needed.
+     *
+     * @return true if the game was added, false if it was already in the cart
+     * @throws IllegalStateException if the game couldn't be added
+     */
+    public boolean addGameToCart(int userId, int gameId) throws GameAlreadyOwnedException {
         // Check if the user already owns the game
         if (gameStorage != null) {
-            List<Game> ownedGames = gameStorage.findOwnedGamesByUser(userId);
-            boolean alreadyOwns = ownedGames.stream().anyMatch(game -> game.getGameId() == gameId);
-            if (alreadyOwns) {
+            if (gameStorage.isOwnedByUser(userId, gameId)) {
                 throw new GameAlreadyOwnedException("You already own this game");
             }
         }
 
-        // If they don't own it, proceed with adding to cart
-        Cart cart = getCart(userId);
-        cartStorage.addGameToCart(userId, gameId);
+        // If they don't own it, proceed with adding to cart; the storage creates the cart if needed
+        try {
+            return cartStorage.addGameToCart(userId, gameId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error adding game to cart: " + e.getMessage());
+            throw new IllegalStateException("Could not add the game to the cart: " + e.getMessage());
+        }
     }
 
     public void removeGameFromCart(int userId, int gameId) {
-        Cart cart = getCart(userId);
         cartStorage.removeGameFromCart(userId, gameId);
     }
 
+    // Games in the cart, in the order they were added, served from memory once the cart is loaded
     public List<Game> getGamesInCart(int userId) throws CartEmptyException {
         List<Game> games = cartStorage.getGamesInCart(userId);
         if (games.isEmpty()) {
@@ -0,0 +1,393 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.helpers.CsvUtil;
+import com.project.gamevaultcli.helpers.JsonLineUtil;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.storage.GameStorage;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streams the Games table to and from CSV or JSON Lines files.
+ * Imports read one record at a time and write them in chunks, so memory use
+ * is bounded by the chunk size rather than the file size. Rows that carry a
+ * gameId overwrite the game with that ID; rows without one are added as new
+ * games. Malformed rows are skipped and reported.
+ *
+ * Both formats use the fields gameId, title, description, developer,
+ * platform, price and releaseDate (yyyy-MM-dd). CSV files need a header row;
+ * columns may appear in any order and only title and price are required.
+ */
+public class GameCatalogTransfer {
+
+    public enum Format {
+        CSV, JSONL;
+
+        // Picks the format from the file extension (.csv, .jsonl, .ndjson)
+        public static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lower.endsWith(".jsonl") || lower.endsWith(".ndjson")) {
+                return JSONL;
+            }
+            throw new IllegalArgumentException("Unsupported file type (use .csv, .jsonl or .ndjson): " + fileName);
+        }
+    }
+
+    // Receives progress while a transfer runs; called after every chunk
+    public interface ProgressListener {
+        void onProgress(long rowsProcessed, long elapsedMillis);
+    }
+
+    // Outcome of an import or export
+    public static class Report {
+        private static final int MAX_ERRORS = 20;
+
+        private long rowsRead;
+        private long rowsWritten;
+        private long rowsSkipped;
+        private long elapsedMillis;
+        private final List<String> errors = new ArrayList<>();
+
+        public long getRowsRead() {
+            return rowsRead;
+        }
+
+        public long getRowsWritten() {
+            return rowsWritten;
+        }
+
+        public long getRowsSkipped() {
+            return rowsSkipped;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+
+        // The first few problems found, one message per skipped row
+        public List<String> getErrors() {
+            return errors;
+        }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? rowsWritten * 1000.0 : rowsWritten * 1000.0 / elapsedMillis;
+        }
+
+        private void skip(long recordNumber, String reason) {
+            rowsSkipped++;
+            if (errors.size() < MAX_ERRORS) {
+                errors.add("Record " + recordNumber + ": " + reason);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d rows read, %d written, %d skipped in %.1f s (%.0f rows/s)",
+                    rowsRead, rowsWritten, rowsSkipped, elapsedMillis / 1000.0, getRowsPerSecond());
+        }
+    }
+
+    private static final List<String> FIELDS = Arrays.asList(
+            "gameId", "title", "description", "developer", "platform", "price", "releaseDate");
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+
+    private final GameStorage gameStorage;
+    private final int chunkSize;
+
+    public GameCatalogTransfer(GameStorage gameStorage) {
+        this(gameStorage, DEFAULT_CHUNK_SIZE);
+    }
+
+    public GameCatalogTransfer(GameStorage gameStorage, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.gameStorage = gameStorage;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Imports games from a file. Each chunk is written in its own transaction,
+     * so if a chunk fails the chunks before it stay imported.
+     *
+     * @param file     The file to read
+     * @param format   The file format
+     * @param listener Progress callback, may be null
+     * @return What was imported
+     * @throws IOException If the file cannot be read or a chunk cannot be written
+     */
+    public Report importGames(Path file, Format format, ProgressListener listener) throws IOException {
+        Report report = new Report();
+        long start = System.currentTimeMillis();
+        List<Game> chunk = new ArrayList<>(chunkSize);
+
+        // The chunks skip the catalog cache; drop it once, even if a chunk failed after others committed
+        try {
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                RecordReader records = format == Format.CSV ? new CsvRecordReader(in) : new JsonRecordReader(in);
+                while (true) {
+                    Map<String, String> record;
+                    try {
+                        record = records.next();
+                    } catch (IllegalArgumentException e) {
+                        report.skip(++report.rowsRead, e.getMessage());
+                        continue;
+                    }
+                    if (record == null) {
+                        break;
+                    }
+                    report.rowsRead++;
+                    try {
+                        chunk.add(toGame(record));
+                    } catch (IllegalArgumentException e) {
+                        report.skip(report.rowsRead, e.getMessage());
+                    }
+                    if (chunk.size() == chunkSize) {
+                        writeChunk(chunk, report);
+                        notify(listener, report.rowsRead, start);
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(chunk, report);
+            }
+        } finally {
+            gameStorage.invalidateCatalog();
+        }
+        report.elapsedMillis = System.currentTimeMillis() - start;
+        notify(listener, report.rowsRead, start);
+        return report;
+    }
+
+    private void writeChunk(List<Game> chunk, Report report) throws IOException {
+        if (!gameStorage.upsertAll(chunk)) {
+            throw new IOException("Failed to write a chunk of " + chunk.size() + " games; "
+                    + report.rowsWritten + " rows were imported before the failure");
+        }
+        report.rowsWritten += chunk.size();
+        chunk.clear();
+    }
+
+    /**
+     * Exports every game to a file, overwriting it.
+     *
+     * @param file     The file to write
+     * @param format   The file format
+     * @param listener Progress callback, may be null
+     * @return What was exported
+     * @throws IOException If the file cannot be written or the games cannot be read
+     */
+    public Report exportGames(Path file, Format format, ProgressListener listener) throws IOException {
+        Report report = new Report();
+        long start = System.currentTimeMillis();
+        SimpleDateFormat dateFormat = newDateFormat();
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            if (format == Format.CSV) {
+                out.write(CsvUtil.formatRecord(FIELDS));
+                out.newLine();
+            }
+            // Stream the rows from the database so the export never holds the whole table
+            try {
+                gameStorage.streamAll(game -> {
+                    report.rowsRead++;
+                    String releaseDate = game.getReleaseDate() != null ? dateFormat.format(game.getReleaseDate())
+                            : null;
+                    if (format == Format.CSV) {
+                        out.write(CsvUtil.formatRecord(Arrays.asList(String.valueOf(game.getGameId()),
+                                game.getTitle(), game.getDescription(), game.getDeveloper(), game.getPlatform(),
+                                Money.format(game.getPriceCents()), releaseDate)));
+                    } else {
+                        Map<String, Object> fields = new LinkedHashMap<>();
+                        fields.put("gameId", game.getGameId());
+                        fields.put("title", game.getTitle());
+                        fields.put("description", game.getDescription());
+                        fields.put("developer", game.getDeveloper());
+                        fields.put("platform", game.getPlatform());
+                        fields.put("price", Money.toDecimal(game.getPriceCents()));
+                        fields.put("releaseDate", releaseDate);
+                        out.write(JsonLineUtil.formatObject(fields));
+                    }
+                    out.newLine();
+                    report.rowsWritten++;
+                    if (report.rowsWritten % chunkSize == 0) {
+                        notify(listener, report.rowsWritten, start);
+                    }
+                });
+            } catch (SQLException e) {
+                throw new IOException("Failed to read games after " + report.rowsWritten + " rows: "
+                        + e.getMessage(), e);
+            }
+        }
+        report.elapsedMillis = System.currentTimeMillis() - start;
+        notify(listener, report.rowsWritten, start);
+        return report;
+    }
+
+    private static void notify(ProgressListener listener, long rows, long start) {
+        if (listener != null) {
+            listener.onProgress(rows, System.currentTimeMillis() - start);
+        }
+    }
+
+    // Builds a game from a record's fields; throws IllegalArgumentException if a field is invalid
+    private static Game toGame(Map<String, String> record) {
+        String title = trimToNull(record.get("title"));
+        if (title == null) {
+            throw new IllegalArgumentException("title is required");
+        }
+        String price = trimToNull(record.get("price"));
+        if (price == null) {
+            throw new IllegalArgumentException("price is required");
+        }
+        long priceCents;
+        try {
+            priceCents = Money.parse(price);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid price '" + price + "'");
+        }
+        if (priceCents < 0) {
+            throw new IllegalArgumentException("invalid price '" + price + "'");
+        }
+
+        int gameId = 0;
+        String id = trimToNull(record.get("gameId"));
+        if (id != null) {
+            try {
+                gameId = Integer.parseInt(id);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("invalid gameId '" + id + "'");
+            }
+            if (gameId <= 0) {
+                throw new IllegalArgumentException("invalid gameId '" + id + "'");
+            }
+        }
+
+        Date releaseDate = null;
+        String date = trimToNull(record.get("releaseDate"));
+        if (date != null) {
+            try {
+                releaseDate = newDateFormat().parse(date);
+            } catch (ParseException e) {
+                throw new IllegalArgumentException("invalid releaseDate '" + date + "' (expected yyyy-MM-dd)");
+            }
+        }
+
+        // Export writes NULL as an empty field; read it back as NULL, not ""
+        return new Game(gameId, title, trimToNull(record.get("description")), trimToNull(record.get("developer")),
+                trimToNull(record.get("platform")), priceCents, releaseDate);
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    // SimpleDateFormat isn't thread-safe, so each transfer gets its own
+    private static SimpleDateFormat newDateFormat() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        return format;
+    }
+
+    // Yields records as field name -> raw text, or null at the end of the input.
+    // Throws IllegalArgumentException for a record that can't be parsed.
+    private interface RecordReader {
+        Map<String, String> next() throws IOException;
+    }
+
+    private static final class CsvRecordReader implements RecordReader {
+        private final BufferedReader in;
+        private List<String> header;
+
+        private CsvRecordReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            if (header == null) {
+                header = CsvUtil.readRecord(in);
+                if (header == null) {
+                    return null;
+                }
+                for (int i = 0; i < header.size(); i++) {
+                    // Strip a UTF-8 byte order mark and match names case-insensitively
+                    header.set(i, canonicalField(header.get(i).replace("\uFEFF", "").trim()));
+                }
+            }
+            List<String> values = CsvUtil.readRecord(in);
+            if (values == null) {
+                return null;
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < values.size(); i++) {
+                record.put(header.get(i), values.get(i));
+            }
+            return record;
+        }
+    }
+
+    private static final class JsonRecordReader implements RecordReader {
+        private final BufferedReader in;
+
+        private JsonRecordReader(BufferedReader in) {
+            this.in = in;
+        }
+
+        @Override
+        public Map<String, String> next() throws IOException {
+            String line;
+            do {
+                line = in.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.trim().isEmpty());
+
+            // A malformed line throws IllegalArgumentException and is skipped by the importer
+            Map<String, Object> object = JsonLineUtil.parseObject(line);
+            Map<String, String> record = new HashMap<>();
+            for (Map.Entry<String, Object> field : object.entrySet()) {
+                Object value = field.getValue();
+                String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString()
+                        : value != null ? value.toString() : null;
+                record.put(canonicalField(field.getKey()), text);
+            }
+            return record;
+        }
+    }
+
+    private static String canonicalField(String name) {
+        for (String field : FIELDS) {
+            if (field.equalsIgnoreCase(name)) {
+                return field;
+            }
+        }
+        return name;
+    }
+}
@@ -6,16 +6,46 @@ package com.project.gamevaultcli.management;
 
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 import com.project.gamevaultcli.storage.GameStorage;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.List;
 
 public class GameManagement {
 
+    // A game and how many units of it sold, for best seller and trending lists
+    public static class TopSeller {
+        private final Game game;
+        private final long unitsSold;
+
+        private TopSeller(Game game, long unitsSold) {
+            this.game = game;
+            this.unitsSold = unitsSold;
+        }
+
+        public Game getGame() {
+            return game;
+        }
+
+        public long getUnitsSold() {
+            return unitsSold;
+        }
+    }
+
     private final GameStorage gameStorage;
+    private final GameCatalogTransfer catalogTransfer;
+    private final SalesCounters salesCounters;
 
-    public GameManagement(GameStorage gameStorage) {
+    public GameManagement(GameStorage gameStorage, SalesCounters salesCounters) {
         this.gameStorage = gameStorage;
+        this.catalogTransfer = new GameCatalogTransfer(gameStorage);
+        this.salesCounters = salesCounters;
     }
 
     public Game getGame(int gameId) throws GameNotFoundException {
@@ -30,6 +60,37 @@ public class GameManagement {
         return gameStorage.findAll();
     }
 
+    // Search titles, developers, platforms and descriptions, best match first;
+    // the last word may be incomplete
+    public List<Game> searchGames(String query, int limit) {
+        return gameStorage.search(query, limit);
+    }
+
+    // Get one page of games for a paged table (null if the query fails)
+    public Page<Game> getGamePage(PageRequest request) {
+        return gameStorage.findPage(request);
+    }
+
+    // Get one page of the games matching a filter (null if the catalog can't be read)
+    public Page<Game> getGamePage(GameFilter filter, PageRequest request) {
+        return gameStorage.findPage(filter, request);
+    }
+
+    // Count the games matching a filter (-1 if the catalog can't be read)
+    public long getGameCount(GameFilter filter) {
+        return gameStorage.count(filter);
+    }
+
+    // Count the games matching a filter per platform and developer (null if the catalog can't be read)
+    public GameFacets getGameFacets(GameFilter filter) {
+        return gameStorage.findFacets(filter);
+    }
+
+    // Count all games (-1 if the query fails)
+    public long getGameCount() {
+        return gameStorage.count();
+    }
+
     // Get games that a user owns (from completed orders)
     public List<Game> getOwnedGames(int userId) {
         return gameStorage.findOwnedGamesByUser(userId);
@@ -37,14 +98,51 @@ public class GameManagement {
 
     // Check if a user already owns a specific game
     public boolean isGameOwnedByUser(int userId, int gameId) {
-        List<Game> ownedGames = getOwnedGames(userId);
-        return ownedGames.stream().anyMatch(game -> game.getGameId() == gameId);
+        return gameStorage.isOwnedByUser(userId, gameId);
+    }
+
+    // The games with the most units sold ever, from the live sales counters
+    public List<TopSeller> getBestSellers(int limit) {
+        return toTopSellers(salesCounters.getBestSellers(limit));
+    }
+
+    // The games with the most units sold in the last hour, day or week, from the live sales counters
+    public List<TopSeller> getTrendingGames(TrendingSales.Window window, int limit) {
+        return toTopSellers(salesCounters.getTrending(window, limit));
+    }
+
+    private List<TopSeller> toTopSellers(List<TrendingSales.GameUnits> units) {
+        List<TopSeller> topSellers = new ArrayList<>(units.size());
+        for (TrendingSales.GameUnits sold : units) {
+            Game game = gameStorage.findById(sold.getGameId());
+            if (game != null) {
+                topSellers.add(new TopSeller(game, sold.getUnits()));
+            }
+        }
+        return topSellers;
     }
 
     public void addGame(Game game) {
         gameStorage.save(game);
     }
 
+    // Add many games at once using batched inserts (seeding, catalog imports)
+    public boolean addGames(List<Game> games) {
+        return gameStorage.saveAll(games);
+    }
+
+    // Import games from a CSV or JSON Lines file, adding new games and overwriting ones with matching IDs
+    public GameCatalogTransfer.Report importGames(Path file, GameCatalogTransfer.Format format,
+            GameCatalogTransfer.ProgressListener listener) throws IOException {
+        return catalogTransfer.importGames(file, format, listener);
+    }
+
+    // Export the whole catalog to a CSV or JSON Lines file
+    public GameCatalogTransfer.Report exportGames(Path file, GameCatalogTransfer.Format format,
+            GameCatalogTransfer.ProgressListener listener) throws IOException {
+        return catalogTransfer.exportGames(file, format, listener);
+    }
+
     public void updateGame(Game game) {
         gameStorage.update(game);
     }
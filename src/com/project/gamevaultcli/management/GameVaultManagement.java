@@ -7,6 +7,7 @@ import com.project.gamevaultcli.exceptions.InvalidUserDataException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
 
 import java.time.LocalDateTime;
+import java.util.Arrays;
 import java.util.Date;
 
 public class GameVaultManagement {
@@ -27,32 +28,29 @@ public class GameVaultManagement {
 
     public void initializeData() {
         try {
-            // Predefined Users
-            User user1 = new User("sasuke@gmail.com", "is this my password?", "Sasuke", 50.0f);
+            // Predefined Users (balances and prices are in cents)
+            User user1 = new User("sasuke@gmail.com", "is this my password?", "Sasuke", 5000);
             userManagement.addUser(user1);
-            User user2 = new User("naruto@gmail.com", "believeit", "Naruto", 100.0f);
+            User user2 = new User("naruto@gmail.com", "believeit", "Naruto", 10000);
             userManagement.addUser(user2);
             // Add the default user shown in the login panel
-            User user3 = new User("user@user.com", "1234", "DefaultUser", 200.0f);
+            User user3 = new User("user@user.com", "1234", "DefaultUser", 20000);
             userManagement.addUser(user3);
 
-            // Predefined Games
+            // Predefined Games, inserted in one batch
             Game game1 = new Game("Spider-Man Remastered", "Game created ?? lol lorem ipsum or wot", "Insomniac Games",
-                    "PC", 52.3f, new Date());
-            gameManagement.addGame(game1);
-            Game game2 = new Game("God of War", "A great game", "Santa Monica Studio", "PS4", 49.99f, new Date());
-            gameManagement.addGame(game2);
-            Game game3 = new Game("The Last of Us Part II", "A controversial masterpiece", "Naughty Dog", "PS4", 59.99f,
+                    "PC", 5230, new Date());
+            Game game2 = new Game("God of War", "A great game", "Santa Monica Studio", "PS4", 4999, new Date());
+            Game game3 = new Game("The Last of Us Part II", "A controversial masterpiece", "Naughty Dog", "PS4", 5999,
                     new Date());
-            gameManagement.addGame(game3);
-            Game game4 = new Game("Cyberpunk 2077", "A buggy mess... or is it?", "CD Projekt Red", "PC", 39.99f,
+            Game game4 = new Game("Cyberpunk 2077", "A buggy mess... or is it?", "CD Projekt Red", "PC", 3999,
                     new Date());
-            gameManagement.addGame(game4);
+            gameManagement.addGames(Arrays.asList(game1, game2, game3, game4));
 
             // Predefined Orders - will need to manually create cart and place order
             // Predefined Transactions
             // Transaction transaction1 = new Transaction(1, user1.getUserId(),
-            // game1.getGameId(), "Purchase", 52.3f, LocalDateTime.now());
+            // game1.getGameId(), "Purchase", 5230, LocalDateTime.now());
             // transactionManagement.addTransaction(transaction1);
 
         } catch (InvalidUserDataException e) {
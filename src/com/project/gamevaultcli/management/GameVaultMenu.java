@@ -8,8 +8,9 @@ import com.project.gamevaultcli.exceptions.CartEmptyException;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
 import com.project.gamevaultcli.helpers.Helper;
+import com.project.gamevaultcli.helpers.Money;
 
-import java.util.ArrayList;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.InputMismatchException;
 import java.util.List;
@@ -77,6 +78,12 @@ public class GameVaultMenu {
                      case 11:
                          logout();
                          break;
+                     case 12:
+                         importGames();
+                         break;
+                     case 13:
+                         exportGames();
+                         break;
                      case 0:
                          running = false;
                          System.out.println("Exiting Game Vault CLI...");
@@ -107,6 +114,8 @@ public class GameVaultMenu {
          System.out.println("9. View Transactions");
          System.out.println("10. Login");
          System.out.println("11. Logout");
+         System.out.println("12. Import Games (CSV/JSONL)");
+         System.out.println("13. Export Games (CSV/JSONL)");
          System.out.println("0. Exit");
          System.out.print("Enter your choice: ");
      }
@@ -120,10 +129,9 @@ public class GameVaultMenu {
              System.out.print("Enter username: ");
              String username = scanner.nextLine();
              System.out.print("Enter wallet balance: ");
-             float walletBalance = scanner.nextFloat();
-             scanner.nextLine(); // Consume newline
+             long walletBalanceCents = Money.parse(scanner.nextLine());
 
-             User user = new User(email, password, username, walletBalance);
+             User user = new User(email, password, username, walletBalanceCents);
              userManagement.addUser(user);
              System.out.println("User created: " + user.getUsername() + " with ID: " + user.getUserId());
          } catch (Exception e) {
@@ -142,16 +150,44 @@ public class GameVaultMenu {
              System.out.print("Enter game platform: ");
              String platform = scanner.nextLine();
              System.out.print("Enter game price: ");
-             float price = scanner.nextFloat();
-             scanner.nextLine(); // Consume newline
+             long priceCents = Money.parse(scanner.nextLine());
 
-             Game game = new Game(title, description, developer, platform, price, new java.util.Date());
+             Game game = new Game(title, description, developer, platform, priceCents, new java.util.Date());
              gameManagement.addGame(game);
              System.out.println("Game created: " + game.getTitle() + " with ID: " + game.getGameId());
          } catch (Exception e) {
              System.out.println("Error creating game: " + e.getMessage());
          }
      }
+
+     private void importGames() {
+         try {
+             System.out.print("Enter file to import (.csv, .jsonl): ");
+             String fileName = scanner.nextLine().trim();
+             GameCatalogTransfer.Report report = gameManagement.importGames(Paths.get(fileName),
+                     GameCatalogTransfer.Format.fromFileName(fileName),
+                     (rows, elapsedMillis) -> System.out.println("  ... " + rows + " rows processed"));
+             System.out.println("Import finished: " + report);
+             for (String error : report.getErrors()) {
+                 System.out.println("  Skipped " + error);
+             }
+         } catch (Exception e) {
+             System.out.println("Error importing games: " + e.getMessage());
+         }
+     }
+
+     private void exportGames() {
+         try {
+             System.out.print("Enter file to export to (.csv, .jsonl): ");
+             String fileName = scanner.nextLine().trim();
+             GameCatalogTransfer.Report report = gameManagement.exportGames(Paths.get(fileName),
+                     GameCatalogTransfer.Format.fromFileName(fileName), null);
+             System.out.println("Export finished: " + report);
+         } catch (Exception e) {
+             System.out.println("Error exporting games: " + e.getMessage());
+         }
+     }
+
    private void addGameToCart() {
         if (currentUser == null) {
             System.out.println("Please log in first.");
@@ -163,8 +199,11 @@ public class GameVaultMenu {
             scanner.nextLine();
 
             Game game = gameManagement.getGame(gameId);
-            cartManagement.addGameToCart(currentUser.getUserId(), gameId);
-            System.out.println("Added " + game.getTitle() + " to cart for user " + currentUser.getUsername());
+            if (cartManagement.addGameToCart(currentUser.getUserId(), gameId)) {
+                System.out.println("Added " + game.getTitle() + " to cart for user " + currentUser.getUsername());
+            } else {
+                System.out.println(game.getTitle() + " is already in the cart.");
+            }
         } catch (GameNotFoundException e) {
             System.out.println("Game not found with ID: " + e.getMessage());
         } catch (Exception e) {
@@ -238,17 +277,10 @@ public class GameVaultMenu {
         }
 
         try {
-            List<Order> allOrders = orderManagement.getAllOrders();
+            List<Order> userOrders = orderManagement.getOrdersByUser(currentUser.getUserId());
             System.out.println("\n--- Orders List ---");
 
             List<String> columnNames = Arrays.asList("orderId", "userId", "totalAmount", "orderDate");
-            List<Order> userOrders = new ArrayList<>();
-
-            for (Order order : allOrders) {
-                if (order.getUserId() == currentUser.getUserId()) {
-                    userOrders.add(order);
-                }
-            }
             Helper.printTable(userOrders, columnNames);
 
         } catch (Exception e) {
@@ -262,16 +294,9 @@ public class GameVaultMenu {
             return;
         }
         try {
-            List<Transaction> allTransactions = transactionManagement.getAllTransactions();
+            List<Transaction> userTransactions = transactionManagement.getTransactionsByUser(currentUser.getUserId());
             System.out.println("\n--- Transactions List ---");
             List<String> columnNames = Arrays.asList("transactionId", "orderId", "userId", "transactionType", "amount", "transactionDate");
-            List<Transaction> userTransactions = new ArrayList<>();
-
-            for (Transaction transaction : allTransactions) {
-                if (transaction.getUserId() == currentUser.getUserId()) {
-                    userTransactions.add(transaction);
-                }
-            }
             Helper.printTable(userTransactions, columnNames);
 
         } catch (Exception e) {
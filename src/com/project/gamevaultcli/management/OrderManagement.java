@@ -1,20 +1,24 @@
 package com.project.gamevaultcli.management;
 
-import com.project.gamevaultcli.entities.Cart;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
 import com.project.gamevaultcli.entities.Transaction;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.exceptions.CartEmptyException;
 import com.project.gamevaultcli.exceptions.OrderNotFoundException;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 import com.project.gamevaultcli.storage.CartStorage;
+import com.project.gamevaultcli.storage.GameStorage;
 import com.project.gamevaultcli.storage.OrderStorage;
 import com.project.gamevaultcli.storage.UserStorage;
 import com.project.gamevaultcli.helpers.DBUtil;
 import java.io.IOException;
 import java.sql.SQLException;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.logging.Level;
@@ -25,14 +29,34 @@ public class OrderManagement {
     private final OrderStorage orderStorage;
     private final CartStorage cartStorage;
     private final UserStorage userStorage;
+    private final GameStorage gameStorage;
     private final TransactionManagement transactionManagement; // Added
+    private final SalesCounters salesCounters;
+    private final RecommendationManagement recommendationManagement;
+
+    // What a committed checkout bought, handed out of the database transaction
+    private static final class PlacedOrder {
+        private final Order order;
+        private final Transaction transaction;
+        private final List<Game> games;
+
+        private PlacedOrder(Order order, Transaction transaction, List<Game> games) {
+            this.order = order;
+            this.transaction = transaction;
+            this.games = games;
+        }
+    }
 
     public OrderManagement(OrderStorage orderStorage, CartStorage cartStorage, UserStorage userStorage,
-            TransactionManagement transactionManagement) {
+            GameStorage gameStorage, TransactionManagement transactionManagement, SalesCounters salesCounters,
+            RecommendationManagement recommendationManagement) {
         this.orderStorage = orderStorage;
         this.cartStorage = cartStorage;
         this.userStorage = userStorage;
+        this.gameStorage = gameStorage;
         this.transactionManagement = transactionManagement; // Added
+        this.salesCounters = salesCounters;
+        this.recommendationManagement = recommendationManagement;
     }
 
     public Order getOrder(int orderId) throws OrderNotFoundException {
@@ -47,63 +71,103 @@ public class OrderManagement {
         return orderStorage.findAll();
     }
 
-    // Places an order for a user, creating a transaction, clearing the cart, and
-    // updating the user's wallet balance.
-    public void placeOrder(int userId) throws CartEmptyException {
-        Cart cart = cartStorage.findById(userId);
-        if (cart == null) {
-            throw new CartEmptyException("Cart does not exist for user: " + userId);
-        }
+    // Get one page of orders for a paged table (null if the query fails)
+    public Page<Order> getOrderPage(PageRequest request) {
+        return orderStorage.findPage(request);
+    }
 
-        List<Game> games = cartStorage.getGamesInCart(userId); // Get games from CartItems table
-        if (games.isEmpty()) {
-            throw new CartEmptyException("Cart is empty for user: " + userId);
-        }
+    // Count all orders (-1 if the query fails)
+    public long getOrderCount() {
+        return orderStorage.count();
+    }
 
-        double totalAmount = games.stream().mapToDouble(Game::getPrice).sum();
+    // Get the orders placed by one user, filtered in the database
+    public List<Order> getOrdersByUser(int userId) {
+        return orderStorage.findByUserId(userId);
+    }
+
+    // Get a user's orders with the titles of the games bought in each, in one query
+    public List<Order> getOrderHistory(int userId) {
+        return orderStorage.findOrderHistoryByUser(userId);
+    }
 
-        // Check if user has sufficient balance
+    // Get one page of a user's orders, newest first (pass null for the first page)
+    public List<Order> getOrdersByUser(int userId, Integer beforeOrderId, int limit) {
+        return orderStorage.findByUserId(userId, beforeOrderId, limit);
+    }
+
+    // Places an order for a user, creating a transaction, clearing the cart, and
+    // updating the user's wallet balance. Everything runs in one database
+    // transaction, so a failure part way through leaves nothing behind.
+    public void placeOrder(int userId) throws CartEmptyException {
+        // Check the user up front so we can report a missing user clearly
         User user = userStorage.findById(userId);
         if (user == null) {
             throw new IllegalStateException("User not found");
         }
-        if (user.getWalletBalance() < totalAmount) {
-            throw new IllegalStateException("Insufficient balance");
-        }
 
-        // Attempt to update the user's balance AND create the order atomically
+        PlacedOrder placed;
         try {
-            // 1. Update user wallet
-            String sqlUpdateUser = "UPDATE Users SET walletBalance = walletBalance - ? WHERE userId = ?";
-            int rowsAffectedUser = DBUtil.executeUpdate(sqlUpdateUser, totalAmount, userId);
-            if (rowsAffectedUser == 0) {
-                throw new IllegalStateException("Failed to update user balance. Possibly concurrent update.");
-            }
-
-            // 2. Create order (after user update)
-            Order order = new Order(userId, totalAmount, new Date());
-            orderStorage.save(order);
-            // set all values for the order object
-            List<Order> orders = orderStorage.findAll();
-            order = orders.get(orders.size() - 1);
-
-            // 3. Create OrderItems records for each game in the cart
-            for (Game game : games) {
-                String sqlInsertOrderItem = "INSERT INTO OrderItems (orderId, gameId, price) VALUES (?, ?, ?)";
-                DBUtil.executeUpdate(sqlInsertOrderItem, order.getOrderId(), game.getGameId(), game.getPrice());
-            }
-
-            // 4. Create a transaction for the order
-            Transaction transaction = new Transaction(null, order.getOrderId(), userId, "Purchase", (float) totalAmount,
-                    LocalDateTime.now());
-            transactionManagement.addTransaction(transaction);
-
-            // 5. Clear the cart after placing the order
-            cartStorage.clearCart(userId);
-
+            placed = DBUtil.executeInTransaction(conn -> {
+                // 1. Lock the cart so concurrent checkouts of it run one at a time
+                if (!cartStorage.lockCart(userId)) {
+                    throw new CartEmptyException("Cart does not exist for user: " + userId);
+                }
+
+                // Read from CartItems rather than the cart cache, since the lock only covers the database
+                List<Game> games = cartStorage.readGamesInCart(userId);
+                if (games.isEmpty()) {
+                    throw new CartEmptyException("Cart is empty for user: " + userId);
+                }
+
+                long totalAmountCents = 0;
+                for (Game game : games) {
+                    totalAmountCents += game.getPriceCents();
+                }
+
+                // 2. Debit the wallet, only if the balance covers the total
+                if (!userStorage.debitWallet(userId, totalAmountCents)) {
+                    throw new IllegalStateException("Insufficient balance");
+                }
+
+                // 3. Create the order, taking its ID from the generated keys
+                Order order = new Order(userId, totalAmountCents, new Date());
+                orderStorage.insert(order);
+
+                // 4. Create OrderItems records for each game in the cart in one batch
+                orderStorage.insertOrderItems(order.getOrderId(), games);
+
+                // 5. Create a transaction for the order
+                Transaction transaction = new Transaction(null, order.getOrderId(), userId, "Purchase",
+                        totalAmountCents, LocalDateTime.now());
+                transactionManagement.addTransaction(transaction);
+                if (transaction.getTransactionId() == null) {
+                    throw new SQLException("Failed to record the purchase transaction");
+                }
+
+                // 6. Clear the cart after placing the order
+                cartStorage.deleteCartItems(userId);
+                return new PlacedOrder(order, transaction, games);
+            });
         } catch (SQLException | IOException e) {
-            System.err.println("Transaction failed. Rolling back partially completed operations: " + e.getMessage());
+            System.err.println("Transaction failed and was rolled back: " + e.getMessage());
             throw new IllegalStateException("Transaction failed: " + e.getMessage()); // Replace with custom exception
         }
+
+        // 7. Now that the order has committed, refresh the cached wallet balance
+        // and cart, and mark the purchased games as owned
+        userStorage.walletDebitCommitted(userId);
+        cartStorage.cartClearCommitted(userId);
+        List<Integer> gameIds = new ArrayList<>(placed.games.size());
+        for (Game game : placed.games) {
+            gameIds.add(game.getGameId());
+        }
+        gameStorage.recordOwnedGames(userId, gameIds);
+
+        // 8. Count the sale in the live revenue and sales totals
+        salesCounters.recordOrder(placed.games, placed.order.getTotalAmountCents(), LocalDate.now());
+
+        // 9. Count the games as bought together for recommendations
+        recommendationManagement.recordOrder(placed.order.getOrderId(), gameIds);
     }
-}
\ No newline at end of file
+}
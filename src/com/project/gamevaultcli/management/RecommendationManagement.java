@@ -0,0 +1,62 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.storage.CoPurchaseIndex;
+import com.project.gamevaultcli.storage.GameStorage;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Game recommendations drawn from what was bought together: "customers also
+ * bought" for a game, and picks for a user based on the games they own.
+ * Both are answered from an in-memory CoPurchaseIndex that OrderManagement
+ * updates as each checkout commits, so they cost no database queries once
+ * the index has loaded.
+ */
+public class RecommendationManagement {
+
+    private final GameStorage gameStorage;
+    private final CoPurchaseIndex coPurchases = new CoPurchaseIndex();
+
+    public RecommendationManagement(GameStorage gameStorage) {
+        this.gameStorage = gameStorage;
+    }
+
+    // The games most often bought together with a game, best first
+    public List<Game> getAlsoBought(int gameId, int limit) {
+        BitSet exclude = new BitSet();
+        exclude.set(gameId);
+        return toGames(coPurchases.alsoBought(gameId, exclude, limit));
+    }
+
+    // The games most often bought together with a game that the user doesn't own yet
+    public List<Game> getAlsoBought(int gameId, int userId, int limit) {
+        BitSet exclude = (BitSet) gameStorage.findOwnedGameIds(userId).clone();
+        exclude.set(gameId);
+        return toGames(coPurchases.alsoBought(gameId, exclude, limit));
+    }
+
+    // Picks for a user from what owners of their games also bought, never a game they own;
+    // topped up with the best sellers when their games have few co-purchases
+    public List<Game> getRecommendations(int userId, int limit) {
+        return toGames(coPurchases.recommend(gameStorage.findOwnedGameIds(userId), limit));
+    }
+
+    // Count a committed order's games as bought together
+    public void recordOrder(int orderId, List<Integer> gameIds) {
+        coPurchases.recordOrder(orderId, gameIds);
+    }
+
+    private List<Game> toGames(int[] gameIds) {
+        List<Game> games = new ArrayList<>(gameIds.length);
+        for (int gameId : gameIds) {
+            Game game = gameStorage.findById(gameId);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+}
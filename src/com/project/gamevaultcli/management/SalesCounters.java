@@ -0,0 +1,267 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.storage.SalesCounterStorage;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live sales totals kept in memory: revenue, orders per day, units sold per
+ * game and wallet top-up volume. Checkout and top-up bump striped LongAdder
+ * counters after their database transaction commits, so recording a sale
+ * never contends on a shared lock and reading a total costs O(1).
+ *
+ * The stored totals in the SalesCounters table are brought up to date
+ * periodically and on {@link #stop()} by folding in the sales committed since
+ * the last fold, read from the database rather than from these counters, so
+ * several instances sharing a database never overwrite each other's sales.
+ * {@link #start()} loads the stored totals and then adds the orders and
+ * transactions with IDs above their watermarks, so sales not folded yet
+ * (e.g. before a crash) are not lost. From then on the live totals count
+ * this instance's sales only; other instances' sales show up here after the
+ * next restart. Money is counted in cents.
+ *
+ * Units sold over the last hour, day and week are kept by a TrendingSales
+ * ring of hourly buckets. It isn't part of the snapshot; start() rebuilds it
+ * from the last week's orders.
+ */
+public class SalesCounters {
+
+    private static final long DEFAULT_SNAPSHOT_INTERVAL_MILLIS = 5 * 60 * 1000L;
+
+    // Sales younger than this may sit behind a transaction that hasn't committed yet; see
+    // SalesCounterStorage.foldNewSales()
+    private static final long SETTLE_MILLIS = 2 * 60 * 1000L;
+
+    private final SalesCounterStorage storage;
+    private final long snapshotIntervalMillis;
+
+    private final LongAdder revenueCents = new LongAdder();
+    private final LongAdder orderCount = new LongAdder();
+    private final LongAdder topUpCents = new LongAdder();
+    private final LongAdder topUpCount = new LongAdder();
+    private final ConcurrentMap<LocalDate, LongAdder> ordersPerDay = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, LongAdder> unitsSoldPerGame = new ConcurrentHashMap<>();
+    private final TrendingSales trending = new TrendingSales();
+
+    private ScheduledExecutorService snapshotter;
+
+    public SalesCounters(SalesCounterStorage storage) {
+        this(storage, DEFAULT_SNAPSHOT_INTERVAL_MILLIS);
+    }
+
+    public SalesCounters(SalesCounterStorage storage, long snapshotIntervalMillis) {
+        this.storage = storage;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+    }
+
+    /**
+     * Loads the stored totals, catches up on sales not folded into them yet
+     * and starts the periodic folds. Call once, after the database
+     * is reachable and before orders are taken.
+     */
+    public synchronized void start() {
+        if (snapshotter != null) {
+            return;
+        }
+        long orderWatermark = 0;
+        long transactionWatermark = 0;
+        for (SalesCounterStorage.CounterRow row : storage.loadSnapshot()) {
+            String key = row.getKey();
+            switch (row.getName()) {
+                case SalesCounterStorage.REVENUE:
+                    revenueCents.add(row.getValue());
+                    break;
+                case SalesCounterStorage.TOP_UP_VOLUME:
+                    topUpCents.add(row.getValue());
+                    break;
+                case SalesCounterStorage.TOP_UP_COUNT:
+                    topUpCount.add(row.getValue());
+                    break;
+                case SalesCounterStorage.ORDERS_PER_DAY:
+                    counter(ordersPerDay, LocalDate.parse(key)).add(row.getValue());
+                    orderCount.add(row.getValue());
+                    break;
+                case SalesCounterStorage.UNITS_SOLD:
+                    counter(unitsSoldPerGame, Integer.valueOf(key)).add(row.getValue());
+                    break;
+                case SalesCounterStorage.WATERMARK:
+                    if (SalesCounterStorage.LAST_ORDER_ID.equals(key)) {
+                        orderWatermark = row.getValue();
+                    } else if (SalesCounterStorage.LAST_TRANSACTION_ID.equals(key)) {
+                        transactionWatermark = row.getValue();
+                    }
+                    break;
+                default:
+                    System.err.println("Ignoring unknown sales counter: " + row.getName());
+            }
+        }
+        catchUp(orderWatermark, transactionWatermark);
+        loadTrending();
+
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "gamevault-sales-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotter.scheduleWithFixedDelay(this::saveSnapshot, snapshotIntervalMillis, snapshotIntervalMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    // Adds the orders and transactions the stored totals don't include
+    private void catchUp(long orderWatermark, long transactionWatermark) {
+        // Every total stops at bounds read together, so an order committed meanwhile isn't counted by
+        // one total and missed by another
+        long[] maxIds = storage.findMaxIds();
+        if (maxIds == null) {
+            return;
+        }
+        Map<String, Long> newOrdersPerDay = storage.countOrdersPerDayAfter(orderWatermark, maxIds[0]);
+        Map<Integer, Long> newUnitsSold = storage.countUnitsSoldAfter(orderWatermark, maxIds[0]);
+        if (newOrdersPerDay != null && newUnitsSold != null) {
+            for (Map.Entry<String, Long> day : newOrdersPerDay.entrySet()) {
+                counter(ordersPerDay, LocalDate.parse(day.getKey())).add(day.getValue());
+                orderCount.add(day.getValue());
+            }
+            for (Map.Entry<Integer, Long> game : newUnitsSold.entrySet()) {
+                counter(unitsSoldPerGame, game.getKey()).add(game.getValue());
+            }
+        }
+
+        long[] transactions = storage.sumTransactionsAfter(transactionWatermark, maxIds[1]);
+        if (transactions != null) {
+            revenueCents.add(transactions[0]);
+            topUpCents.add(transactions[1]);
+            topUpCount.add(transactions[2]);
+        }
+    }
+
+    // Counts the last week's sales into the trending windows
+    private void loadTrending() {
+        long weekMillis = TrendingSales.Window.LAST_WEEK.getHours() * 60 * 60 * 1000L;
+        List<long[]> recentSales = storage.countUnitsSoldPerHourSince(System.currentTimeMillis() - weekMillis);
+        if (recentSales != null) {
+            for (long[] sold : recentSales) {
+                trending.record((int) sold[1], sold[2], sold[0]);
+            }
+        }
+    }
+
+    /**
+     * Stops the periodic folds and runs a final one.
+     */
+    public synchronized void stop() {
+        if (snapshotter == null) {
+            return;
+        }
+        snapshotter.shutdownNow();
+        saveSnapshot();
+        snapshotter = null;
+    }
+
+    /**
+     * Folds the sales committed since the last fold, by any instance, into
+     * the stored totals. Sales from the last couple of minutes are left for
+     * a later fold, so ones still being committed aren't skipped. Does
+     * nothing before start().
+     *
+     * @return true if the stored totals were updated
+     */
+    public boolean saveSnapshot() {
+        if (!isStarted()) {
+            return false;
+        }
+        return storage.foldNewSales(SETTLE_MILLIS);
+    }
+
+    /**
+     * Counts a committed order.
+     *
+     * @param games      The games bought, one unit each
+     * @param totalCents The amount charged, in cents
+     * @param day        The order date
+     */
+    public void recordOrder(List<Game> games, long totalCents, LocalDate day) {
+        revenueCents.add(totalCents);
+        orderCount.increment();
+        counter(ordersPerDay, day).increment();
+        for (Game game : games) {
+            counter(unitsSoldPerGame, game.getGameId()).increment();
+            trending.record(game.getGameId(), 1);
+        }
+    }
+
+    /**
+     * Counts a committed wallet top-up.
+     *
+     * @param amountCents The amount added, in cents
+     */
+    public void recordTopUp(long amountCents) {
+        topUpCents.add(amountCents);
+        topUpCount.increment();
+    }
+
+    public long getRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    public long getOrderCount() {
+        return orderCount.sum();
+    }
+
+    public long getOrdersOn(LocalDate day) {
+        LongAdder orders = ordersPerDay.get(day);
+        return orders == null ? 0 : orders.sum();
+    }
+
+    // Orders per day, oldest day first
+    public SortedMap<LocalDate, Long> getOrdersPerDay() {
+        SortedMap<LocalDate, Long> result = new TreeMap<>();
+        for (Map.Entry<LocalDate, LongAdder> day : ordersPerDay.entrySet()) {
+            result.put(day.getKey(), day.getValue().sum());
+        }
+        return result;
+    }
+
+    public long getUnitsSold(int gameId) {
+        LongAdder units = unitsSoldPerGame.get(gameId);
+        return units == null ? 0 : units.sum();
+    }
+
+    // The games with the most units sold ever, most first
+    public List<TrendingSales.GameUnits> getBestSellers(int limit) {
+        return TrendingSales.top(unitsSoldPerGame, LongAdder::sum, limit);
+    }
+
+    // The games with the most units sold within a recent window, most first
+    public List<TrendingSales.GameUnits> getTrending(TrendingSales.Window window, int limit) {
+        return trending.top(window, limit);
+    }
+
+    public long getTopUpCents() {
+        return topUpCents.sum();
+    }
+
+    public long getTopUpCount() {
+        return topUpCount.sum();
+    }
+
+    public synchronized boolean isStarted() {
+        return snapshotter != null;
+    }
+
+    private static <K> LongAdder counter(ConcurrentMap<K, LongAdder> counters, K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.storage.GameStorage;
+import com.project.gamevaultcli.storage.TransactionStorage;
+import com.project.gamevaultcli.storage.UserStorage;
+
+/**
+ * Shop-wide figures for the dashboard, answered with SQL aggregates so the
+ * cost doesn't grow with the number of rows, or from the live SalesCounters
+ * once they are running.
+ * Each method returns -1 if the database could not be queried.
+ */
+public class StatisticsManagement {
+
+    private static final String PURCHASE = "Purchase";
+
+    private final UserStorage userStorage;
+    private final GameStorage gameStorage;
+    private final TransactionStorage transactionStorage;
+    private final SalesCounters salesCounters;
+
+    public StatisticsManagement(UserStorage userStorage, GameStorage gameStorage,
+            TransactionStorage transactionStorage, SalesCounters salesCounters) {
+        this.userStorage = userStorage;
+        this.gameStorage = gameStorage;
+        this.transactionStorage = transactionStorage;
+        this.salesCounters = salesCounters;
+    }
+
+    // Live revenue, order, units-sold and top-up totals
+    public SalesCounters getSalesCounters() {
+        return salesCounters;
+    }
+
+    public long getUserCount() {
+        return userStorage.count();
+    }
+
+    public long getGameCount() {
+        return gameStorage.count();
+    }
+
+    // Sum of all Purchase transactions, in cents
+    public long getTotalRevenueCents() {
+        if (salesCounters.isStarted()) {
+            return salesCounters.getRevenueCents();
+        }
+        return transactionStorage.sumAmountCentsByType(PURCHASE);
+    }
+}
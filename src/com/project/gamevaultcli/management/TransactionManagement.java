@@ -1,6 +1,8 @@
 package com.project.gamevaultcli.management;
 
 import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 import com.project.gamevaultcli.storage.TransactionStorage;
 
 import java.util.List;
@@ -21,6 +23,26 @@ public class TransactionManagement {
         return transactionStorage.findAll();
     }
 
+    // Get one page of transactions for a paged table (null if the query fails)
+    public Page<Transaction> getTransactionPage(PageRequest request) {
+        return transactionStorage.findPage(request);
+    }
+
+    // Count all transactions (-1 if the query fails)
+    public long getTransactionCount() {
+        return transactionStorage.count();
+    }
+
+    // Get the transactions of one user, filtered in the database
+    public List<Transaction> getTransactionsByUser(int userId) {
+        return transactionStorage.findByUserId(userId);
+    }
+
+    // Get one page of a user's transactions, newest first (pass null for the first page)
+    public List<Transaction> getTransactionsByUser(int userId, Integer beforeTransactionId, int limit) {
+        return transactionStorage.findByUserId(userId, beforeTransactionId, limit);
+    }
+
     public void addTransaction(Transaction transaction) {
         transactionStorage.save(transaction);
     }
@@ -0,0 +1,218 @@
+package com.project.gamevaultcli.management;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Units sold per game over the last hour, day and week, for trending lists.
+ * Sales are counted in a ring of hourly buckets covering one week. Each
+ * window also keeps a running total per game: a sale adds to it, and a
+ * bucket that falls out of the window subtracts its counts from it. A top-N
+ * query is then a bounded heap over the games sold within the window, and
+ * never reads OrderItems.
+ *
+ * Windows move in whole hours: "the last day" is the current hour plus the
+ * 23 before it. Methods are synchronized; each one touches a handful of map
+ * entries, except a query, which reads one window's totals.
+ */
+public class TrendingSales {
+
+    public enum Window {
+        LAST_HOUR(1), LAST_DAY(24), LAST_WEEK(24 * 7);
+
+        private final int hours;
+
+        Window(int hours) {
+            this.hours = hours;
+        }
+
+        public int getHours() {
+            return hours;
+        }
+    }
+
+    // Units sold of one game
+    public static class GameUnits {
+        private final int gameId;
+        private final long units;
+
+        public GameUnits(int gameId, long units) {
+            this.gameId = gameId;
+            this.units = units;
+        }
+
+        public int getGameId() {
+            return gameId;
+        }
+
+        public long getUnits() {
+            return units;
+        }
+    }
+
+    private static final long HOUR_MILLIS = 60 * 60 * 1000L;
+    private static final Window[] WINDOWS = Window.values();
+    // The longest window decides how many hourly buckets are kept
+    private static final int BUCKETS = Window.LAST_WEEK.hours;
+
+    // Units sold per game within one hour
+    private static final class Bucket {
+        private long hour = Long.MIN_VALUE;
+        private final Map<Integer, long[]> units = new HashMap<>();
+    }
+
+    private final LongSupplier clock;
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+    // Per game, the units sold within each window, indexed by Window.ordinal()
+    private final Map<Integer, long[]> totals = new HashMap<>();
+    // The hour (since the epoch) the ring was last moved to
+    private long currentHour;
+
+    public TrendingSales() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock The current time in milliseconds since the epoch
+     */
+    public TrendingSales(LongSupplier clock) {
+        this.clock = clock;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.currentHour = clock.getAsLong() / HOUR_MILLIS;
+    }
+
+    // Counts units of a game sold now
+    public void record(int gameId, long units) {
+        record(gameId, units, clock.getAsLong());
+    }
+
+    /**
+     * Counts units of a game sold at a given time, e.g. when replaying
+     * recent orders on startup. Sales older than the longest window are
+     * ignored; sales dated in the future count as sold now.
+     */
+    public synchronized void record(int gameId, long units, long timeMillis) {
+        advance();
+        long hour = Math.min(timeMillis / HOUR_MILLIS, currentHour);
+        if (hour <= currentHour - BUCKETS) {
+            return;
+        }
+        Bucket bucket = buckets[slot(hour)];
+        if (bucket.hour != hour) {
+            bucket.hour = hour;
+            bucket.units.clear();
+        }
+        bucket.units.computeIfAbsent(gameId, id -> new long[1])[0] += units;
+        long[] gameTotals = totals.computeIfAbsent(gameId, id -> new long[WINDOWS.length]);
+        for (Window window : WINDOWS) {
+            if (hour > currentHour - window.hours) {
+                gameTotals[window.ordinal()] += units;
+            }
+        }
+    }
+
+    /**
+     * The games that sold the most units within a window, most first; ties
+     * go to the lower game ID.
+     */
+    public synchronized List<GameUnits> top(Window window, int limit) {
+        advance();
+        int index = window.ordinal();
+        return top(totals, counts -> counts[index], limit);
+    }
+
+    /**
+     * The entries with the largest counts, largest first and ties going to
+     * the lower game ID, picked with a heap of at most {@code limit}
+     * entries. Entries with a count of zero are left out.
+     */
+    static <V> List<GameUnits> top(Map<Integer, V> counts, ToLongFunction<? super V> units, int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        // The heap's head is the weakest entry kept so far
+        Comparator<GameUnits> weakestFirst = Comparator.comparingLong(GameUnits::getUnits)
+                .thenComparing(Comparator.comparingInt(GameUnits::getGameId).reversed());
+        PriorityQueue<GameUnits> heap = new PriorityQueue<>(limit, weakestFirst);
+        for (Map.Entry<Integer, V> count : counts.entrySet()) {
+            long value = units.applyAsLong(count.getValue());
+            if (value <= 0) {
+                continue;
+            }
+            if (heap.size() < limit) {
+                heap.add(new GameUnits(count.getKey(), value));
+            } else {
+                GameUnits weakest = heap.peek();
+                if (value > weakest.units || (value == weakest.units && count.getKey() < weakest.gameId)) {
+                    heap.poll();
+                    heap.add(new GameUnits(count.getKey(), value));
+                }
+            }
+        }
+        List<GameUnits> result = new ArrayList<>(heap);
+        result.sort(Collections.reverseOrder(weakestFirst));
+        return result;
+    }
+
+    // Moves the ring to the current hour, taking the hours that fell out of each window off its totals
+    private void advance() {
+        long hour = clock.getAsLong() / HOUR_MILLIS;
+        if (hour <= currentHour) {
+            return;
+        }
+        if (hour - currentHour >= BUCKETS) {
+            // Nothing sold in the last week
+            for (Bucket bucket : buckets) {
+                bucket.hour = Long.MIN_VALUE;
+                bucket.units.clear();
+            }
+            totals.clear();
+            currentHour = hour;
+            return;
+        }
+        for (long next = currentHour + 1; next <= hour; next++) {
+            for (Window window : WINDOWS) {
+                expire(next - window.hours, window.ordinal());
+            }
+        }
+        currentHour = hour;
+    }
+
+    // Subtracts an hour's sales from one window's totals
+    private void expire(long hour, int window) {
+        Bucket bucket = buckets[slot(hour)];
+        if (bucket.hour != hour) {
+            return;
+        }
+        for (Map.Entry<Integer, long[]> sold : bucket.units.entrySet()) {
+            long[] gameTotals = totals.get(sold.getKey());
+            if (gameTotals != null) {
+                gameTotals[window] -= sold.getValue()[0];
+            }
+        }
+        if (window == Window.LAST_WEEK.ordinal()) {
+            // The hour has left every window; drop the games it was the last sale of
+            for (Integer gameId : bucket.units.keySet()) {
+                long[] gameTotals = totals.get(gameId);
+                if (gameTotals != null && gameTotals[window] <= 0) {
+                    totals.remove(gameId);
+                }
+            }
+            bucket.hour = Long.MIN_VALUE;
+            bucket.units.clear();
+        }
+    }
+
+    private static int slot(long hour) {
+        return (int) Math.floorMod(hour, (long) BUCKETS);
+    }
+}
@@ -3,6 +3,9 @@ package com.project.gamevaultcli.management;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.exceptions.InvalidUserDataException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
+import com.project.gamevaultcli.helpers.PasswordHasher;
 import com.project.gamevaultcli.storage.UserStorage;
 
 import java.util.List;
@@ -10,9 +13,15 @@ import java.util.List;
 public class UserManagement {
 
     private final UserStorage userStorage;
+    private final PasswordHasher passwordHasher;
 
     public UserManagement(UserStorage userStorage) {
+        this(userStorage, new PasswordHasher());
+    }
+
+    public UserManagement(UserStorage userStorage, PasswordHasher passwordHasher) {
         this.userStorage = userStorage;
+        this.passwordHasher = passwordHasher;
     }
 
     public User getUser(int userId) throws UserNotFoundException {
@@ -23,11 +32,19 @@ public class UserManagement {
         return user;
     }
 
+    // Checks the password against the stored hash. A hash made with an older
+    // iteration count (or a plain-text password) is replaced on success.
     public User login(String email, String password) throws UserNotFoundException {
         User user = userStorage.findByEmail(email);
-        if (user == null || !user.getPassword().equals(password)) {
+        if (!passwordHasher.verify(password, user != null ? user.getPassword() : null)) {
             throw new UserNotFoundException("Invalid email or password");
         }
+        if (passwordHasher.needsRehash(user.getPassword())) {
+            String rehashed = passwordHasher.hash(password);
+            if (userStorage.updatePassword(user.getUserId(), rehashed)) {
+                user.setPassword(rehashed);
+            }
+        }
         return user;
     }
 
@@ -35,16 +52,31 @@ public class UserManagement {
         return userStorage.findAll();
     }
 
+    // Get one page of users for a paged table (null if the query fails)
+    public Page<User> getUserPage(PageRequest request) {
+        return userStorage.findPage(request);
+    }
+
+    // Count all users (-1 if the query fails)
+    public long getUserCount() {
+        return userStorage.count();
+    }
+
     public void addUser(User user) throws InvalidUserDataException {
         if (user.getUsername() == null || user.getUsername().trim().isEmpty()) {
             throw new InvalidUserDataException("username", "Username cannot be empty");
         }
+        if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            throw new InvalidUserDataException("password", "Password cannot be empty");
+        }
         // Optional: Check for duplicate email or username before saving
         if (userStorage.findByEmail(user.getEmail()) != null) {
              throw new InvalidUserDataException("email", "Email address is already registered.");
         }
         // Add check for duplicate username if needed, requires findByUsername in storage
 
+        // Only the hash is stored; the user object carries it from here on
+        user.setPassword(passwordHasher.hash(user.getPassword()));
         userStorage.save(user);
     }
 
@@ -78,28 +110,20 @@ public class UserManagement {
     }
 
     /**
-     * Updates the wallet balance for a specific user.
-     * @param userId The ID of the user.
-     * @param amount The amount to add (must be positive).
-     * @throws UserNotFoundException If the user is not found.
-     * @throws InvalidUserDataException If the amount is invalid (should be positive).
+     * Changes a user's username, writing only that column so the user's
+     * wallet balance and password are never overwritten with older values.
+     *
+     * @throws InvalidUserDataException If the new username is empty.
+     * @throws UserNotFoundException If the user doesn't exist or the update fails.
      */
-     public void updateWalletBalance(int userId, float amount) throws UserNotFoundException, InvalidUserDataException {
-         if (amount <= 0) {
-             throw new InvalidUserDataException("amount", "Amount to add must be positive.");
-         }
-
-         User user = userStorage.findById(userId);
-         if (user == null) {
-             throw new UserNotFoundException("User with ID " + userId + " not found for balance update.");
-         }
-
-         float newBalance = user.getWalletBalance() + amount;
-         user.setWalletBalance(newBalance); // Update the user object
-
-         userStorage.update(user); // Save the updated user object to the database
-     }
-
+    public void updateUsername(int userId, String newUsername) throws InvalidUserDataException, UserNotFoundException {
+        if (newUsername == null || newUsername.trim().isEmpty()) {
+            throw new InvalidUserDataException("username", "Username cannot be empty");
+        }
+        if (!userStorage.updateUsername(userId, newUsername.trim())) {
+            throw new UserNotFoundException("User with ID " + userId + " not found or could not be updated.");
+        }
+    }
 
     public void deleteUser(int userId) {
         userStorage.delete(userId);
@@ -0,0 +1,94 @@
+package com.project.gamevaultcli.management;
+
+import com.project.gamevaultcli.entities.Transaction;
+import com.project.gamevaultcli.exceptions.InvalidUserDataException;
+import com.project.gamevaultcli.exceptions.UserNotFoundException;
+import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.storage.TransactionStorage;
+import com.project.gamevaultcli.storage.UserStorage;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+
+/**
+ * Wallet top-ups. A top-up credits the balance with one relative UPDATE and
+ * records its Top-up transaction in the same database transaction, so
+ * concurrent top-ups never overwrite each other and a balance change never
+ * exists without its transaction (or the other way round). The transaction
+ * only holds the user's row lock for the UPDATE, one SELECT and one INSERT,
+ * so top-ups for different users don't wait on each other and top-ups for
+ * the same user queue briefly.
+ */
+public class WalletManagement {
+
+    // Result of a committed top-up
+    public static class TopUp {
+        private final long newBalanceCents;
+        private final Transaction transaction;
+
+        private TopUp(long newBalanceCents, Transaction transaction) {
+            this.newBalanceCents = newBalanceCents;
+            this.transaction = transaction;
+        }
+
+        // The balance right after this top-up, in cents
+        public long getNewBalanceCents() {
+            return newBalanceCents;
+        }
+
+        public Transaction getTransaction() {
+            return transaction;
+        }
+    }
+
+    private final UserStorage userStorage;
+    private final TransactionStorage transactionStorage;
+    private final SalesCounters salesCounters;
+
+    public WalletManagement(UserStorage userStorage, TransactionStorage transactionStorage,
+            SalesCounters salesCounters) {
+        this.userStorage = userStorage;
+        this.transactionStorage = transactionStorage;
+        this.salesCounters = salesCounters;
+    }
+
+    /**
+     * Adds money to a user's wallet and records the Top-up transaction.
+     *
+     * @param userId      The user to credit
+     * @param amountCents The amount to add in cents (must be positive)
+     * @return The new balance and the recorded transaction
+     * @throws InvalidUserDataException If the amount isn't positive
+     * @throws UserNotFoundException    If the user doesn't exist
+     */
+    public TopUp topUp(int userId, long amountCents) throws InvalidUserDataException, UserNotFoundException {
+        if (amountCents <= 0) {
+            throw new InvalidUserDataException("amount", "Amount to add must be positive.");
+        }
+
+        TopUp topUp;
+        try {
+            topUp = DBUtil.executeInTransaction(conn -> {
+                Long newBalance = userStorage.creditWallet(userId, amountCents);
+                if (newBalance == null) {
+                    return null;
+                }
+                Transaction transaction = new Transaction(null, null, userId, "Top-up", amountCents, LocalDateTime.now());
+                transactionStorage.insert(transaction);
+                return new TopUp(newBalance, transaction);
+            });
+        } catch (SQLException | IOException e) {
+            System.err.println("Top-up failed and was rolled back: " + e.getMessage());
+            throw new IllegalStateException("Top-up failed: " + e.getMessage());
+        }
+        if (topUp == null) {
+            throw new UserNotFoundException("User with ID " + userId + " not found for balance update.");
+        }
+
+        // Refresh the cached balance and update the live totals now that the top-up has committed
+        userStorage.walletCreditCommitted(userId);
+        salesCounters.recordTopUp(amountCents);
+        return topUp;
+    }
+}
@@ -0,0 +1,129 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.helpers.DBUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user cart contents (game IDs, in the order they were added), so
+ * showing a cart and its total doesn't query CartItems.
+ * A user's cart is loaded from the database on first use and kept current
+ * by CartStorage as games are added and removed. Entries expire after a
+ * TTL so changes made by other application instances are picked up.
+ * Published sets are never modified; updates swap in a copy.
+ */
+public class CartCache {
+
+    private static final String SQL_CART_GAME_IDS = "SELECT gameId FROM CartItems WHERE userId = ? " +
+            "ORDER BY cartItemId";
+
+    private static final class Entry {
+        private final Set<Integer> gameIds;
+        private final long loadedAt;
+
+        private Entry(Set<Integer> gameIds, long loadedAt) {
+            this.gameIds = gameIds;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final ConcurrentMap<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every change; a load that overlapped a change is not cached
+    private final AtomicLong changeVersion = new AtomicLong();
+
+    public CartCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**
+     * Returns the game IDs in a user's cart, loading them on first use and
+     * once the cached ones expire. The returned set can't be modified.
+     *
+     * @return The game IDs, or null if they couldn't be loaded
+     */
+    public Set<Integer> getGameIds(int userId) {
+        Entry entry = entries.get(userId);
+        if (entry != null && System.currentTimeMillis() - entry.loadedAt < ttlMillis) {
+            return entry.gameIds;
+        }
+
+        long versionAtLoad = changeVersion.get();
+        Set<Integer> loaded;
+        try {
+            List<Integer> rows = DBUtil.executeQuery(SQL_CART_GAME_IDS, rs -> rs.getInt("gameId"), userId);
+            loaded = Collections.unmodifiableSet(new LinkedHashSet<>(rows));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error loading cart: " + e.getMessage());
+            return null; // Don't cache a failed load
+        }
+
+        if (changeVersion.get() != versionAtLoad) {
+            return loaded; // The cart may have changed mid-load, try again next time
+        }
+        // Keep an entry another thread cached meanwhile
+        Entry fresh = new Entry(loaded, System.currentTimeMillis());
+        return entries.compute(userId, (id, current) -> current == entry ? fresh : current).gameIds;
+    }
+
+    // Records a game added to the cart in the database
+    public void add(int userId, int gameId) {
+        changeVersion.incrementAndGet();
+        // Carts that aren't loaded yet will read the change from the database
+        entries.computeIfPresent(userId, (id, entry) -> {
+            if (entry.gameIds.contains(gameId)) {
+                return entry;
+            }
+            Set<Integer> updated = new LinkedHashSet<>(entry.gameIds);
+            updated.add(gameId);
+            return new Entry(Collections.unmodifiableSet(updated), entry.loadedAt);
+        });
+    }
+
+    // Records a game removed from the cart in the database
+    public void remove(int userId, int gameId) {
+        changeVersion.incrementAndGet();
+        entries.computeIfPresent(userId, (id, entry) -> {
+            if (!entry.gameIds.contains(gameId)) {
+                return entry;
+            }
+            Set<Integer> updated = new LinkedHashSet<>(entry.gameIds);
+            updated.remove(gameId);
+            return new Entry(Collections.unmodifiableSet(updated), entry.loadedAt);
+        });
+    }
+
+    // Records that every game was removed from the cart in the database
+    public void clear(int userId) {
+        changeVersion.incrementAndGet();
+        entries.put(userId, new Entry(Collections.<Integer>emptySet(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Replaces a user's cart with game IDs just read from the database, e.g.
+     * under checkout's lock, if they differ from the cached ones.
+     */
+    public void replace(int userId, List<Integer> gameIds) {
+        Set<Integer> read = Collections.unmodifiableSet(new LinkedHashSet<>(gameIds));
+        Entry entry = entries.get(userId);
+        if (entry != null && entry.gameIds.equals(read)) {
+            return;
+        }
+        changeVersion.incrementAndGet();
+        entries.put(userId, new Entry(read, System.currentTimeMillis()));
+    }
+
+    // Forgets a user's cart; the next read reloads it
+    public void invalidate(int userId) {
+        changeVersion.incrementAndGet();
+        entries.remove(userId);
+    }
+}
@@ -10,13 +10,31 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class CartStorage implements StorageInterface<Cart, Integer> {
 
+    // MySQL's error code for a duplicate key, here the unique (userId, gameId) index on CartItems
+    private static final int ER_DUP_ENTRY = 1062;
+
+    // Rows read per query by forEach()
+    private static final int FOR_EACH_BATCH_SIZE = 500;
+
+    // How long a cached cart is trusted before it is read again, so changes
+    // made by other application instances show up
+    private static final long DEFAULT_CART_TTL_MILLIS = 60 * 1000L;
+
     private final GameStorage gameStorage;
+    private final CartCache cartCache;
 
     public CartStorage(GameStorage gameStorage) {
+        this(gameStorage, DEFAULT_CART_TTL_MILLIS);
+    }
+
+    public CartStorage(GameStorage gameStorage, long cartTtlMillis) {
         this.gameStorage = gameStorage;
+        this.cartCache = new CartCache(cartTtlMillis);
     }
 
     @Override
@@ -42,6 +60,28 @@ public class CartStorage implements StorageInterface<Cart, Integer> {
         }
     }
 
+    @Override
+    public List<Cart> findPage(Integer afterId, int limit) {
+        String sql = "SELECT userId FROM Carts WHERE userId > ? ORDER BY userId LIMIT ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToCart(rs), afterId != null ? afterId : 0, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding a page of carts: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Cart> action) {
+        try {
+            DBUtil.forEachByKeyset("Carts", "userId", FOR_EACH_BATCH_SIZE, rs -> mapResultSetToCart(rs), action);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading all carts: " + e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public void save(Cart cart) {
         String sql = "INSERT INTO Carts (userId) VALUES (?)";
@@ -69,13 +109,42 @@ public class CartStorage implements StorageInterface<Cart, Integer> {
         }
     }
 
-    // Adds game to cart
-    public void addGameToCart(int userId, int gameId) {
-        String sql = "INSERT INTO CartItems (userId, gameId) VALUES (?, ?)";
+    /**
+     * Adds a game to the user's cart, creating the cart if needed. A cart
+     * holds each game once: adding one that's already there changes nothing,
+     * which the unique (userId, gameId) index enforces even when two
+     * sessions add the same game at once.
+     *
+     * @return true if the game was added, false if it was already in the cart
+     * @throws SQLException if the insert failed; the game wasn't added
+     */
+    public boolean addGameToCart(int userId, int gameId) throws SQLException, IOException {
+        Set<Integer> inCart = cartCache.getGameIds(userId);
+        if (inCart != null && inCart.contains(gameId)) {
+            return false;
+        }
+        // A cart with games in it already has its Carts row
+        String sqlCart = "INSERT INTO Carts (userId) VALUES (?) ON DUPLICATE KEY UPDATE userId = userId";
+        String sqlItem = "INSERT INTO CartItems (userId, gameId) VALUES (?, ?)";
         try {
-            DBUtil.executeUpdate(sql, userId, gameId);
-        } catch (SQLException | IOException e) {
-            System.err.println("Error adding game to cart: " + e.getMessage());
+            if (inCart == null || inCart.isEmpty()) {
+                DBUtil.executeUpdate(sqlCart, userId);
+            }
+            DBUtil.executeUpdate(sqlItem, userId, gameId);
+            cartCache.add(userId, gameId);
+            return true;
+        } catch (SQLException e) {
+            if (e.getErrorCode() == ER_DUP_ENTRY) {
+                // Already in the cart, added by another session or missing from a stale cached cart
+                cartCache.add(userId, gameId);
+                return false;
+            }
+            cartCache.invalidate(userId);
+            throw e;
+        } catch (IOException e) {
+            // The cart may be half-written (Carts row but no item); reload it on next read
+            cartCache.invalidate(userId);
+            throw e;
         }
     }
 
@@ -84,31 +153,78 @@ public class CartStorage implements StorageInterface<Cart, Integer> {
         String sql = "DELETE FROM CartItems WHERE userId = ? AND gameId = ?";
         try {
             DBUtil.executeUpdate(sql, userId, gameId);
+            cartCache.remove(userId, gameId);
         } catch (SQLException | IOException e) {
             System.err.println("Error removing game from cart: " + e.getMessage());
         }
     }
 
-    // Gets games in cart
+    // Gets games in cart, in the order they were added. Served from the cart
+    // cache and the catalog cache once the cart is loaded.
     public List<Game> getGamesInCart(int userId) {
-        String sql = "SELECT g.* FROM CartItems ci JOIN Games g ON ci.gameId = g.gameId WHERE ci.userId = ?";
-        try {
-            return DBUtil.executeQuery(sql, rs -> gameStorage.mapResultSetToGame(rs), userId);
-        } catch (SQLException | IOException e) {
-            System.err.println("Error getting games in cart: " + e.getMessage());
-            return new ArrayList<>(); // Return empty list in case of error
+        List<Game> games = new ArrayList<>();
+        Set<Integer> gameIds = cartCache.getGameIds(userId);
+        if (gameIds == null) {
+            return games; // Return empty list in case of error
+        }
+        for (int gameId : gameIds) {
+            Game game = gameStorage.findById(gameId);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    // Reads the games in the cart from the database, for checkout while the
+    // cart is locked; failures are thrown so a surrounding transaction can roll back.
+    // The cached cart is corrected if it went stale, e.g. after another instance changed it
+    public List<Game> readGamesInCart(int userId) throws SQLException, IOException {
+        String sql = "SELECT g.* FROM CartItems ci JOIN Games g ON ci.gameId = g.gameId WHERE ci.userId = ? "
+                + "ORDER BY ci.cartItemId";
+        List<Game> games = DBUtil.executeQuery(sql, rs -> gameStorage.mapResultSetToGame(rs), userId);
+        List<Integer> gameIds = new ArrayList<>(games.size());
+        for (Game game : games) {
+            gameIds.add(game.getGameId());
         }
+        cartCache.replace(userId, gameIds);
+        return games;
     }
 
     public void clearCart(int userId) {
-        String sql = "DELETE FROM CartItems WHERE userId = ?";
         try {
-            DBUtil.executeUpdate(sql, userId);
+            deleteCartItems(userId);
+            cartCache.clear(userId);
         } catch (SQLException | IOException e) {
             System.err.println("Error clearing cart: " + e.getMessage());
+            cartCache.invalidate(userId);
         }
     }
 
+    // Removes every game from the cart; failures are thrown so a surrounding
+    // transaction can roll back. Call {@link #cartClearCommitted} once the
+    // transaction has committed.
+    public void deleteCartItems(int userId) throws SQLException, IOException {
+        String sql = "DELETE FROM CartItems WHERE userId = ?";
+        DBUtil.executeUpdate(sql, userId);
+    }
+
+    // Applies a committed deleteCartItems() to the cached cart
+    public void cartClearCommitted(int userId) {
+        cartCache.clear(userId);
+    }
+
+    /**
+     * Locks the user's cart row until the current transaction ends, so two
+     * checkouts of the same cart run one after the other.
+     *
+     * @return false if the user has no cart
+     */
+    public boolean lockCart(int userId) throws SQLException, IOException {
+        String sql = "SELECT userId FROM Carts WHERE userId = ? FOR UPDATE";
+        return !DBUtil.executeQuery(sql, rs -> mapResultSetToCart(rs), userId).isEmpty();
+    }
+
     private Cart mapResultSetToCart(ResultSet rs) throws SQLException {
         Cart cart = new Cart();
         cart.setUserId(rs.getInt("userId"));
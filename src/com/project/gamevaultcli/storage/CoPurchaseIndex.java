@@ -0,0 +1,468 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.helpers.DBUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Counts how often each pair of games was bought in the same order, for
+ * "customers also bought" lists and personal recommendations. Each game has
+ * a sparse row of co-purchase counts keyed by the other game's ID, held in
+ * primitive open-addressing arrays, plus the number of orders containing it.
+ * Two games score by cosine similarity: the orders having both, divided by
+ * the square root of the product of the orders having each, so a bestseller
+ * doesn't top every list just by being in many orders.
+ *
+ * The counts are read from OrderItems on first use, up to the highest order
+ * ID at that moment. {@link #recordOrder} adds orders that commit after
+ * that, so the counts stay current without going back to the database.
+ * Orders recorded while the first load runs are held back and applied once
+ * it finishes, skipping any the load already read. Which orders were read is
+ * tracked by ID rather than by the highest ID, since an order with a lower
+ * ID can still be uncommitted when the load runs and be recorded later.
+ */
+public class CoPurchaseIndex {
+
+    private static final String SQL_LAST_ORDER_ID = "SELECT COALESCE(MAX(orderId), 0) AS lastOrderId FROM OrderItems";
+    private static final String SQL_ORDER_ITEMS = "SELECT orderId, gameId FROM OrderItems " +
+            "WHERE orderId <= ? ORDER BY orderId";
+
+    // A game's co-purchase counts, keyed by the other game's ID
+    private static final class Row {
+        // Keys are stored as gameId + 1, so 0 marks a free slot
+        private int[] keys = new int[8];
+        private int[] counts = new int[8];
+        private int size;
+
+        private void increment(int gameId) {
+            int key = gameId + 1;
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    counts[slot]++;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            counts[slot] = 1;
+            if (++size * 4 > keys.length * 3) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            int[] oldCounts = counts;
+            keys = new int[oldKeys.length * 2];
+            counts = new int[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    counts[slot] = oldCounts[i];
+                }
+            }
+        }
+    }
+
+    // The counts themselves; only touched under the index's lock
+    private static final class Matrix {
+        private Row[] rows = new Row[0];
+        // How many orders contain each game, by game ID
+        private int[] orderCounts = new int[0];
+
+        private void addOrder(int[] gameIds) {
+            int[] distinct = gameIds.clone();
+            Arrays.sort(distinct);
+            int n = 0;
+            for (int i = 0; i < distinct.length; i++) {
+                if (distinct[i] >= 0 && (n == 0 || distinct[n - 1] != distinct[i])) {
+                    distinct[n++] = distinct[i];
+                }
+            }
+            if (n == 0) {
+                return;
+            }
+            ensureCapacity(distinct[n - 1] + 1);
+            for (int i = 0; i < n; i++) {
+                orderCounts[distinct[i]]++;
+                if (n > 1 && rows[distinct[i]] == null) {
+                    rows[distinct[i]] = new Row();
+                }
+                for (int j = 0; j < n; j++) {
+                    if (i != j) {
+                        rows[distinct[i]].increment(distinct[j]);
+                    }
+                }
+            }
+        }
+
+        private void ensureCapacity(int gameIdLimit) {
+            if (gameIdLimit > rows.length) {
+                int capacity = Math.max(gameIdLimit, rows.length + (rows.length >> 1));
+                rows = Arrays.copyOf(rows, capacity);
+                orderCounts = Arrays.copyOf(orderCounts, capacity);
+            }
+        }
+
+        private int orderCount(int gameId) {
+            return gameId < orderCounts.length ? orderCounts[gameId] : 0;
+        }
+
+        private Row row(int gameId) {
+            return gameId >= 0 && gameId < rows.length ? rows[gameId] : null;
+        }
+    }
+
+    // Summed scores of candidate games, keyed by game ID
+    private static final class Scores {
+        private int[] keys = new int[64];
+        private double[] values = new double[64];
+        private int size;
+
+        private void add(int gameId, double score) {
+            int key = gameId + 1;
+            int mask = keys.length - 1;
+            int slot = mix(key) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    values[slot] += score;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = score;
+            if (++size * 4 > keys.length * 3) {
+                grow();
+            }
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            double[] oldValues = values;
+            keys = new int[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    values[slot] = oldValues[i];
+                }
+            }
+        }
+
+        private void offerAll(TopGames top) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    top.offer(keys[i] - 1, values[i]);
+                }
+            }
+        }
+    }
+
+    // The best few games seen so far: a min-heap on score, ties going to the lower game ID
+    private static final class TopGames {
+        private final int[] gameIds;
+        private final double[] scores;
+        private int size;
+
+        private TopGames(int limit) {
+            gameIds = new int[limit];
+            scores = new double[limit];
+        }
+
+        private void offer(int gameId, double score) {
+            if (size < gameIds.length) {
+                gameIds[size] = gameId;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (size > 0 && worse(gameIds[0], scores[0], gameId, score)) {
+                gameIds[0] = gameId;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        // The games held, best first
+        private int[] toArray() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> worse(gameIds[a], scores[a], gameIds[b], scores[b]) ? 1
+                    : worse(gameIds[b], scores[b], gameIds[a], scores[a]) ? -1 : 0);
+            int[] best = new int[size];
+            for (int i = 0; i < size; i++) {
+                best[i] = gameIds[order[i]];
+            }
+            return best;
+        }
+
+        private boolean contains(int gameId) {
+            for (int i = 0; i < size; i++) {
+                if (gameIds[i] == gameId) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean worse(int gameId, double score, int otherId, double otherScore) {
+            return score != otherScore ? score < otherScore : gameId > otherId;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!worse(gameIds[i], scores[i], gameIds[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                for (int child = 2 * i + 1; child <= 2 * i + 2 && child < size; child++) {
+                    if (worse(gameIds[child], scores[child], gameIds[worst], scores[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = gameIds[a];
+            gameIds[a] = gameIds[b];
+            gameIds[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Held while loading, so only one thread reads OrderItems
+    private final Object loadLock = new Object();
+    private Matrix matrix = new Matrix();
+    private volatile boolean loaded = false;
+    // The IDs of the orders counted so far, by the load or by recordOrder()
+    private BitSet countedOrderIds = new BitSet();
+    // Orders recorded while a load runs, by order ID; null when no load is running
+    private Map<Integer, int[]> pendingOrders;
+
+    /**
+     * Adds one committed order's games to the counts. Orders already counted
+     * are ignored, so recording an order twice is harmless.
+     * Before the first load the call is a no-op, since the load will read
+     * the order from the database.
+     */
+    public void recordOrder(int orderId, List<Integer> gameIds) {
+        int[] ids = new int[gameIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = gameIds.get(i);
+        }
+        lock.writeLock().lock();
+        try {
+            if (pendingOrders != null) {
+                pendingOrders.put(orderId, ids);
+            } else if (loaded && !countedOrderIds.get(orderId)) {
+                countedOrderIds.set(orderId);
+                matrix.addOrder(ids);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks the games most often bought together with a game.
+     *
+     * @param exclude Game IDs to leave out, such as ones the user owns; may be null
+     * @return Up to {@code limit} game IDs, best first; empty if the counts can't be loaded
+     */
+    public int[] alsoBought(int gameId, BitSet exclude, int limit) {
+        if (limit <= 0 || !ensureLoaded()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            Row row = matrix.row(gameId);
+            if (row == null) {
+                return new int[0];
+            }
+            TopGames top = new TopGames(limit);
+            double orders = matrix.orderCount(gameId);
+            for (int slot = 0; slot < row.keys.length; slot++) {
+                int other = row.keys[slot] - 1;
+                if (other >= 0 && (exclude == null || !exclude.get(other))) {
+                    top.offer(other, row.counts[slot] / Math.sqrt(orders * matrix.orderCount(other)));
+                }
+            }
+            return top.toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ranks games for someone owning the given games: each candidate scores
+     * the sum of its similarity to every owned game. Owned games are never
+     * picked. When too few games were bought alongside the owned ones, the
+     * list is filled with the games in the most orders.
+     *
+     * @return Up to {@code limit} game IDs, best first; empty if the counts can't be loaded
+     */
+    public int[] recommend(BitSet owned, int limit) {
+        if (limit <= 0 || !ensureLoaded()) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            Scores scores = new Scores();
+            for (int gameId = owned.nextSetBit(0); gameId >= 0; gameId = owned.nextSetBit(gameId + 1)) {
+                Row row = matrix.row(gameId);
+                if (row == null) {
+                    continue;
+                }
+                double orders = matrix.orderCount(gameId);
+                for (int slot = 0; slot < row.keys.length; slot++) {
+                    int other = row.keys[slot] - 1;
+                    if (other >= 0 && !owned.get(other)) {
+                        scores.add(other, row.counts[slot] / Math.sqrt(orders * matrix.orderCount(other)));
+                    }
+                }
+            }
+            TopGames top = new TopGames(limit);
+            scores.offerAll(top);
+            int[] picked = top.toArray();
+            if (picked.length == limit) {
+                return picked;
+            }
+
+            TopGames popular = new TopGames(limit - picked.length);
+            for (int gameId = 0; gameId < matrix.orderCounts.length; gameId++) {
+                if (matrix.orderCounts[gameId] > 0 && !owned.get(gameId) && !top.contains(gameId)) {
+                    popular.offer(gameId, matrix.orderCounts[gameId]);
+                }
+            }
+            int[] filler = popular.toArray();
+            int[] result = Arrays.copyOf(picked, picked.length + filler.length);
+            System.arraycopy(filler, 0, result, picked.length, filler.length);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Reads the counts from OrderItems the first time they're needed
+    private boolean ensureLoaded() {
+        if (loaded) {
+            return true;
+        }
+        synchronized (loadLock) {
+            if (loaded) {
+                return true;
+            }
+            lock.writeLock().lock();
+            try {
+                pendingOrders = new LinkedHashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Matrix built = new Matrix();
+            BitSet readOrderIds = new BitSet();
+            int lastOrderId;
+            try {
+                List<Integer> last = DBUtil.executeQuery(SQL_LAST_ORDER_ID, rs -> rs.getInt("lastOrderId"));
+                lastOrderId = last.isEmpty() ? 0 : last.get(0);
+                int[] currentOrderId = { -1 };
+                List<Integer> items = new ArrayList<>();
+                DBUtil.executeStreamingQuery(SQL_ORDER_ITEMS, rs -> new int[] { rs.getInt("orderId"), rs.getInt("gameId") },
+                        item -> {
+                            if (item[0] != currentOrderId[0]) {
+                                addOrder(built, items);
+                                currentOrderId[0] = item[0];
+                                readOrderIds.set(item[0]);
+                            }
+                            items.add(item[1]);
+                        }, lastOrderId);
+                addOrder(built, items);
+            } catch (SQLException | IOException e) {
+                System.err.println("Error loading co-purchase counts: " + e.getMessage());
+                lock.writeLock().lock();
+                try {
+                    pendingOrders = null; // Try again next time
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                return false;
+            }
+
+            lock.writeLock().lock();
+            try {
+                // Apply every pending order the stream didn't read, including ones with a lower
+                // ID than lastOrderId that committed after it was read
+                for (Map.Entry<Integer, int[]> order : pendingOrders.entrySet()) {
+                    if (!readOrderIds.get(order.getKey())) {
+                        readOrderIds.set(order.getKey());
+                        built.addOrder(order.getValue());
+                    }
+                }
+                pendingOrders = null;
+                matrix = built;
+                countedOrderIds = readOrderIds;
+                loaded = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            return true;
+        }
+    }
+
+    // Adds the games read for one order and clears the list for the next
+    private static void addOrder(Matrix matrix, List<Integer> gameIds) {
+        if (gameIds.isEmpty()) {
+            return;
+        }
+        int[] ids = new int[gameIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = gameIds.get(i);
+        }
+        matrix.addOrder(ids);
+        gameIds.clear();
+    }
+
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
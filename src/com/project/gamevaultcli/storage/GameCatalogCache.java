@@ -0,0 +1,153 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory copy of the Games table used by GameStorage.
+ * Readers get an immutable snapshot (an id-indexed map plus a list in table
+ * order) without locking. Writers build a new snapshot and swap it in, which
+ * is cheap because the catalog only changes when an admin edits it.
+ * Snapshots expire after a TTL so changes made by other application
+ * instances are picked up.
+ */
+public class GameCatalogCache {
+
+    private static final class Snapshot {
+        private final Map<Integer, Game> byId;
+        private final List<Game> all;
+        private final long loadedAt;
+
+        private Snapshot(List<Game> games, long loadedAt) {
+            Map<Integer, Game> map = new HashMap<>(games.size() * 2);
+            for (Game game : games) {
+                map.put(game.getGameId(), game);
+            }
+            this.byId = Collections.unmodifiableMap(map);
+            this.all = Collections.unmodifiableList(new ArrayList<>(games));
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private volatile Snapshot snapshot;
+    // Bumped on every local change, so a reload that raced with a write is discarded
+    private long version = 0;
+
+    public GameCatalogCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    // True when a snapshot is loaded and younger than the TTL
+    public boolean isFresh() {
+        Snapshot current = snapshot;
+        return current != null && System.currentTimeMillis() - current.loadedAt < ttlMillis;
+    }
+
+    public boolean isLoaded() {
+        return snapshot != null;
+    }
+
+    /**
+     * Returns the cached games in table order, or null if nothing is loaded.
+     * The list is immutable.
+     */
+    public List<Game> getAll() {
+        Snapshot current = snapshot;
+        return current == null ? null : current.all;
+    }
+
+    public Game get(int gameId) {
+        Snapshot current = snapshot;
+        return current == null ? null : current.byId.get(gameId);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Installs a freshly loaded catalog, unless a local change happened after
+     * the load started.
+     *
+     * @param games           The rows read from the database
+     * @param versionAtLoad   The value of getVersion() taken before the query
+     */
+    public synchronized void load(List<Game> games, long versionAtLoad) {
+        if (version == versionAtLoad) {
+            snapshot = new Snapshot(games, System.currentTimeMillis());
+        }
+    }
+
+    // Adds or replaces one game in place
+    public synchronized void put(Game game) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        List<Game> games = new ArrayList<>(current.all);
+        boolean replaced = false;
+        for (int i = 0; i < games.size(); i++) {
+            if (games.get(i).getGameId() == game.getGameId()) {
+                games.set(i, game);
+                replaced = true;
+                break;
+            }
+        }
+        if (!replaced) {
+            games.add(game);
+        }
+        snapshot = new Snapshot(games, current.loadedAt);
+    }
+
+    // Adds or replaces many games with a single snapshot rebuild
+    public synchronized void putAll(List<Game> added) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null) {
+            return;
+        }
+        Map<Integer, Game> replacements = new HashMap<>(added.size() * 2);
+        for (Game game : added) {
+            replacements.put(game.getGameId(), game);
+        }
+        List<Game> games = new ArrayList<>(current.all.size() + added.size());
+        for (Game game : current.all) {
+            Game replacement = replacements.remove(game.getGameId());
+            games.add(replacement != null ? replacement : game);
+        }
+        for (Game game : added) {
+            if (replacements.containsKey(game.getGameId())) {
+                games.add(game);
+            }
+        }
+        snapshot = new Snapshot(games, current.loadedAt);
+    }
+
+    public synchronized void remove(int gameId) {
+        version++;
+        Snapshot current = snapshot;
+        if (current == null || !current.byId.containsKey(gameId)) {
+            return;
+        }
+        List<Game> games = new ArrayList<>(current.all.size());
+        for (Game game : current.all) {
+            if (game.getGameId() != gameId) {
+                games.add(game);
+            }
+        }
+        snapshot = new Snapshot(games, current.loadedAt);
+    }
+
+    // Drops the snapshot; the next read reloads from the database
+    public synchronized void invalidate() {
+        version++;
+        snapshot = null;
+    }
+}
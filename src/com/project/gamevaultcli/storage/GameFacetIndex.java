@@ -0,0 +1,328 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Filters, sorts and counts one snapshot of the catalog in memory, for
+ * GameStorage's filtered queries. Games are numbered by their position in
+ * the snapshot. Each platform and developer has a bitset of the positions
+ * having it, prices and release dates are kept sorted for range lookups, so
+ * a filter is a few bitset operations instead of a pass over every game.
+ * Facet counts tally a per-position value number over the matching bits.
+ *
+ * Sort orders are built the first time they are asked for. An index is
+ * never changed after it is built; GameStorage builds a new one when the
+ * catalog snapshot changes.
+ */
+public class GameFacetIndex {
+
+    // Nulls sort first ascending and last descending, as in MySQL
+    private static final Comparator<Object> VALUE_ORDER = Comparator.nullsFirst(GameFacetIndex::compareValues);
+
+    // One platform or developer facet: the distinct values, each one's positions, and each position's value
+    private static final class Facet {
+        private final String[] values;
+        private final BitSet[] positions;
+        private final int[] valueOf;
+
+        private Facet(Game[] games, Function<Game, String> field) {
+            TreeMap<String, BitSet> byValue = new TreeMap<>();
+            for (int position = 0; position < games.length; position++) {
+                String value = field.apply(games[position]);
+                if (value != null) {
+                    byValue.computeIfAbsent(value, v -> new BitSet(games.length)).set(position);
+                }
+            }
+            values = byValue.keySet().toArray(new String[0]);
+            positions = byValue.values().toArray(new BitSet[0]);
+            valueOf = new int[games.length];
+            Arrays.fill(valueOf, -1);
+            for (int v = 0; v < positions.length; v++) {
+                for (int position = positions[v].nextSetBit(0); position >= 0; position = positions[v]
+                        .nextSetBit(position + 1)) {
+                    valueOf[position] = v;
+                }
+            }
+        }
+
+        // The positions having any of the values; values not in the catalog match nothing
+        private BitSet anyOf(Collection<String> selected) {
+            BitSet union = new BitSet();
+            for (String value : selected) {
+                int v = Arrays.binarySearch(values, value);
+                if (v >= 0) {
+                    union.or(positions[v]);
+                }
+            }
+            return union;
+        }
+
+        // How many of the given positions have each value, in value order
+        private Map<String, Integer> count(BitSet matches) {
+            int[] counts = new int[values.length];
+            for (int position = matches.nextSetBit(0); position >= 0; position = matches.nextSetBit(position + 1)) {
+                if (valueOf[position] >= 0) {
+                    counts[valueOf[position]]++;
+                }
+            }
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (int v = 0; v < values.length; v++) {
+                result.put(values[v], counts[v]);
+            }
+            return result;
+        }
+    }
+
+    // Positions sorted by a long key, for range lookups
+    private static final class RangeIndex {
+        private final long[] keys;
+        private final int[] positions;
+
+        private RangeIndex(long[] keyOf) {
+            Integer[] sorted = new Integer[keyOf.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = i;
+            }
+            Arrays.sort(sorted, (a, b) -> Long.compare(keyOf[a], keyOf[b]));
+            keys = new long[sorted.length];
+            positions = new int[sorted.length];
+            for (int i = 0; i < sorted.length; i++) {
+                positions[i] = sorted[i];
+                keys[i] = keyOf[sorted[i]];
+            }
+        }
+
+        // The positions whose key is within [min, max]
+        private BitSet between(long min, long max) {
+            BitSet matches = new BitSet(positions.length);
+            for (int i = firstAtLeast(min); i < keys.length && keys[i] <= max; i++) {
+                matches.set(positions[i]);
+            }
+            return matches;
+        }
+
+        private int firstAtLeast(long key) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (keys[mid] < key) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    // Release date key of games without one; below every real date, so date ranges never include them
+    private static final long NO_RELEASE_DATE = Long.MIN_VALUE;
+
+    private final List<Game> catalog;
+    private final Game[] games;
+    private final Facet platforms;
+    private final Facet developers;
+    private final RangeIndex prices;
+    private final RangeIndex releaseDates;
+    // Positions in display order, keyed by sort column and direction
+    private final Map<String, int[]> orders = new ConcurrentHashMap<>();
+
+    /**
+     * Indexes a catalog snapshot.
+     *
+     * @param catalog The games, as returned by GameCatalogCache.getAll()
+     */
+    public GameFacetIndex(List<Game> catalog) {
+        this.catalog = catalog;
+        this.games = catalog.toArray(new Game[0]);
+        this.platforms = new Facet(games, Game::getPlatform);
+        this.developers = new Facet(games, Game::getDeveloper);
+        long[] priceOf = new long[games.length];
+        long[] releaseDateOf = new long[games.length];
+        for (int position = 0; position < games.length; position++) {
+            priceOf[position] = games[position].getPriceCents();
+            Date released = games[position].getReleaseDate();
+            releaseDateOf[position] = released != null ? released.getTime() : NO_RELEASE_DATE;
+        }
+        this.prices = new RangeIndex(priceOf);
+        this.releaseDates = new RangeIndex(releaseDateOf);
+    }
+
+    // True if this index was built from exactly this snapshot
+    public boolean isBuiltFrom(List<Game> snapshot) {
+        return catalog == snapshot;
+    }
+
+    public int count(GameFilter filter) {
+        return matching(filter).cardinality();
+    }
+
+    public GameFacets facets(GameFilter filter) {
+        BitSet matches = matching(filter);
+        BitSet anyPlatform = filter.getPlatforms().isEmpty() ? matches
+                : matching(filter.withPlatforms(null));
+        BitSet anyDeveloper = filter.getDevelopers().isEmpty() ? matches
+                : matching(filter.withDevelopers(null));
+        return new GameFacets(matches.cardinality(), platforms.count(anyPlatform), developers.count(anyDeveloper));
+    }
+
+    /**
+     * Reads one page of the matching games, in the same order and with the
+     * same cursors as DBUtil.executePage(): by the sort column, then by ID.
+     *
+     * @param sortableColumns The columns callers may sort by; others are rejected
+     */
+    public Page<Game> page(GameFilter filter, PageRequest request, Collection<String> sortableColumns) {
+        String column = request.getSortColumn();
+        if (!sortableColumns.contains(column)) {
+            throw new IllegalArgumentException("Cannot sort Games by " + column);
+        }
+        boolean ascending = request.isAscending();
+        int[] order = order(column, ascending);
+        BitSet matches = matching(filter);
+
+        int start = 0;
+        int skip = request.getOffset();
+        if (request.hasCursor()) {
+            // The first game after the cursor; the cursor's game may have been deleted since
+            Object afterValue = cursorValue(column, request.getAfterSortValue());
+            int afterId = request.getAfterId();
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                Game game = games[order[mid]];
+                if (compare(sortValue(game, column), game.getGameId(), afterValue, afterId, ascending) <= 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            start = low;
+            skip = 0;
+        }
+
+        List<Game> rows = new ArrayList<>(Math.min(request.getLimit(), games.length));
+        for (int i = start; i < order.length && rows.size() < request.getLimit(); i++) {
+            if (matches.get(order[i])) {
+                if (skip > 0) {
+                    skip--;
+                } else {
+                    rows.add(games[order[i]]);
+                }
+            }
+        }
+        if (rows.isEmpty()) {
+            return new Page<>(rows, null, null);
+        }
+        Game last = rows.get(rows.size() - 1);
+        return new Page<>(rows, sortValue(last, column), last.getGameId());
+    }
+
+    // The positions of the games matching a filter
+    private BitSet matching(GameFilter filter) {
+        BitSet matches = new BitSet(games.length);
+        matches.set(0, games.length);
+        if (!filter.getPlatforms().isEmpty()) {
+            matches.and(platforms.anyOf(filter.getPlatforms()));
+        }
+        if (!filter.getDevelopers().isEmpty()) {
+            matches.and(developers.anyOf(filter.getDevelopers()));
+        }
+        if (filter.getMinPriceCents() != null || filter.getMaxPriceCents() != null) {
+            matches.and(prices.between(
+                    filter.getMinPriceCents() != null ? filter.getMinPriceCents() : Long.MIN_VALUE,
+                    filter.getMaxPriceCents() != null ? filter.getMaxPriceCents() : Long.MAX_VALUE));
+        }
+        if (filter.getReleasedFrom() != null || filter.getReleasedTo() != null) {
+            matches.and(releaseDates.between(
+                    filter.getReleasedFrom() != null ? filter.getReleasedFrom().getTime() : NO_RELEASE_DATE + 1,
+                    filter.getReleasedTo() != null ? filter.getReleasedTo().getTime() : Long.MAX_VALUE));
+        }
+        return matches;
+    }
+
+    // The positions sorted for display, built on first use
+    private int[] order(String column, boolean ascending) {
+        return orders.computeIfAbsent(column + (ascending ? " ASC" : " DESC"), key -> {
+            Integer[] sorted = new Integer[games.length];
+            Object[] values = new Object[games.length];
+            for (int i = 0; i < sorted.length; i++) {
+                sorted[i] = i;
+                values[i] = sortValue(games[i], column);
+            }
+            Arrays.sort(sorted, (a, b) -> compare(values[a], games[a].getGameId(), values[b], games[b].getGameId(),
+                    ascending));
+            int[] order = new int[sorted.length];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = sorted[i];
+            }
+            return order;
+        });
+    }
+
+    // Orders by value in the given direction, then by ID ascending, like DBUtil.executePage()
+    private static int compare(Object value, int gameId, Object otherValue, int otherId, boolean ascending) {
+        int byValue = ascending ? VALUE_ORDER.compare(value, otherValue) : VALUE_ORDER.compare(otherValue, value);
+        return byValue != 0 ? byValue : Integer.compare(gameId, otherId);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static int compareValues(Object a, Object b) {
+        if (a instanceof String) {
+            // Case-insensitive, like the database's default collation
+            return String.CASE_INSENSITIVE_ORDER.compare((String) a, (String) b);
+        }
+        return ((Comparable) a).compareTo(b);
+    }
+
+    private static Object sortValue(Game game, String column) {
+        switch (column) {
+            case "gameId":
+                return game.getGameId();
+            case "title":
+                return game.getTitle();
+            case "developer":
+                return game.getDeveloper();
+            case "platform":
+                return game.getPlatform();
+            case "price":
+                return game.getPriceCents();
+            case "releaseDate":
+                return game.getReleaseDate() != null ? game.getReleaseDate().getTime() : null;
+            default:
+                throw new IllegalArgumentException("Cannot sort Games by " + column);
+        }
+    }
+
+    // Converts a cursor value to the type sortValue() uses, in case it came from a database page
+    private static Object cursorValue(String column, Object value) {
+        if (value instanceof BigDecimal && column.equals("price")) {
+            return Money.fromDecimal((BigDecimal) value);
+        }
+        if (value instanceof Date) {
+            return ((Date) value).getTime();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,557 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.Game;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over the catalog's titles, developers, platforms
+ * and descriptions, used by GameStorage to search games.
+ *
+ * Text is split into lowercase words. Each word maps to the games containing
+ * it, with a bit per field it appears in. A query matches the games that
+ * contain all of its words, the last one as a prefix so results update while
+ * the user types. Matching walks each word's postings once, marking games in
+ * arrays indexed by a slot number each game gets, so a query costs one pass
+ * over the postings it uses and never looks games up one by one; the arrays
+ * are kept per thread and reused.
+ *
+ * Games matching without their description rank first, scored by where the
+ * words were found (title, then developer, then platform) and then by
+ * whether the last word matched whole. Those fields are short, so they are
+ * also indexed on their own and most queries never touch the much larger
+ * description postings; descriptions are only searched when the other
+ * fields don't fill the requested number of results.
+ *
+ * GameStorage updates the index on every local change and syncs it with each
+ * catalog reload; a sync only re-indexes games whose text changed. Searches
+ * share a read lock, so they run in parallel and only wait for updates.
+ */
+public class GameSearchIndex {
+
+    // Field bits and the score a word earns for appearing in each. Each
+    // weight outweighs all the lower ones together, so fields rank in order.
+    private static final int TITLE = 1;
+    private static final int DEVELOPER = 2;
+    private static final int PLATFORM = 4;
+    private static final int DESCRIPTION = 8;
+    private static final int TITLE_WEIGHT = 8;
+    private static final int DEVELOPER_WEIGHT = 4;
+    private static final int PLATFORM_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    // Added to games that match without their description, above any score from the fields
+    private static final int PRIMARY_MATCH_BONUS = 1 << 20;
+
+    // Words of a query after this many are ignored
+    private static final int MAX_QUERY_WORDS = 32;
+
+    // The slots of the games containing a word, ascending, and the fields it is in
+    private static final class Postings {
+        // The one copy of the word shared by everything that refers to it
+        private final String word;
+        private int[] slots = new int[2];
+        private byte[] fields = new byte[2];
+        private int size = 0;
+
+        private Postings(String word) {
+            this.word = word;
+        }
+
+        private void add(int slot, int fieldBits) {
+            int at = size;
+            // Games are mostly indexed in slot order, so this is usually an append
+            if (size > 0 && slot <= slots[size - 1]) {
+                at = Arrays.binarySearch(slots, 0, size, slot);
+                if (at >= 0) {
+                    fields[at] |= fieldBits;
+                    return;
+                }
+                at = -at - 1;
+            }
+            if (size == slots.length) {
+                slots = Arrays.copyOf(slots, size * 2);
+                fields = Arrays.copyOf(fields, size * 2);
+            }
+            System.arraycopy(slots, at, slots, at + 1, size - at);
+            System.arraycopy(fields, at, fields, at + 1, size - at);
+            slots[at] = slot;
+            fields[at] = (byte) fieldBits;
+            size++;
+        }
+
+        private void remove(int slot) {
+            int at = Arrays.binarySearch(slots, 0, size, slot);
+            if (at >= 0) {
+                System.arraycopy(slots, at + 1, slots, at, size - at - 1);
+                System.arraycopy(fields, at + 1, fields, at, size - at - 1);
+                size--;
+            }
+        }
+    }
+
+    // The games matching a query in one WordIndex, by slot, with their scores
+    private static final class Matches {
+        private final int[] slots;
+        private final int[] scores;
+        private final int size;
+
+        private Matches(int[] slots, int[] scores, int size) {
+            this.slots = slots;
+            this.scores = scores;
+            this.size = size;
+        }
+    }
+
+    private static final Matches NO_MATCHES = new Matches(new int[0], new int[0], 0);
+
+    // Postings for one set of fields
+    private static final class WordIndex {
+        private final Map<String, Postings> postings = new HashMap<>();
+        // Every indexed word, sorted, for prefix lookups
+        private final NavigableSet<String> vocabulary = new TreeSet<>();
+        // The words indexed for each slot, to remove them again
+        private final Map<Integer, String[]> wordsBySlot = new HashMap<>();
+
+        private void add(int slot, Map<String, Integer> words) {
+            String[] indexed = new String[words.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> word : words.entrySet()) {
+                Postings list = postings.get(word.getKey());
+                if (list == null) {
+                    list = new Postings(word.getKey());
+                    postings.put(list.word, list);
+                    vocabulary.add(list.word);
+                }
+                list.add(slot, word.getValue());
+                indexed[i++] = list.word;
+            }
+            wordsBySlot.put(slot, indexed);
+        }
+
+        private void remove(int slot) {
+            String[] words = wordsBySlot.remove(slot);
+            if (words == null) {
+                return;
+            }
+            for (String word : words) {
+                Postings list = postings.get(word);
+                list.remove(slot);
+                if (list.size == 0) {
+                    postings.remove(word);
+                    vocabulary.remove(word);
+                }
+            }
+        }
+
+        /**
+         * Finds the games containing every whole word and a word starting
+         * with the prefix. The rarest whole word's postings make the
+         * candidates and each other word's postings keep the candidates that
+         * contain it; the prefix's postings go last, so only a query that is
+         * just a prefix collects candidates from them.
+         */
+        private Matches match(List<String> words, String prefix, Scratch scratch) {
+            Postings[] lists = new Postings[words.size()];
+            for (int w = 0; w < lists.length; w++) {
+                lists[w] = postings.get(words.get(w));
+                if (lists[w] == null) {
+                    return NO_MATCHES;
+                }
+            }
+            NavigableSet<String> prefixWords = vocabulary.subSet(prefix, true, prefix + Character.MAX_VALUE, false);
+            if (prefixWords.isEmpty()) {
+                return NO_MATCHES;
+            }
+            Arrays.sort(lists, (a, b) -> Integer.compare(a.size, b.size));
+
+            // Whole-word scores are summed above the low byte, which keeps the prefix's best score
+            int[] scores = scratch.scores;
+            // How many of the query's words each game matched so far
+            byte[] matched = scratch.matched;
+            int[] candidates = new int[lists.length > 0 ? Math.max(1, lists[0].size) : 16];
+            int candidateCount = 0;
+            for (int w = 0; w < lists.length; w++) {
+                Postings list = lists[w];
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    if (matched[slot] == w) {
+                        if (w == 0) {
+                            candidates[candidateCount++] = slot;
+                        }
+                        matched[slot]++;
+                        scores[slot] += score(list.fields[i], true) << 8;
+                    }
+                }
+            }
+
+            for (String word : prefixWords) {
+                Postings list = postings.get(word);
+                boolean whole = word.length() == prefix.length();
+                for (int i = 0; i < list.size; i++) {
+                    int slot = list.slots[i];
+                    int score = score(list.fields[i], whole);
+                    if (matched[slot] == lists.length) {
+                        if (lists.length == 0) {
+                            if (candidateCount == candidates.length) {
+                                candidates = Arrays.copyOf(candidates, candidateCount * 2);
+                            }
+                            candidates[candidateCount++] = slot;
+                        }
+                        matched[slot]++;
+                        scores[slot] += score;
+                    } else if (matched[slot] == lists.length + 1 && score > (scores[slot] & 0xFF)) {
+                        scores[slot] += score - (scores[slot] & 0xFF);
+                    }
+                }
+            }
+
+            int[] matchScores = new int[candidateCount];
+            int size = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int slot = candidates[c];
+                if (matched[slot] == lists.length + 1) {
+                    candidates[size] = slot;
+                    matchScores[size++] = (scores[slot] >>> 8) + (scores[slot] & 0xFF);
+                }
+                // Every slot written to is a candidate, so this leaves the scratch arrays zeroed
+                scores[slot] = 0;
+                matched[slot] = 0;
+            }
+            return new Matches(candidates, matchScores, size);
+        }
+    }
+
+    // Per-thread arrays indexed by slot, all zero between searches
+    private static final class Scratch {
+        private int[] scores = new int[0];
+        private byte[] matched = new byte[0];
+        private int[] primaryScores = new int[0];
+
+        private Scratch ensureCapacity(int slotCount) {
+            if (scores.length < slotCount) {
+                scores = new int[slotCount];
+                matched = new byte[slotCount];
+                primaryScores = new int[slotCount];
+            }
+            return this;
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    // Where a game is in the slot arrays, and the text it was indexed with to skip games a sync
+    // finds unchanged. The hash is a quick first check; equal hashes are confirmed on the text.
+    private static final class IndexedGame {
+        private final int slot;
+        private final int textHash;
+        private final String title;
+        private final String description;
+        private final String developer;
+        private final String platform;
+
+        private IndexedGame(int slot, int textHash, Game game) {
+            this.slot = slot;
+            this.textHash = textHash;
+            this.title = game.getTitle();
+            this.description = game.getDescription();
+            this.developer = game.getDeveloper();
+            this.platform = game.getPlatform();
+        }
+
+        private boolean sameText(int hash, Game game) {
+            return textHash == hash
+                    && Objects.equals(title, game.getTitle())
+                    && Objects.equals(description, game.getDescription())
+                    && Objects.equals(developer, game.getDeveloper())
+                    && Objects.equals(platform, game.getPlatform());
+        }
+    }
+
+    private final WordIndex primary = new WordIndex();
+    private final WordIndex all = new WordIndex();
+    private final Map<Integer, IndexedGame> games = new HashMap<>();
+    // The game ID in each slot; slots of removed games are reused
+    private int[] gameIds = new int[16];
+    private int slotCount = 0;
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Adds a game, or re-indexes it if its text changed
+    public void put(Game game) {
+        lock.writeLock().lock();
+        try {
+            index(game);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void putAll(Collection<Game> games) {
+        lock.writeLock().lock();
+        try {
+            for (Game game : games) {
+                index(game);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int gameId) {
+        lock.writeLock().lock();
+        try {
+            unindex(gameId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Makes the index match a freshly loaded catalog: games whose text
+     * changed are re-indexed and games no longer in it are removed.
+     */
+    public void sync(Collection<Game> catalog) {
+        Set<Integer> catalogIds = new HashSet<>(catalog.size() * 2);
+        for (Game game : catalog) {
+            catalogIds.add(game.getGameId());
+        }
+        lock.writeLock().lock();
+        try {
+            for (Game game : catalog) {
+                index(game);
+            }
+            List<Integer> removed = new ArrayList<>();
+            for (Integer gameId : games.keySet()) {
+                if (!catalogIds.contains(gameId)) {
+                    removed.add(gameId);
+                }
+            }
+            for (int gameId : removed) {
+                unindex(gameId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return games.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the games matching a query, best match first.
+     *
+     * @param query Words to look for; the last one may be incomplete
+     * @param limit The maximum number of results
+     * @return The IDs of the matching games
+     */
+    public int[] search(String query, int limit) {
+        Set<String> tokens = new LinkedHashSet<>();
+        forEachWord(query, tokens::add);
+        List<String> words = new ArrayList<>(tokens);
+        if (words.isEmpty() || limit <= 0) {
+            return new int[0];
+        }
+        String prefix = words.remove(words.size() - 1);
+        if (words.size() >= MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS - 1);
+        }
+
+        lock.readLock().lock();
+        try {
+            Scratch scratch = SCRATCH.get().ensureCapacity(slotCount);
+            Matches primaryMatches = primary.match(words, prefix, scratch);
+            if (primaryMatches.size >= limit) {
+                return top(primaryMatches, limit);
+            }
+
+            // Not enough matches without descriptions: search them too, keeping the primary matches first
+            Matches matches = all.match(words, prefix, scratch);
+            int[] primaryScores = scratch.primaryScores;
+            for (int i = 0; i < primaryMatches.size; i++) {
+                primaryScores[primaryMatches.slots[i]] = primaryMatches.scores[i] + PRIMARY_MATCH_BONUS;
+            }
+            for (int i = 0; i < matches.size; i++) {
+                int primaryScore = primaryScores[matches.slots[i]];
+                if (primaryScore > 0) {
+                    matches.scores[i] = primaryScore;
+                }
+            }
+            for (int i = 0; i < primaryMatches.size; i++) {
+                primaryScores[primaryMatches.slots[i]] = 0;
+            }
+            return top(matches, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The IDs of the best matches, best first; ties go to the lower ID.
+     * Keeps a min-heap of (score, -ID) packed into longs. Must hold the lock.
+     */
+    private int[] top(Matches matches, int limit) {
+        long[] heap = new long[Math.min(limit, matches.size)];
+        int heapSize = 0;
+        for (int i = 0; i < matches.size; i++) {
+            long entry = (long) matches.scores[i] << 32 | (Integer.MAX_VALUE - gameIds[matches.slots[i]]);
+            if (heapSize < heap.length) {
+                heap[heapSize++] = entry;
+                siftUp(heap, heapSize - 1);
+            } else if (entry > heap[0]) {
+                heap[0] = entry;
+                siftDown(heap, heapSize);
+            }
+        }
+        Arrays.sort(heap, 0, heapSize);
+        int[] result = new int[heapSize];
+        for (int i = 0; i < heapSize; i++) {
+            result[i] = Integer.MAX_VALUE - (int) heap[heapSize - 1 - i];
+        }
+        return result;
+    }
+
+    private static void siftUp(long[] heap, int at) {
+        while (at > 0) {
+            int parent = (at - 1) / 2;
+            if (heap[parent] <= heap[at]) {
+                return;
+            }
+            long swap = heap[parent];
+            heap[parent] = heap[at];
+            heap[at] = swap;
+            at = parent;
+        }
+    }
+
+    private static void siftDown(long[] heap, int heapSize) {
+        int at = 0;
+        while (true) {
+            int smallest = at;
+            int left = at * 2 + 1;
+            int right = left + 1;
+            if (left < heapSize && heap[left] < heap[smallest]) {
+                smallest = left;
+            }
+            if (right < heapSize && heap[right] < heap[smallest]) {
+                smallest = right;
+            }
+            if (smallest == at) {
+                return;
+            }
+            long swap = heap[smallest];
+            heap[smallest] = heap[at];
+            heap[at] = swap;
+            at = smallest;
+        }
+    }
+
+    // Where a word was found decides the score; matching whole only breaks ties
+    private static int score(int fieldBits, boolean whole) {
+        return weight(fieldBits) * 2 + (whole ? 1 : 0);
+    }
+
+    private static int weight(int fieldBits) {
+        int weight = 0;
+        if ((fieldBits & TITLE) != 0) {
+            weight += TITLE_WEIGHT;
+        }
+        if ((fieldBits & DEVELOPER) != 0) {
+            weight += DEVELOPER_WEIGHT;
+        }
+        if ((fieldBits & PLATFORM) != 0) {
+            weight += PLATFORM_WEIGHT;
+        }
+        if ((fieldBits & DESCRIPTION) != 0) {
+            weight += DESCRIPTION_WEIGHT;
+        }
+        return weight;
+    }
+
+    // Must hold the write lock
+    private void index(Game game) {
+        int gameId = game.getGameId();
+        int textHash = Objects.hash(game.getTitle(), game.getDescription(), game.getDeveloper(), game.getPlatform());
+        IndexedGame previous = games.get(gameId);
+        if (previous != null) {
+            if (previous.sameText(textHash, game)) {
+                return;
+            }
+            unindex(gameId);
+        }
+
+        int slot;
+        if (!freeSlots.isEmpty()) {
+            slot = freeSlots.pop();
+        } else {
+            if (slotCount == gameIds.length) {
+                gameIds = Arrays.copyOf(gameIds, slotCount * 2);
+            }
+            slot = slotCount++;
+        }
+        gameIds[slot] = gameId;
+
+        Map<String, Integer> words = new HashMap<>();
+        addWords(words, game.getTitle(), TITLE);
+        addWords(words, game.getDeveloper(), DEVELOPER);
+        addWords(words, game.getPlatform(), PLATFORM);
+        primary.add(slot, words);
+        addWords(words, game.getDescription(), DESCRIPTION);
+        all.add(slot, words);
+        games.put(gameId, new IndexedGame(slot, textHash, game));
+    }
+
+    // Must hold the write lock
+    private void unindex(int gameId) {
+        IndexedGame game = games.remove(gameId);
+        if (game != null) {
+            primary.remove(game.slot);
+            all.remove(game.slot);
+            freeSlots.push(game.slot);
+        }
+    }
+
+    private static void addWords(Map<String, Integer> words, String text, int field) {
+        forEachWord(text, word -> words.merge(word, field, (a, b) -> a | b));
+    }
+
+    // Passes each lowercase word of a text (runs of letters and digits) to the consumer
+    private static void forEachWord(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                consumer.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+}
@@ -3,76 +3,382 @@ package com.project.gamevaultcli.storage;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.interfaces.StorageInterface;
 import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import java.io.IOException;
 import java.sql.Date;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class GameStorage implements StorageInterface<Game, Integer> {
 
+    // Rows read per query by forEach()
+    private static final int FOR_EACH_BATCH_SIZE = 500;
+
+    // Columns the admin tables can sort by
+    public static final List<String> SORTABLE_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            "gameId", "title", "developer", "platform", "price", "releaseDate"));
+
+    // How long the cached catalog is trusted before it is reloaded, so edits
+    // made by other application instances show up
+    private static final long DEFAULT_CATALOG_TTL_MILLIS = 60 * 1000L;
+
+    private final GameCatalogCache catalogCache;
+    private final Object catalogReloadLock = new Object();
+    private final OwnershipIndex ownershipIndex = new OwnershipIndex();
+    private final GameSearchIndex searchIndex = new GameSearchIndex();
+    // Built from the current catalog snapshot on first use after it changes
+    private volatile GameFacetIndex facetIndex;
+    private final Object facetIndexLock = new Object();
+
+    public GameStorage() {
+        this(DEFAULT_CATALOG_TTL_MILLIS);
+    }
+
+    public GameStorage(long catalogTtlMillis) {
+        this.catalogCache = new GameCatalogCache(catalogTtlMillis);
+    }
+
     @Override
     public Game findById(Integer gameId) {
+        if (loadCatalog() != null) {
+            Game cached = catalogCache.get(gameId);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        // Not in the catalog yet (e.g. added by another instance), ask the database
         String sql = "SELECT * FROM Games WHERE gameId = ?";
         try {
             List<Game> games = DBUtil.executeQuery(sql, rs -> mapResultSetToGame(rs), gameId);
-            return games.isEmpty() ? null : games.get(0);
+            if (games.isEmpty()) {
+                return null;
+            }
+            catalogCache.put(games.get(0));
+            searchIndex.put(games.get(0));
+            return games.get(0);
         } catch (SQLException | IOException e) {
             System.err.println("Error finding game by ID: " + e.getMessage());
             return null;
         }
     }
 
+    /**
+     * Returns every game from the in-memory catalog, loading it from the
+     * database when it is missing or older than the TTL.
+     * The returned list is immutable.
+     */
     @Override
     public List<Game> findAll() {
-        String sql = "SELECT * FROM Games";
+        return loadCatalog();
+    }
+
+    // Returns the cached catalog, reloading it first if it is missing or stale.
+    // Only one thread reloads at a time; the others wait and reuse its result.
+    private List<Game> loadCatalog() {
+        if (catalogCache.isFresh()) {
+            return catalogCache.getAll();
+        }
+        synchronized (catalogReloadLock) {
+            if (catalogCache.isFresh()) {
+                return catalogCache.getAll();
+            }
+            String sql = "SELECT * FROM Games";
+            long versionAtLoad = catalogCache.getVersion();
+            try {
+                List<Game> games = DBUtil.executeQuery(sql, rs -> mapResultSetToGame(rs));
+                catalogCache.load(games, versionAtLoad);
+                List<Game> cached = catalogCache.getAll();
+                // A write landing between getAll() and the sync can leave a game's old text
+                // indexed until the next reload; search results are only as fresh as the catalog
+                searchIndex.sync(cached != null ? cached : games);
+                return cached != null ? cached : Collections.unmodifiableList(games);
+            } catch (SQLException | IOException e) {
+                // Keep serving the stale catalog if we have one
+                System.err.println("Error finding all games: " + e.getMessage());
+                return catalogCache.getAll();
+            }
+        }
+    }
+
+    /**
+     * Searches the catalog's titles, developers, platforms and descriptions.
+     * The last word of the query matches as a prefix, so this suits
+     * search-as-you-type.
+     *
+     * @param query The words to look for
+     * @param limit The maximum number of games to return
+     * @return The matching games, best match first
+     */
+    public List<Game> search(String query, int limit) {
+        if (loadCatalog() == null) {
+            return Collections.emptyList();
+        }
+        List<Game> games = new ArrayList<>();
+        for (int gameId : searchIndex.search(query, limit)) {
+            Game game = catalogCache.get(gameId);
+            if (game != null) {
+                games.add(game);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Reads one page of the games matching a filter, sorted by one of
+     * {@link #SORTABLE_COLUMNS}. Filtering and sorting run on the in-memory
+     * catalog, with the same order and cursors as {@link #findPage(PageRequest)}.
+     *
+     * @return The page, or null if the catalog can't be read
+     */
+    public Page<Game> findPage(GameFilter filter, PageRequest request) {
+        GameFacetIndex index = facetIndex();
+        return index != null ? index.page(filter, request, SORTABLE_COLUMNS) : null;
+    }
+
+    // Count the games matching a filter; returns -1 if the catalog can't be read
+    public long count(GameFilter filter) {
+        GameFacetIndex index = facetIndex();
+        return index != null ? index.count(filter) : -1;
+    }
+
+    // Count the games matching a filter per platform and developer; null if the catalog can't be read
+    public GameFacets findFacets(GameFilter filter) {
+        GameFacetIndex index = facetIndex();
+        return index != null ? index.facets(filter) : null;
+    }
+
+    // Returns the facet index of the current catalog, rebuilding it if the catalog changed
+    private GameFacetIndex facetIndex() {
+        List<Game> catalog = loadCatalog();
+        if (catalog == null) {
+            return null;
+        }
+        GameFacetIndex index = facetIndex;
+        if (index != null && index.isBuiltFrom(catalog)) {
+            return index;
+        }
+        synchronized (facetIndexLock) {
+            index = facetIndex;
+            if (index == null || !index.isBuiltFrom(catalog)) {
+                index = new GameFacetIndex(catalog);
+                facetIndex = index;
+            }
+            return index;
+        }
+    }
+
+    // Count games in the database; returns -1 if the query fails
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM Games";
         try {
-            return DBUtil.executeQuery(sql, rs -> mapResultSetToGame(rs));
+            return DBUtil.executeQuery(sql, rs -> rs.getLong(1)).get(0);
         } catch (SQLException | IOException e) {
-            System.err.println("Error finding all games: " + e.getMessage());
-            return null;
+            System.err.println("Error counting games: " + e.getMessage());
+            return -1;
         }
     }
 
-    // Find all games owned by a specific user from completed orders
+    // Drops the cached catalog so the next read goes to the database
+    public void invalidateCatalog() {
+        catalogCache.invalidate();
+    }
+
+    // Find all games owned by a specific user from completed orders.
+    // Ownership comes from the OwnershipIndex and the game rows from the catalog cache.
     public List<Game> findOwnedGamesByUser(Integer userId) {
-        // Use OrderItems table to find games that have been purchased by this user
-        String sql = "SELECT DISTINCT g.* FROM Games g " +
-                "JOIN OrderItems oi ON g.gameId = oi.gameId " +
-                "JOIN Orders o ON oi.orderId = o.orderId " +
-                "WHERE o.userId = ?";
+        List<Game> ownedGames = new ArrayList<>();
+        BitSet owned = ownershipIndex.getOwned(userId);
+        for (int gameId = owned.nextSetBit(0); gameId >= 0; gameId = owned.nextSetBit(gameId + 1)) {
+            Game game = findById(gameId);
+            if (game != null) {
+                ownedGames.add(game);
+            }
+        }
+        return ownedGames;
+    }
+
+    // The IDs of the games a user owns, as a bitset that must not be modified
+    public BitSet findOwnedGameIds(int userId) {
+        return ownershipIndex.getOwned(userId);
+    }
 
+    // Check if a user owns a game without touching the database once their
+    // owned games are loaded
+    public boolean isOwnedByUser(int userId, int gameId) {
+        return ownershipIndex.isOwned(userId, gameId);
+    }
+
+    // Record games bought by a committed order so ownership checks see them
+    public void recordOwnedGames(int userId, List<Integer> gameIds) {
+        ownershipIndex.recordPurchase(userId, gameIds);
+    }
+
+    /**
+     * Reads one page of games, sorted by one of {@link #SORTABLE_COLUMNS}.
+     *
+     * @param request Which page to read
+     * @return The page, or null if the query fails
+     */
+    public Page<Game> findPage(PageRequest request) {
+        try {
+            return DBUtil.executePage("Games", "gameId", SORTABLE_COLUMNS, request, rs -> mapResultSetToGame(rs));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading a page of games: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<Game> findPage(Integer afterId, int limit) {
+        String sql = "SELECT * FROM Games WHERE gameId > ? ORDER BY gameId LIMIT ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToGame(rs), afterId != null ? afterId : 0, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding a page of games: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Game> action) {
         try {
-            return DBUtil.executeQuery(sql, rs -> mapResultSetToGame(rs), userId);
+            DBUtil.forEachByKeyset("Games", "gameId", FOR_EACH_BATCH_SIZE, rs -> mapResultSetToGame(rs), action);
+            return true;
         } catch (SQLException | IOException e) {
-            System.err.println("Error finding owned games for user: " + e.getMessage());
-            e.printStackTrace();
-            return new ArrayList<>();
+            System.err.println("Error reading all games: " + e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * Streams every game to an action, reading through a database cursor
+     * rather than building a list. Failures are thrown, including those of the
+     * action, so a caller writing a file can stop and report them.
+     *
+     * @param action Receives the games in ID order
+     * @return The number of games read
+     */
+    public long streamAll(DBUtil.RowCallback<? super Game> action) throws SQLException, IOException {
+        String sql = "SELECT * FROM Games ORDER BY gameId";
+        return DBUtil.executeStreamingQuery(sql, rs -> mapResultSetToGame(rs), action);
+    }
+
     @Override
     public void save(Game game) {
         String sql = "INSERT INTO Games (title, description, developer, platform, price, releaseDate) VALUES (?, ?, ?, ?, ?, ?)";
         try (ResultSet generatedKeys = DBUtil.executeInsert(sql, game.getTitle(), game.getDescription(),
-                game.getDeveloper(), game.getPlatform(), game.getPrice(), new Date(game.getReleaseDate().getTime()))) {
+                game.getDeveloper(), game.getPlatform(), Money.toDecimal(game.getPriceCents()), new Date(game.getReleaseDate().getTime()))) {
 
             if (generatedKeys.next()) {
                 game.setGameId(generatedKeys.getInt(1));
+                catalogCache.put(game);
+                searchIndex.put(game);
             }
         } catch (SQLException | IOException e) {
             System.err.println("Error saving game: " + e.getMessage());
         }
     }
 
+    /**
+     * Inserts many games using JDBC batches and sets their generated IDs.
+     * Either every game is inserted or none is.
+     *
+     * @param games The games to insert
+     * @return true if the games were saved
+     */
+    public boolean saveAll(List<Game> games) {
+        String sql = "INSERT INTO Games (title, description, developer, platform, price, releaseDate) VALUES (?, ?, ?, ?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>(games.size());
+        for (Game game : games) {
+            rows.add(new Object[] { game.getTitle(), game.getDescription(), game.getDeveloper(), game.getPlatform(),
+                    Money.toDecimal(game.getPriceCents()), game.getReleaseDate() != null ? new Date(game.getReleaseDate().getTime()) : null });
+        }
+        try {
+            List<Integer> gameIds = DBUtil.executeBatchInsert(sql, rows);
+            for (int i = 0; i < games.size() && i < gameIds.size(); i++) {
+                games.get(i).setGameId(gameIds.get(i));
+            }
+            catalogCache.putAll(games);
+            searchIndex.putAll(games);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error saving games: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes many games in one transaction. Games with an ID are inserted
+     * under that ID or, if the ID already exists, overwrite the existing row;
+     * games without an ID are inserted and given a generated one.
+     *
+     * The catalog cache and search index aren't updated, since copying the
+     * catalog snapshot for every chunk of a large import costs O(catalog)
+     * each time; call {@link #invalidateCatalog()} once all chunks are
+     * written.
+     *
+     * @param games The games to write
+     * @return true if the games were written
+     */
+    public boolean upsertAll(List<Game> games) {
+        String upsertSql = "INSERT INTO Games (gameId, title, description, developer, platform, price, releaseDate) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE title = VALUES(title), description = VALUES(description), " +
+                "developer = VALUES(developer), platform = VALUES(platform), price = VALUES(price), " +
+                "releaseDate = VALUES(releaseDate)";
+        String insertSql = "INSERT INTO Games (title, description, developer, platform, price, releaseDate) VALUES (?, ?, ?, ?, ?, ?)";
+
+        List<Object[]> upsertRows = new ArrayList<>();
+        List<Object[]> insertRows = new ArrayList<>();
+        List<Game> inserted = new ArrayList<>();
+        for (Game game : games) {
+            Date releaseDate = game.getReleaseDate() != null ? new Date(game.getReleaseDate().getTime()) : null;
+            if (game.getGameId() > 0) {
+                upsertRows.add(new Object[] { game.getGameId(), game.getTitle(), game.getDescription(),
+                        game.getDeveloper(), game.getPlatform(), Money.toDecimal(game.getPriceCents()), releaseDate });
+            } else {
+                insertRows.add(new Object[] { game.getTitle(), game.getDescription(), game.getDeveloper(),
+                        game.getPlatform(), Money.toDecimal(game.getPriceCents()), releaseDate });
+                inserted.add(game);
+            }
+        }
+
+        try {
+            List<Integer> gameIds = DBUtil.executeInTransaction(conn -> {
+                DBUtil.executeBatch(upsertSql, upsertRows);
+                return DBUtil.executeBatchInsert(insertSql, insertRows);
+            });
+            for (int i = 0; i < inserted.size() && i < gameIds.size(); i++) {
+                inserted.get(i).setGameId(gameIds.get(i));
+            }
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error writing games: " + e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public void update(Game game) {
         String sql = "UPDATE Games SET title = ?, description = ?, developer = ?, platform = ?, price = ?, releaseDate = ? WHERE gameId = ?";
         try {
-            DBUtil.executeUpdate(sql, game.getTitle(), game.getDescription(), game.getDeveloper(), game.getPlatform(),
-                    game.getPrice(), new Date(game.getReleaseDate().getTime()), game.getGameId());
+            int rows = DBUtil.executeUpdate(sql, game.getTitle(), game.getDescription(), game.getDeveloper(),
+                    game.getPlatform(), Money.toDecimal(game.getPriceCents()), new Date(game.getReleaseDate().getTime()), game.getGameId());
+            if (rows > 0) {
+                catalogCache.put(game);
+                searchIndex.put(game);
+            }
         } catch (SQLException | IOException e) {
             System.err.println("Error updating game: " + e.getMessage());
         }
@@ -83,6 +389,8 @@ public class GameStorage implements StorageInterface<Game, Integer> {
         String sql = "DELETE FROM Games WHERE gameId = ?";
         try {
             DBUtil.executeUpdate(sql, gameId);
+            catalogCache.remove(gameId);
+            searchIndex.remove(gameId);
         } catch (SQLException | IOException e) {
             System.err.println("Error deleting game: " + e.getMessage());
         }
@@ -95,7 +403,7 @@ public class GameStorage implements StorageInterface<Game, Integer> {
                 rs.getString("description"),
                 rs.getString("developer"),
                 rs.getString("platform"),
-                rs.getFloat("price"),
+                Money.fromDecimal(rs.getBigDecimal("price")),
                 rs.getDate("releaseDate"));
     }
 }
\ No newline at end of file
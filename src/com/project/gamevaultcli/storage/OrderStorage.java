@@ -1,17 +1,32 @@
 package com.project.gamevaultcli.storage;
 
+import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
 import com.project.gamevaultcli.interfaces.StorageInterface;
 import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class OrderStorage implements StorageInterface<Order, Integer>{
 
+    // Rows read per query by forEach()
+    private static final int FOR_EACH_BATCH_SIZE = 500;
+
+    // Columns the admin tables can sort by
+    public static final List<String> SORTABLE_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            "orderId", "userId", "totalAmount", "orderDate"));
+
     @Override
     public Order findById(Integer orderId) {
         String sql = "SELECT * FROM Orders WHERE orderId = ?";
@@ -35,24 +50,176 @@ public class OrderStorage implements StorageInterface<Order, Integer>{
         }
     }
 
+    // Find all orders placed by a user, oldest first
+    public List<Order> findByUserId(int userId) {
+        String sql = "SELECT * FROM Orders WHERE userId = ? ORDER BY orderDate, orderId";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToOrder(rs), userId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding orders for user: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds one page of a user's orders, newest first.
+     * Pass the smallest orderId of the previous page as beforeOrderId to get
+     * the next page, or null for the first page.
+     *
+     * @param userId        The user whose orders to fetch
+     * @param beforeOrderId Only return orders with a smaller ID, or null
+     * @param limit         Maximum number of orders to return
+     */
+    public List<Order> findByUserId(int userId, Integer beforeOrderId, int limit) {
+        String sql = "SELECT * FROM Orders WHERE userId = ? AND orderId < ? ORDER BY orderId DESC LIMIT ?";
+        try {
+            int before = beforeOrderId != null ? beforeOrderId : Integer.MAX_VALUE;
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToOrder(rs), userId, before, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding orders for user: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds a user's orders together with the titles of the games in each
+     * order, oldest first, in a single query over Orders, OrderItems and Games.
+     *
+     * @param userId The user whose order history to fetch
+     * @return Orders with getGameTitles() filled in
+     */
+    public List<Order> findOrderHistoryByUser(int userId) {
+        String sql = "SELECT o.*, g.title FROM Orders o " +
+                "LEFT JOIN OrderItems oi ON oi.orderId = o.orderId " +
+                "LEFT JOIN Games g ON g.gameId = oi.gameId " +
+                "WHERE o.userId = ? " +
+                "ORDER BY o.orderDate, o.orderId, oi.orderItemId";
+        try {
+            // One row per order item; fold consecutive rows of the same order together
+            List<Order> rows = DBUtil.executeQuery(sql, rs -> {
+                Order order = mapResultSetToOrder(rs);
+                String title = rs.getString("title");
+                if (title != null) {
+                    order.getGameTitles().add(title);
+                }
+                return order;
+            }, userId);
+
+            List<Order> history = new ArrayList<>();
+            Order current = null;
+            for (Order row : rows) {
+                if (current != null && current.getOrderId() == row.getOrderId()) {
+                    current.getGameTitles().addAll(row.getGameTitles());
+                } else {
+                    current = row;
+                    history.add(current);
+                }
+            }
+            return history;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding order history for user: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Count orders in the database; returns -1 if the query fails
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM Orders";
+        try {
+            return DBUtil.executeQuery(sql, rs -> rs.getLong(1)).get(0);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error counting orders: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads one page of orders, sorted by one of {@link #SORTABLE_COLUMNS}.
+     *
+     * @param request Which page to read
+     * @return The page, or null if the query fails
+     */
+    public Page<Order> findPage(PageRequest request) {
+        try {
+            return DBUtil.executePage("Orders", "orderId", SORTABLE_COLUMNS, request, rs -> mapResultSetToOrder(rs));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading a page of orders: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<Order> findPage(Integer afterId, int limit) {
+        String sql = "SELECT * FROM Orders WHERE orderId > ? ORDER BY orderId LIMIT ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToOrder(rs), afterId != null ? afterId : 0, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding a page of orders: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Order> action) {
+        try {
+            DBUtil.forEachByKeyset("Orders", "orderId", FOR_EACH_BATCH_SIZE, rs -> mapResultSetToOrder(rs), action);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading all orders: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Streams every order to an action, reading through a database cursor
+     * rather than building a list. Failures are thrown, including those of the
+     * action, so a caller writing a file can stop and report them.
+     *
+     * @param action Receives the orders in ID order
+     * @return The number of orders read
+     */
+    public long streamAll(DBUtil.RowCallback<? super Order> action) throws SQLException, IOException {
+        String sql = "SELECT * FROM Orders ORDER BY orderId";
+        return DBUtil.executeStreamingQuery(sql, rs -> mapResultSetToOrder(rs), action);
+    }
+
     @Override
     public void save(Order order) {
+        try {
+            insert(order);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error saving order: " + e.getMessage());
+        }
+    }
+
+    // Inserts the order and sets its generated ID; unlike save(), failures are
+    // thrown so a surrounding transaction can roll back
+    public void insert(Order order) throws SQLException, IOException {
         String sql = "INSERT INTO Orders (userId, totalAmount, orderDate) VALUES (?, ?, ?)";
-        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, order.getUserId(), order.getTotalAmount(), new Timestamp(order.getOrderDate().getTime()))) {
+        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, order.getUserId(), Money.toDecimal(order.getTotalAmountCents()), new Timestamp(order.getOrderDate().getTime()))) {
 
-            if (generatedKeys.next()) {
-                order.setOrderId(generatedKeys.getInt(1));
+            if (!generatedKeys.next()) {
+                throw new SQLException("No order ID was generated");
             }
-        } catch (SQLException | IOException e) {
-            System.err.println("Error saving order: " + e.getMessage());
+            order.setOrderId(generatedKeys.getInt(1));
+        }
+    }
+
+    // Inserts one OrderItems row per game in a single JDBC batch
+    public void insertOrderItems(int orderId, List<Game> games) throws SQLException, IOException {
+        String sql = "INSERT INTO OrderItems (orderId, gameId, price) VALUES (?, ?, ?)";
+        List<Object[]> rows = new ArrayList<>(games.size());
+        for (Game game : games) {
+            rows.add(new Object[] { orderId, game.getGameId(), Money.toDecimal(game.getPriceCents()) });
         }
+        DBUtil.executeBatch(sql, rows);
     }
 
     @Override
     public void update(Order order) {
         String sql = "UPDATE Orders SET userId = ?, totalAmount = ?, orderDate = ? WHERE orderId = ?";
         try {
-            DBUtil.executeUpdate(sql, order.getUserId(), order.getTotalAmount(), new Timestamp(order.getOrderDate().getTime()), order.getOrderId());
+            DBUtil.executeUpdate(sql, order.getUserId(), Money.toDecimal(order.getTotalAmountCents()), new Timestamp(order.getOrderDate().getTime()), order.getOrderId());
         } catch (SQLException | IOException e) {
             System.err.println("Error updating order: " + e.getMessage());
         }
@@ -72,7 +239,7 @@ public class OrderStorage implements StorageInterface<Order, Integer>{
         Order order =  new Order();
         order.setOrderId(rs.getInt("orderId"));
         order.setUserId(rs.getInt("userId"));
-        order.setTotalAmount(rs.getDouble("totalAmount"));
+        order.setTotalAmountCents(Money.fromDecimal(rs.getBigDecimal("totalAmount")));
         order.setOrderDate(rs.getTimestamp("orderDate"));
         //need games table to get games
         return order;
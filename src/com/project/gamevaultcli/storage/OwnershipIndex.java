@@ -0,0 +1,89 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.helpers.DBUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user bitsets of owned game IDs, so ownership checks are a single bit
+ * lookup instead of a join over Orders and OrderItems.
+ * A user's bitset is loaded from the database on first use and kept current
+ * by {@link #recordPurchase} when an order commits. Published bitsets are
+ * never modified; updates swap in a copy.
+ */
+public class OwnershipIndex {
+
+    private static final String SQL_OWNED_GAME_IDS = "SELECT DISTINCT oi.gameId FROM OrderItems oi " +
+            "JOIN Orders o ON oi.orderId = o.orderId " +
+            "WHERE o.userId = ?";
+
+    private final ConcurrentMap<Integer, BitSet> ownedByUser = new ConcurrentHashMap<>();
+    // Bumped on every purchase; a load that overlapped a purchase is not cached
+    private final AtomicLong purchaseVersion = new AtomicLong();
+
+    public boolean isOwned(int userId, int gameId) {
+        return gameId >= 0 && getOwned(userId).get(gameId);
+    }
+
+    /**
+     * Returns the user's owned game IDs as a bitset, loading it on first use.
+     * The returned bitset must not be modified.
+     */
+    public BitSet getOwned(int userId) {
+        BitSet owned = ownedByUser.get(userId);
+        if (owned != null) {
+            return owned;
+        }
+
+        long versionAtLoad = purchaseVersion.get();
+        BitSet loaded = new BitSet();
+        try {
+            List<Integer> gameIds = DBUtil.executeQuery(SQL_OWNED_GAME_IDS, rs -> rs.getInt("gameId"), userId);
+            for (int gameId : gameIds) {
+                loaded.set(gameId);
+            }
+        } catch (SQLException | IOException e) {
+            System.err.println("Error loading owned games for user: " + e.getMessage());
+            return loaded; // Don't cache a failed load
+        }
+
+        if (purchaseVersion.get() != versionAtLoad) {
+            return loaded; // A purchase may have landed mid-load, try again next time
+        }
+        BitSet existing = ownedByUser.putIfAbsent(userId, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Marks games as owned by the user. Call after the order that bought them
+     * has committed.
+     */
+    public void recordPurchase(int userId, List<Integer> gameIds) {
+        purchaseVersion.incrementAndGet();
+        // Users whose bitset isn't loaded yet will read the purchase from the database
+        ownedByUser.computeIfPresent(userId, (id, owned) -> {
+            BitSet updated = (BitSet) owned.clone();
+            for (int gameId : gameIds) {
+                updated.set(gameId);
+            }
+            return updated;
+        });
+    }
+
+    // Forgets a user's bitset; the next check reloads it
+    public void invalidate(int userId) {
+        purchaseVersion.incrementAndGet();
+        ownedByUser.remove(userId);
+    }
+
+    public void clear() {
+        purchaseVersion.incrementAndGet();
+        ownedByUser.clear();
+    }
+}
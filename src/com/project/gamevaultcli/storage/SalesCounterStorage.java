@@ -0,0 +1,264 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.helpers.DBUtil;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps the sales totals in the SalesCounters table, one row per
+ * (counterName, counterKey), and reads the sales that happened after them so
+ * the in-process counters can catch up on startup.
+ *
+ * The stored totals are only ever built from the Orders, OrderItems and
+ * Transactions tables, never from an instance's in-memory counters: each
+ * {@link #foldNewSales} adds the sales committed since the stored watermarks
+ * and moves the watermarks past them. Any number of application instances
+ * can fold against one database without losing or double counting a sale.
+ */
+public class SalesCounterStorage {
+
+    // Counter names in the SalesCounters table
+    public static final String REVENUE = "revenueCents";
+    public static final String TOP_UP_VOLUME = "topUpCents";
+    public static final String TOP_UP_COUNT = "topUpCount";
+    public static final String ORDERS_PER_DAY = "ordersPerDay";
+    public static final String UNITS_SOLD = "unitsSold";
+    public static final String WATERMARK = "watermark";
+    // Keys of the watermark rows: the highest orderId and transactionId the totals include
+    public static final String LAST_ORDER_ID = "orderId";
+    public static final String LAST_TRANSACTION_ID = "transactionId";
+
+    // One counter value, e.g. ("unitsSold", "42") -> 17
+    public static class CounterRow {
+        private final String name;
+        private final String key;
+        private final long value;
+
+        public CounterRow(String name, String key, long value) {
+            this.name = name;
+            this.key = key;
+            this.value = value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public long getValue() {
+            return value;
+        }
+    }
+
+    // Loads the stored totals; returns an empty list if there are none or the query fails
+    public List<CounterRow> loadSnapshot() {
+        String sql = "SELECT counterName, counterKey, counterValue FROM SalesCounters";
+        try {
+            return DBUtil.executeQuery(sql, rs -> new CounterRow(rs.getString("counterName"),
+                    rs.getString("counterKey"), rs.getLong("counterValue")));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error loading sales counters: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Adds the orders and transactions committed since the stored watermarks
+     * to the stored totals and moves the watermarks past them, in one
+     * transaction. The watermark rows are locked first, so instances folding
+     * at the same time take turns and each sale is added once.
+     *
+     * Only rows dated at least {@code settleMillis} ago are folded. A row
+     * with a lower ID than a committed one may still be in an open
+     * transaction, and once the watermark moved past it it would never be
+     * counted; waiting lets such transactions finish first.
+     *
+     * @return true if the fold committed
+     */
+    public boolean foldNewSales(long settleMillis) {
+        String sqlEnsureWatermarks = "INSERT INTO SalesCounters (counterName, counterKey, counterValue) "
+                + "VALUES (?, ?, 0), (?, ?, 0) ON DUPLICATE KEY UPDATE counterValue = counterValue";
+        String sqlLockWatermarks = "SELECT counterKey, counterValue FROM SalesCounters "
+                + "WHERE counterName = ? FOR UPDATE";
+        String sqlSettledOrder = "SELECT COALESCE(MAX(orderId), ?) FROM Orders WHERE orderId > ? AND orderDate < ?";
+        String sqlSettledTransaction = "SELECT COALESCE(MAX(transactionId), ?) FROM Transactions "
+                + "WHERE transactionId > ? AND transactionDate < ?";
+        String sqlAdd = "INSERT INTO SalesCounters (counterName, counterKey, counterValue) VALUES (?, ?, ?) "
+                + "ON DUPLICATE KEY UPDATE counterValue = counterValue + VALUES(counterValue)";
+        String sqlSetWatermark = "UPDATE SalesCounters SET counterValue = ? WHERE counterName = ? AND counterKey = ?";
+        Timestamp settledBefore = new Timestamp(System.currentTimeMillis() - settleMillis);
+        try {
+            DBUtil.executeInTransaction(conn -> {
+                DBUtil.executeUpdate(sqlEnsureWatermarks, WATERMARK, LAST_ORDER_ID, WATERMARK, LAST_TRANSACTION_ID);
+                long orderWatermark = 0;
+                long transactionWatermark = 0;
+                for (CounterRow row : DBUtil.executeQuery(sqlLockWatermarks,
+                        rs -> new CounterRow(WATERMARK, rs.getString("counterKey"), rs.getLong("counterValue")),
+                        WATERMARK)) {
+                    if (LAST_ORDER_ID.equals(row.getKey())) {
+                        orderWatermark = row.getValue();
+                    } else if (LAST_TRANSACTION_ID.equals(row.getKey())) {
+                        transactionWatermark = row.getValue();
+                    }
+                }
+                long orderTo = DBUtil.executeQuery(sqlSettledOrder, rs -> rs.getLong(1), orderWatermark,
+                        orderWatermark, settledBefore).get(0);
+                long transactionTo = DBUtil.executeQuery(sqlSettledTransaction, rs -> rs.getLong(1),
+                        transactionWatermark, transactionWatermark, settledBefore).get(0);
+
+                List<Object[]> additions = new ArrayList<>();
+                if (orderTo > orderWatermark) {
+                    for (Map.Entry<String, Long> day : queryOrdersPerDay(orderWatermark, orderTo).entrySet()) {
+                        additions.add(new Object[] { ORDERS_PER_DAY, day.getKey(), day.getValue() });
+                    }
+                    for (Map.Entry<Integer, Long> game : queryUnitsSold(orderWatermark, orderTo).entrySet()) {
+                        additions.add(new Object[] { UNITS_SOLD, game.getKey().toString(), game.getValue() });
+                    }
+                }
+                if (transactionTo > transactionWatermark) {
+                    long[] sums = querySumTransactions(transactionWatermark, transactionTo);
+                    additions.add(new Object[] { REVENUE, "", sums[0] });
+                    additions.add(new Object[] { TOP_UP_VOLUME, "", sums[1] });
+                    additions.add(new Object[] { TOP_UP_COUNT, "", sums[2] });
+                }
+                if (!additions.isEmpty()) {
+                    DBUtil.executeBatch(sqlAdd, additions);
+                }
+                DBUtil.executeUpdate(sqlSetWatermark, orderTo, WATERMARK, LAST_ORDER_ID);
+                DBUtil.executeUpdate(sqlSetWatermark, transactionTo, WATERMARK, LAST_TRANSACTION_ID);
+                return null;
+            });
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error saving sales counters: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Sums Purchase and Top-up transactions with an ID above the watermark,
+     * up to maxTransactionId.
+     *
+     * @return {purchase cents, top-up cents, top-up count}, or null if the query fails
+     */
+    public long[] sumTransactionsAfter(long transactionId, long maxTransactionId) {
+        try {
+            return querySumTransactions(transactionId, maxTransactionId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading transactions for sales counters: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Counts orders with an ID above the watermark, up to maxOrderId, per day (yyyy-MM-dd);
+    // null if the query fails
+    public Map<String, Long> countOrdersPerDayAfter(long orderId, long maxOrderId) {
+        try {
+            return queryOrdersPerDay(orderId, maxOrderId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading orders for sales counters: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Counts units sold per game in orders with an ID above the watermark, up to maxOrderId;
+    // null if the query fails
+    public Map<Integer, Long> countUnitsSoldAfter(long orderId, long maxOrderId) {
+        try {
+            return queryUnitsSold(orderId, maxOrderId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading order items for sales counters: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Map<String, Long> queryOrdersPerDay(long afterOrderId, long maxOrderId)
+            throws SQLException, IOException {
+        String sql = "SELECT DATE_FORMAT(orderDate, '%Y-%m-%d') AS orderDay, COUNT(*) AS orders "
+                + "FROM Orders WHERE orderId > ? AND orderId <= ? GROUP BY orderDay";
+        List<Map.Entry<String, Long>> rows = DBUtil.executeQuery(sql,
+                rs -> new AbstractMap.SimpleEntry<>(rs.getString("orderDay"), rs.getLong("orders")), afterOrderId,
+                maxOrderId);
+        Map<String, Long> ordersPerDay = new HashMap<>();
+        for (Map.Entry<String, Long> row : rows) {
+            ordersPerDay.put(row.getKey(), row.getValue());
+        }
+        return ordersPerDay;
+    }
+
+    private static Map<Integer, Long> queryUnitsSold(long afterOrderId, long maxOrderId)
+            throws SQLException, IOException {
+        String sql = "SELECT gameId, COUNT(*) AS units FROM OrderItems WHERE orderId > ? AND orderId <= ? "
+                + "GROUP BY gameId";
+        List<Map.Entry<Integer, Long>> rows = DBUtil.executeQuery(sql,
+                rs -> new AbstractMap.SimpleEntry<>(rs.getInt("gameId"), rs.getLong("units")), afterOrderId,
+                maxOrderId);
+        Map<Integer, Long> unitsSold = new HashMap<>();
+        for (Map.Entry<Integer, Long> row : rows) {
+            unitsSold.put(row.getKey(), row.getValue());
+        }
+        return unitsSold;
+    }
+
+    // {purchase cents, top-up cents, top-up count} of the transactions in (afterTransactionId, maxTransactionId]
+    private static long[] querySumTransactions(long afterTransactionId, long maxTransactionId)
+            throws SQLException, IOException {
+        String sql = "SELECT "
+                + "ROUND(COALESCE(SUM(CASE WHEN transactionType = 'Purchase' THEN amount END), 0) * 100), "
+                + "ROUND(COALESCE(SUM(CASE WHEN transactionType = 'Top-up' THEN amount END), 0) * 100), "
+                + "COUNT(CASE WHEN transactionType = 'Top-up' THEN 1 END) "
+                + "FROM Transactions WHERE transactionId > ? AND transactionId <= ?";
+        return DBUtil.executeQuery(sql, rs -> new long[] { rs.getLong(1), rs.getLong(2), rs.getLong(3) },
+                afterTransactionId, maxTransactionId).get(0);
+    }
+
+    /**
+     * Counts units sold per game and hour in orders placed since a time, for
+     * the trending windows. Reads only recent orders, through the index on
+     * Orders.orderDate.
+     *
+     * @return {time of the hour's first sale in millis, gameId, units} per game and hour,
+     *         or null if the query fails
+     */
+    public List<long[]> countUnitsSoldPerHourSince(long sinceMillis) {
+        String sql = "SELECT MIN(o.orderDate) AS firstSale, oi.gameId, COUNT(*) AS units "
+                + "FROM Orders o JOIN OrderItems oi ON oi.orderId = o.orderId "
+                + "WHERE o.orderDate >= ? "
+                + "GROUP BY DATE_FORMAT(o.orderDate, '%Y-%m-%d %H'), oi.gameId";
+        try {
+            return DBUtil.executeQuery(sql, rs -> new long[] { rs.getTimestamp("firstSale").getTime(),
+                    rs.getInt("gameId"), rs.getLong("units") }, new Timestamp(sinceMillis));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading recent orders for sales counters: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Reads the highest orderId and transactionId in one statement, so both
+     * see the same committed orders: an order's Purchase transaction is
+     * within the bound exactly when the order is.
+     *
+     * @return {highest orderId, highest transactionId}, or null if the query fails
+     */
+    public long[] findMaxIds() {
+        String sql = "SELECT (SELECT COALESCE(MAX(orderId), 0) FROM Orders), "
+                + "(SELECT COALESCE(MAX(transactionId), 0) FROM Transactions)";
+        try {
+            return DBUtil.executeQuery(sql, rs -> new long[] { rs.getLong(1), rs.getLong(2) }).get(0);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading orders for sales counters: " + e.getMessage());
+            return null;
+        }
+    }
+}
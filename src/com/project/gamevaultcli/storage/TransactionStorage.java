@@ -3,16 +3,30 @@ package com.project.gamevaultcli.storage;
 import com.project.gamevaultcli.entities.Transaction;
 import com.project.gamevaultcli.interfaces.StorageInterface;
 import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import java.io.IOException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class TransactionStorage implements StorageInterface<Transaction, Integer> {
 
+    // Rows read per query by forEach()
+    private static final int FOR_EACH_BATCH_SIZE = 500;
+
+    // Columns the admin tables can sort by
+    public static final List<String> SORTABLE_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            "transactionId", "orderId", "userId", "transactionType", "amount", "transactionDate"));
+
     @Override
     public Transaction findById(Integer transactionId) {
         String sql = "SELECT * FROM Transactions WHERE transactionId = ?";
@@ -36,16 +50,129 @@ public class TransactionStorage implements StorageInterface<Transaction, Integer
         }
     }
 
+    // Find all transactions of a user, oldest first
+    public List<Transaction> findByUserId(int userId) {
+        String sql = "SELECT * FROM Transactions WHERE userId = ? ORDER BY transactionDate, transactionId";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToTransaction(rs), userId);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding transactions for user: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Finds one page of a user's transactions, newest first.
+     * Pass the smallest transactionId of the previous page as
+     * beforeTransactionId to get the next page, or null for the first page.
+     *
+     * @param userId              The user whose transactions to fetch
+     * @param beforeTransactionId Only return transactions with a smaller ID, or null
+     * @param limit               Maximum number of transactions to return
+     */
+    public List<Transaction> findByUserId(int userId, Integer beforeTransactionId, int limit) {
+        String sql = "SELECT * FROM Transactions WHERE userId = ? AND transactionId < ? "
+                + "ORDER BY transactionId DESC LIMIT ?";
+        try {
+            int before = beforeTransactionId != null ? beforeTransactionId : Integer.MAX_VALUE;
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToTransaction(rs), userId, before, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding transactions for user: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // Sum the amounts of all transactions of one type (e.g. "Purchase") in cents; returns -1 if the query fails
+    public long sumAmountCentsByType(String transactionType) {
+        String sql = "SELECT COALESCE(SUM(amount), 0) FROM Transactions WHERE transactionType = ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> Money.fromDecimal(rs.getBigDecimal(1)), transactionType).get(0);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error summing transactions: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    // Count transactions in the database; returns -1 if the query fails
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM Transactions";
+        try {
+            return DBUtil.executeQuery(sql, rs -> rs.getLong(1)).get(0);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error counting transactions: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads one page of transactions, sorted by one of {@link #SORTABLE_COLUMNS}.
+     *
+     * @param request Which page to read
+     * @return The page, or null if the query fails
+     */
+    public Page<Transaction> findPage(PageRequest request) {
+        try {
+            return DBUtil.executePage("Transactions", "transactionId", SORTABLE_COLUMNS, request, rs -> mapResultSetToTransaction(rs));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading a page of transactions: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<Transaction> findPage(Integer afterId, int limit) {
+        String sql = "SELECT * FROM Transactions WHERE transactionId > ? ORDER BY transactionId LIMIT ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToTransaction(rs), afterId != null ? afterId : 0, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding a page of transactions: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super Transaction> action) {
+        try {
+            DBUtil.forEachByKeyset("Transactions", "transactionId", FOR_EACH_BATCH_SIZE, rs -> mapResultSetToTransaction(rs), action);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading all transactions: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Streams every transaction to an action, reading through a database cursor
+     * rather than building a list. Failures are thrown, including those of the
+     * action, so a caller writing a file can stop and report them.
+     *
+     * @param action Receives the transactions in ID order
+     * @return The number of transactions read
+     */
+    public long streamAll(DBUtil.RowCallback<? super Transaction> action) throws SQLException, IOException {
+        String sql = "SELECT * FROM Transactions ORDER BY transactionId";
+        return DBUtil.executeStreamingQuery(sql, rs -> mapResultSetToTransaction(rs), action);
+    }
+
     @Override
     public void save(Transaction transaction) {
+        try {
+            insert(transaction);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error saving transaction: " + e.getMessage());
+        }
+    }
+
+    // Inserts a transaction and sets its generated ID; failures are thrown so a
+    // surrounding database transaction can roll back
+    public void insert(Transaction transaction) throws SQLException, IOException {
         String sql = "INSERT INTO Transactions (orderId, userId, transactionType, amount, transactionDate) VALUES (?, ?, ?, ?, ?)";
-        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, transaction.getOrderId(), transaction.getUserId(), transaction.getTransactionType(), transaction.getAmount(), Timestamp.valueOf(transaction.getTransactionDate()))) {
+        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, transaction.getOrderId(), transaction.getUserId(), transaction.getTransactionType(), Money.toDecimal(transaction.getAmountCents()), Timestamp.valueOf(transaction.getTransactionDate()))) {
 
-            if (generatedKeys.next()) {
-                transaction.setTransactionId(generatedKeys.getInt(1));
+            if (!generatedKeys.next()) {
+                throw new SQLException("No transaction ID was generated");
             }
-        } catch (SQLException | IOException e) {
-            System.err.println("Error saving transaction: " + e.getMessage());
+            transaction.setTransactionId(generatedKeys.getInt(1));
         }
     }
 
@@ -53,7 +180,7 @@ public class TransactionStorage implements StorageInterface<Transaction, Integer
     public void update(Transaction transaction) {
         String sql = "UPDATE Transactions SET orderId = ?, userId = ?, transactionType = ?, amount = ?, transactionDate = ? WHERE transactionId = ?";
         try {
-            DBUtil.executeUpdate(sql, transaction.getOrderId(), transaction.getUserId(), transaction.getTransactionType(), transaction.getAmount(), Timestamp.valueOf(transaction.getTransactionDate()), transaction.getTransactionId());
+            DBUtil.executeUpdate(sql, transaction.getOrderId(), transaction.getUserId(), transaction.getTransactionType(), Money.toDecimal(transaction.getAmountCents()), Timestamp.valueOf(transaction.getTransactionDate()), transaction.getTransactionId());
         } catch (SQLException | IOException e) {
             System.err.println("Error updating transaction: " + e.getMessage());
         }
@@ -72,10 +199,11 @@ public class TransactionStorage implements StorageInterface<Transaction, Integer
     private Transaction mapResultSetToTransaction(ResultSet rs) throws SQLException {
         Transaction transaction = new Transaction();
         transaction.setTransactionId(rs.getInt("transactionId"));
-        transaction.setOrderId(rs.getInt("orderId"));
+        int orderId = rs.getInt("orderId");
+        transaction.setOrderId(rs.wasNull() ? null : orderId); // Top-ups have no order
         transaction.setUserId(rs.getInt("userId"));
         transaction.setTransactionType(rs.getString("transactionType"));
-        transaction.setAmount(rs.getFloat("amount"));
+        transaction.setAmountCents(Money.fromDecimal(rs.getBigDecimal("amount")));
         transaction.setTransactionDate(rs.getTimestamp("transactionDate").toLocalDateTime());
         return transaction;
     }
@@ -0,0 +1,101 @@
+package com.project.gamevaultcli.storage;
+
+import com.project.gamevaultcli.entities.User;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copies of the user rows read by UserStorage, keyed by userId.
+ * UserStorage writes through it: a local profile change updates the database
+ * and then the cached row, so the logged-in user's profile can be read from
+ * memory after each action. A wallet change removes the row instead, since a
+ * read between the commit and a delta applied here would count it twice.
+ * Entries expire after a TTL so changes made by other application instances
+ * are picked up.
+ *
+ * Callers get copies, so changing a returned User never changes the cache.
+ */
+public class UserCache {
+
+    private static final class Entry {
+        private final User user;
+        private final long loadedAt;
+
+        private Entry(User user, long loadedAt) {
+            this.user = user;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final long ttlMillis;
+    private final Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+    // Bumped on every local change, so a read that raced with a write is not cached
+    private long version = 0;
+
+    public UserCache(long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    // Returns a copy of the cached user, or null if it is missing or expired
+    public User get(int userId) {
+        Entry entry = entries.get(userId);
+        if (entry == null || System.currentTimeMillis() - entry.loadedAt >= ttlMillis) {
+            return null;
+        }
+        return copy(entry.user);
+    }
+
+    public synchronized long getVersion() {
+        return version;
+    }
+
+    /**
+     * Caches a user read from the database, unless a local change happened
+     * after the read started.
+     *
+     * @param user          The row read
+     * @param versionAtLoad The value of getVersion() taken before the query
+     */
+    public synchronized void putLoaded(User user, long versionAtLoad) {
+        if (version == versionAtLoad) {
+            entries.put(user.getUserId(), new Entry(copy(user), System.currentTimeMillis()));
+        }
+    }
+
+    // Caches a user just written to the database
+    public synchronized void put(User user) {
+        version++;
+        entries.put(user.getUserId(), new Entry(copy(user), System.currentTimeMillis()));
+    }
+
+    // Applies a committed username change to the cached row
+    public synchronized void setUsername(int userId, String username) {
+        version++;
+        entries.computeIfPresent(userId, (id, entry) -> {
+            User updated = copy(entry.user);
+            updated.setUsername(username);
+            return new Entry(updated, entry.loadedAt);
+        });
+    }
+
+    // Applies a committed password change to the cached row
+    public synchronized void setPassword(int userId, String passwordHash) {
+        version++;
+        entries.computeIfPresent(userId, (id, entry) -> {
+            User updated = copy(entry.user);
+            updated.setPassword(passwordHash);
+            return new Entry(updated, entry.loadedAt);
+        });
+    }
+
+    public synchronized void remove(int userId) {
+        version++;
+        entries.remove(userId);
+    }
+
+    private static User copy(User user) {
+        return new User(user.getUserId(), user.getEmail(), user.getPassword(), user.getUsername(),
+                user.getWalletBalanceCents(), user.getCreatedAt());
+    }
+}
@@ -3,32 +3,76 @@ package com.project.gamevaultcli.storage;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.interfaces.StorageInterface;
 import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import java.io.IOException;
+import java.math.BigDecimal;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 public class UserStorage implements StorageInterface<User, Integer> {
 
+    // Rows read per query by forEach()
+    private static final int FOR_EACH_BATCH_SIZE = 500;
+
+    // Columns the admin tables can sort by
+    public static final List<String> SORTABLE_COLUMNS = Collections.unmodifiableList(Arrays.asList(
+            "userId", "username", "email", "walletBalance", "createdAt"));
+
+    // How long a cached user row is trusted before it is read again, so changes
+    // made by other application instances show up
+    private static final long DEFAULT_USER_TTL_MILLIS = 60 * 1000L;
+
+    private final UserCache userCache;
+
+    public UserStorage() {
+        this(DEFAULT_USER_TTL_MILLIS);
+    }
+
+    public UserStorage(long userTtlMillis) {
+        this.userCache = new UserCache(userTtlMillis);
+    }
+
+    // Served from the user cache when the row was read or written recently
     @Override
     public User findById(Integer userId) {
+        User cached = userCache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
         String sql = "SELECT * FROM Users WHERE userId = ?";
+        long versionAtLoad = userCache.getVersion();
         try {
             List<User> users = DBUtil.executeQuery(sql, rs -> mapResultSetToUser(rs), userId);
-            return users.isEmpty() ? null : users.get(0);
+            if (users.isEmpty()) {
+                return null;
+            }
+            userCache.putLoaded(users.get(0), versionAtLoad);
+            return users.get(0);
         } catch (SQLException | IOException e) {
             System.err.println("Error finding user by ID: " + e.getMessage());
             return null;
         }
     }
 
+    // Always reads the database (login needs the current password hash) and refreshes the cache
     public User findByEmail(String email) {
         String sql = "SELECT * FROM Users WHERE email = ?";
+        long versionAtLoad = userCache.getVersion();
         try {
             List<User> users = DBUtil.executeQuery(sql, rs -> mapResultSetToUser(rs), email);
-            return users.isEmpty() ? null : users.get(0);
+            if (users.isEmpty()) {
+                return null;
+            }
+            userCache.putLoaded(users.get(0), versionAtLoad);
+            return users.get(0);
         } catch (SQLException | IOException e) {
             System.err.println("Error finding user by email: " + e.getMessage());
             return null;
@@ -46,34 +90,164 @@ public class UserStorage implements StorageInterface<User, Integer> {
         }
     }
 
+    // Count users in the database; returns -1 if the query fails
+    public long count() {
+        String sql = "SELECT COUNT(*) FROM Users";
+        try {
+            return DBUtil.executeQuery(sql, rs -> rs.getLong(1)).get(0);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error counting users: " + e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * Reads one page of users, sorted by one of {@link #SORTABLE_COLUMNS}.
+     *
+     * @param request Which page to read
+     * @return The page, or null if the query fails
+     */
+    public Page<User> findPage(PageRequest request) {
+        try {
+            return DBUtil.executePage("Users", "userId", SORTABLE_COLUMNS, request, rs -> mapResultSetToUser(rs));
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading a page of users: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public List<User> findPage(Integer afterId, int limit) {
+        String sql = "SELECT * FROM Users WHERE userId > ? ORDER BY userId LIMIT ?";
+        try {
+            return DBUtil.executeQuery(sql, rs -> mapResultSetToUser(rs), afterId != null ? afterId : 0, limit);
+        } catch (SQLException | IOException e) {
+            System.err.println("Error finding a page of users: " + e.getMessage());
+            return null;
+        }
+    }
+
+    @Override
+    public boolean forEach(Consumer<? super User> action) {
+        try {
+            DBUtil.forEachByKeyset("Users", "userId", FOR_EACH_BATCH_SIZE, rs -> mapResultSetToUser(rs), action);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error reading all users: " + e.getMessage());
+            return false;
+        }
+    }
+
     @Override
     public void save(User user) {
         String sql = "INSERT INTO Users (email, password, username, walletBalance, createdAt) VALUES (?, ?, ?, ?, ?)";
-        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, user.getEmail(), user.getPassword(), user.getUsername(), user.getWalletBalance(), new Timestamp(user.getCreatedAt().getTime()))) {
+        try (ResultSet generatedKeys = DBUtil.executeInsert(sql, user.getEmail(), user.getPassword(), user.getUsername(), Money.toDecimal(user.getWalletBalanceCents()), new Timestamp(user.getCreatedAt().getTime()))) {
 
             if (generatedKeys.next()) {
                 user.setUserId(generatedKeys.getInt(1));
+                userCache.put(user);
             }
         } catch (SQLException | IOException e) {
             System.err.println("Error saving user: " + e.getMessage());
         }
     }
 
+    // Writes the profile columns. The wallet balance is left alone: it only
+    // changes through the wallet methods, and the User passed in may hold a
+    // balance read before other sessions' top-ups and purchases
     @Override
     public void update(User user) {
-        String sql = "UPDATE Users SET email = ?, password = ?, username = ?, walletBalance = ? WHERE userId = ?";
+        String sql = "UPDATE Users SET email = ?, password = ?, username = ? WHERE userId = ?";
         try {
-            DBUtil.executeUpdate(sql, user.getEmail(), user.getPassword(), user.getUsername(), user.getWalletBalance(), user.getUserId());
+            int rows = DBUtil.executeUpdate(sql, user.getEmail(), user.getPassword(), user.getUsername(), user.getUserId());
+            if (rows > 0) {
+                // The cached balance can't be taken from the User passed in; read the row again
+                userCache.remove(user.getUserId());
+            }
         } catch (SQLException | IOException e) {
+            // The row may or may not have changed, so don't trust the cached copy
+            userCache.remove(user.getUserId());
             System.err.println("Error updating user: " + e.getMessage());
         }
     }
 
+    // Replace a user's username; returns false if the update fails
+    public boolean updateUsername(int userId, String username) {
+        String sql = "UPDATE Users SET username = ? WHERE userId = ?";
+        try {
+            if (DBUtil.executeUpdate(sql, username, userId) == 0) {
+                return false;
+            }
+            userCache.setUsername(userId, username);
+            return true;
+        } catch (SQLException | IOException e) {
+            userCache.remove(userId);
+            System.err.println("Error updating username: " + e.getMessage());
+            return false;
+        }
+    }
+
+    // Replace a user's password hash; returns false if the update fails
+    public boolean updatePassword(int userId, String passwordHash) {
+        String sql = "UPDATE Users SET password = ? WHERE userId = ?";
+        try {
+            if (DBUtil.executeUpdate(sql, passwordHash, userId) == 0) {
+                return false;
+            }
+            userCache.setPassword(userId, passwordHash);
+            return true;
+        } catch (SQLException | IOException e) {
+            System.err.println("Error updating password: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds an amount to a user's wallet and reads the resulting balance. Meant
+     * to run inside a transaction, where the UPDATE's row lock keeps the
+     * balance read consistent with it; call {@link #walletCreditCommitted}
+     * once the transaction has committed.
+     *
+     * @return The new balance in cents, or null if the user doesn't exist
+     */
+    public Long creditWallet(int userId, long amountCents) throws SQLException, IOException {
+        String sql = "UPDATE Users SET walletBalance = walletBalance + ? WHERE userId = ?";
+        if (DBUtil.executeUpdate(sql, Money.toDecimal(amountCents), userId) == 0) {
+            return null;
+        }
+        String sqlBalance = "SELECT walletBalance FROM Users WHERE userId = ?";
+        return DBUtil.executeQuery(sqlBalance, rs -> Money.fromDecimal(rs.getBigDecimal(1)), userId).get(0);
+    }
+
+    // Drops the cached row once creditWallet() has committed, so the next read gets the new balance
+    public void walletCreditCommitted(int userId) {
+        userCache.remove(userId);
+    }
+
+    /**
+     * Takes an amount from a user's wallet if the balance covers it. Meant to
+     * run inside a transaction, so failures are thrown; call
+     * {@link #walletDebitCommitted} once the transaction has committed.
+     *
+     * @return false if the balance is too low (or the user doesn't exist)
+     */
+    public boolean debitWallet(int userId, long amountCents) throws SQLException, IOException {
+        String sql = "UPDATE Users SET walletBalance = walletBalance - ? WHERE userId = ? AND walletBalance >= ?";
+        BigDecimal amount = Money.toDecimal(amountCents);
+        return DBUtil.executeUpdate(sql, amount, userId, amount) > 0;
+    }
+
+    // Drops the cached row once debitWallet() has committed, so the next read gets the new balance
+    public void walletDebitCommitted(int userId) {
+        userCache.remove(userId);
+    }
+
     @Override
     public void delete(Integer userId) {
         String sql = "DELETE FROM Users WHERE userId = ?";
         try {
             DBUtil.executeUpdate(sql, userId);
+            userCache.remove(userId);
         } catch (SQLException | IOException e) {
             System.err.println("Error deleting user: " + e.getMessage());
         }
@@ -85,7 +259,7 @@ public class UserStorage implements StorageInterface<User, Integer> {
                 rs.getString("email"),
                 rs.getString("password"),
                 rs.getString("username"),
-                rs.getFloat("walletBalance"),
+                Money.fromDecimal(rs.getBigDecimal("walletBalance")),
                 rs.getTimestamp("createdAt")
         );
     }
@@ -0,0 +1,203 @@
+package com.project.gamevaultgui;
+
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Money;
+
+import javax.swing.*;
+import java.awt.*;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * A row of catalog filters: platform, developer, price range and release
+ * date window. Picking a platform or developer applies at once; the text
+ * fields apply on Enter. Each change hands the new GameFilter to the
+ * listener, which re-reads its table and passes the resulting facet counts
+ * back through {@link #setFacets}, so every choice shows how many games it
+ * would leave.
+ */
+public class GameFilterBar extends JPanel {
+
+    // A platform or developer choice; a null value stands for "any"
+    private static final class Choice {
+        private final String value;
+        private final String label;
+
+        private Choice(String value, String label) {
+            this.value = value;
+            this.label = label;
+        }
+
+        @Override
+        public String toString() {
+            return label;
+        }
+    }
+
+    private final Consumer<GameFilter> onChange;
+    private final JComboBox<Choice> platformBox = new JComboBox<>();
+    private final JComboBox<Choice> developerBox = new JComboBox<>();
+    private final JTextField minPriceField = new JTextField(6);
+    private final JTextField maxPriceField = new JTextField(6);
+    private final JTextField releasedFromField = new JTextField(8);
+    private final JTextField releasedToField = new JTextField(8);
+    private final JButton clearButton = new JButton("Clear");
+    private GameFilter filter = GameFilter.any();
+    // Set while the choices are rebuilt, so that doesn't count as the user picking one
+    private boolean updatingChoices = false;
+
+    /**
+     * @param onChange Receives the new filter on the EDT each time the user changes it
+     */
+    public GameFilterBar(Consumer<GameFilter> onChange) {
+        super(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        this.onChange = onChange;
+        setOpaque(false);
+
+        setChoices(platformBox, "All platforms", null, Collections.<String, Integer>emptyMap());
+        setChoices(developerBox, "All developers", null, Collections.<String, Integer>emptyMap());
+        // Keep long developer names from stretching the row
+        platformBox.setPrototypeDisplayValue(new Choice(null, "XXXXXXXXXXXXXXXXXX"));
+        developerBox.setPrototypeDisplayValue(new Choice(null, "XXXXXXXXXXXXXXXXXXXXXXXX"));
+        releasedFromField.setToolTipText("YYYY-MM-DD");
+        releasedToField.setToolTipText("YYYY-MM-DD");
+
+        add(platformBox);
+        add(developerBox);
+        add(new JLabel("Price:"));
+        add(minPriceField);
+        add(new JLabel("to"));
+        add(maxPriceField);
+        add(new JLabel("Released:"));
+        add(releasedFromField);
+        add(new JLabel("to"));
+        add(releasedToField);
+        add(clearButton);
+
+        platformBox.addActionListener(e -> applyFilter());
+        developerBox.addActionListener(e -> applyFilter());
+        minPriceField.addActionListener(e -> applyFilter());
+        maxPriceField.addActionListener(e -> applyFilter());
+        releasedFromField.addActionListener(e -> applyFilter());
+        releasedToField.addActionListener(e -> applyFilter());
+        clearButton.addActionListener(e -> clear());
+    }
+
+    // The filter currently applied
+    public GameFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Shows the counts of a facet read with the current filter next to each
+     * platform and developer, keeping the current selections.
+     */
+    public void setFacets(GameFacets facets) {
+        if (facets == null) {
+            return;
+        }
+        setChoices(platformBox, "All platforms", selectedValue(platformBox), facets.getPlatformCounts());
+        setChoices(developerBox, "All developers", selectedValue(developerBox), facets.getDeveloperCounts());
+    }
+
+    private void setChoices(JComboBox<Choice> box, String anyLabel, String selected, Map<String, Integer> counts) {
+        updatingChoices = true;
+        try {
+            DefaultComboBoxModel<Choice> model = new DefaultComboBoxModel<>();
+            model.addElement(new Choice(null, anyLabel));
+            Choice selectedChoice = null;
+            for (Map.Entry<String, Integer> count : counts.entrySet()) {
+                Choice choice = new Choice(count.getKey(), String.format("%s (%,d)", count.getKey(), count.getValue()));
+                model.addElement(choice);
+                if (count.getKey().equals(selected)) {
+                    selectedChoice = choice;
+                }
+            }
+            if (selected != null && selectedChoice == null) {
+                // Keep a selection the catalog no longer has, so the filter stays as shown
+                selectedChoice = new Choice(selected, selected + " (0)");
+                model.addElement(selectedChoice);
+            }
+            model.setSelectedItem(selectedChoice != null ? selectedChoice : model.getElementAt(0));
+            box.setModel(model);
+        } finally {
+            updatingChoices = false;
+        }
+    }
+
+    private static String selectedValue(JComboBox<Choice> box) {
+        Choice choice = (Choice) box.getSelectedItem();
+        return choice != null ? choice.value : null;
+    }
+
+    private void clear() {
+        updatingChoices = true;
+        try {
+            platformBox.setSelectedIndex(0);
+            developerBox.setSelectedIndex(0);
+            minPriceField.setText("");
+            maxPriceField.setText("");
+            releasedFromField.setText("");
+            releasedToField.setText("");
+        } finally {
+            updatingChoices = false;
+        }
+        applyFilter();
+    }
+
+    // Reads the controls into a filter and reports it; invalid text is reported and nothing changes
+    private void applyFilter() {
+        if (updatingChoices) {
+            return;
+        }
+        Long minPriceCents;
+        Long maxPriceCents;
+        try {
+            minPriceCents = parsePrice(minPriceField);
+            maxPriceCents = parsePrice(maxPriceField);
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(this, "Invalid price format. Please enter an amount such as 19.99.",
+                    "Validation Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        Date releasedFrom;
+        Date releasedTo;
+        try {
+            releasedFrom = parseDate(releasedFromField);
+            releasedTo = parseDate(releasedToField);
+        } catch (ParseException e) {
+            JOptionPane.showMessageDialog(this, "Invalid release date format. Please use YYYY-MM-DD.",
+                    "Validation Error", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        String platform = selectedValue(platformBox);
+        String developer = selectedValue(developerBox);
+        filter = GameFilter.any()
+                .withPlatforms(platform != null ? Collections.singleton(platform) : null)
+                .withDevelopers(developer != null ? Collections.singleton(developer) : null)
+                .withPriceRange(minPriceCents, maxPriceCents)
+                .withReleaseWindow(releasedFrom, releasedTo);
+        onChange.accept(filter);
+    }
+
+    private static Long parsePrice(JTextField field) {
+        String text = field.getText().trim();
+        return text.isEmpty() ? null : Money.parse(text);
+    }
+
+    private static Date parseDate(JTextField field) throws ParseException {
+        String text = field.getText().trim();
+        if (text.isEmpty()) {
+            return null;
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd");
+        format.setLenient(false);
+        return format.parse(text);
+    }
+}
@@ -4,8 +4,12 @@ import com.project.gamevaultcli.management.GameVaultManagement;
 import com.project.gamevaultcli.management.CartManagement;
 import com.project.gamevaultcli.management.GameManagement;
 import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.management.RecommendationManagement;
+import com.project.gamevaultcli.management.SalesCounters;
+import com.project.gamevaultcli.management.StatisticsManagement;
 import com.project.gamevaultcli.management.TransactionManagement;
 import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultcli.management.WalletManagement;
 import com.project.gamevaultgui.panels.DashboardPanel;
 import com.project.gamevaultgui.panels.DatabaseConnectionPanel;
 import com.project.gamevaultgui.panels.LoginPanel;
@@ -18,7 +22,6 @@ import com.project.gamevaultgui.panels.user.BillingPanel;
 import com.project.gamevaultgui.panels.user.CartPanel;
 import com.project.gamevaultgui.panels.user.UserPanel;
 import com.project.gamevaultcli.entities.User;
-import com.project.gamevaultcli.entities.Transaction;
 import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.exceptions.InvalidUserDataException;
 import com.project.gamevaultcli.exceptions.UserNotFoundException;
@@ -29,10 +32,10 @@ import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.GridBagConstraints;
 import java.awt.Insets;
-import java.time.LocalDateTime;
 
 // Import DBUtil for closing connection
 import com.project.gamevaultcli.helpers.DBUtil;
+import com.project.gamevaultcli.helpers.Money;
 import java.sql.SQLException;
 import java.io.IOException;
 import java.util.List;
@@ -63,6 +66,12 @@ public class GameVaultFrame extends JFrame {
     private final CartManagement cartManagement;
     private final OrderManagement orderManagement;
     private final TransactionManagement transactionManagement;
+    private final StatisticsManagement statisticsManagement;
+    private final WalletManagement walletManagement;
+    private final RecommendationManagement recommendationManagement;
+
+    // Runs panel queries off the EDT
+    private final PanelDataLoader dataLoader = new PanelDataLoader();
 
     private User currentUser;
     private boolean isAdmin = false; // Flag to track if the current perspective is admin
@@ -73,13 +82,19 @@ public class GameVaultFrame extends JFrame {
             GameManagement gameManagement,
             CartManagement cartManagement,
             OrderManagement orderManagement,
-            TransactionManagement transactionManagement) {
+            TransactionManagement transactionManagement,
+            StatisticsManagement statisticsManagement,
+            WalletManagement walletManagement,
+            RecommendationManagement recommendationManagement) {
         this.gameVaultManagement = gameVaultManagement;
         this.userManagement = userManagement;
         this.gameManagement = gameManagement;
         this.cartManagement = cartManagement;
         this.orderManagement = orderManagement;
         this.transactionManagement = transactionManagement;
+        this.statisticsManagement = statisticsManagement;
+        this.walletManagement = walletManagement;
+        this.recommendationManagement = recommendationManagement;
 
         setTitle("Game Vault");
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -98,6 +113,8 @@ public class GameVaultFrame extends JFrame {
         addWindowListener(new WindowAdapter() {
             @Override
             public void windowClosing(WindowEvent e) {
+                dataLoader.shutdown();
+                statisticsManagement.getSalesCounters().stop(); // Save a final snapshot of the sales totals
                 DBUtil.closeConnection(); // Use the imported DBUtil
             }
         });
@@ -115,7 +132,7 @@ public class GameVaultFrame extends JFrame {
         JPanel dbConnectionPanel = new DatabaseConnectionPanel(this);
 
         dashboardPanel = new DashboardPanel(userManagement, gameManagement, orderManagement, transactionManagement,
-                cartManagement, this);
+                cartManagement, statisticsManagement, recommendationManagement, this);
         cartPanel = new CartPanel(cartManagement, gameManagement, this);
         billingPanel = new BillingPanel(orderManagement, transactionManagement, this);
         userPanel = new UserPanel(this, userManagement, transactionManagement);
@@ -125,7 +142,7 @@ public class GameVaultFrame extends JFrame {
 
         // Initialize Admin panels, PASSING MANAGEMENT INSTANCES and the Frame
         manageGamesPanel = new ManageGamesPanel(gameManagement, this); // Pass GameManagement and Frame
-        manageUsersPanel = new ManageUsersPanel(userManagement);
+        manageUsersPanel = new ManageUsersPanel(userManagement, this);
     }
 
     private void addComponentsToFrame() {
@@ -160,6 +177,9 @@ public class GameVaultFrame extends JFrame {
     public void showPanel(String panelName) {
         cardLayout.show(centerPanel, panelName);
 
+        // Results of loads started for the previous panel are no longer wanted
+        dataLoader.cancelAll();
+
         // Update content of panels when shown, using the CardLayout key
         if ("Dashboard".equals(panelName)) {
             dashboardPanel.loadDashboardData(currentUser != null ? currentUser.getUserId() : -1);
@@ -323,38 +343,25 @@ public class GameVaultFrame extends JFrame {
      * Handles adding balance to the current user's wallet.
      * Called from UserPanel.
      * 
-     * @param amount The amount to add (must be positive).
+     * @param amountCents The amount to add in cents (must be positive).
      */
-    public void addBalanceToCurrentUser(float amount) {
+    public void addBalanceToCurrentUser(long amountCents) {
         if (currentUser == null) {
             JOptionPane.showMessageDialog(this, "No user logged in to add balance.", "Error",
                     JOptionPane.ERROR_MESSAGE);
             return;
         }
-        if (amount <= 0) {
+        if (amountCents <= 0) {
             JOptionPane.showMessageDialog(this, "Amount must be positive.", "Validation Error",
                     JOptionPane.WARNING_MESSAGE);
             return;
         }
 
         try {
-            userManagement.updateWalletBalance(currentUser.getUserId(), amount);
-
-            // Re-fetch the user from the database to get the absolutely latest balance
-            this.currentUser = userManagement.getUser(currentUser.getUserId());
-
-            // Record the transaction for the top-up
-            Transaction topupTransaction = new Transaction(
-                    null, // transactionId (will be generated by DB)
-                    null, // orderId (null for top-up transactions)
-                    currentUser.getUserId(),
-                    "Top-up", // Transaction type
-                    amount,
-                    LocalDateTime.now() // Current date/time
-            );
-            transactionManagement.addTransaction(topupTransaction);
-
-            JOptionPane.showMessageDialog(this, String.format("$%.2f added to your wallet!", amount), "Balance Updated",
+            // Credits the wallet and records the Top-up transaction in one database transaction
+            walletManagement.topUp(currentUser.getUserId(), amountCents);
+
+            JOptionPane.showMessageDialog(this, "$" + Money.format(amountCents) + " added to your wallet!", "Balance Updated",
                     JOptionPane.INFORMATION_MESSAGE);
 
             // Refresh the UI (User Profile and potentially Dashboard)
@@ -372,14 +379,15 @@ public class GameVaultFrame extends JFrame {
     }
 
     /**
-     * Refreshes the current user object from the DB and updates relevant panels.
+     * Refreshes the current user object and updates relevant panels. The user
+     * comes from the user cache, which checkout and top-up write through.
      * Called after actions that change user state (like adding balance or
      * purchasing).
      */
     public void refreshCurrentUserAndUI() {
         if (currentUser != null) {
             try {
-                // Re-fetch the user object to get the latest state (especially wallet balance)
+                // Re-read the user object to get the latest state (especially wallet balance)
                 this.currentUser = userManagement.getUser(currentUser.getUserId());
 
                 // Find the currently visible panel and reload its data if applicable
@@ -451,17 +459,9 @@ public class GameVaultFrame extends JFrame {
                 return;
             }
 
-            // Create a new User object with updated username, keeping other fields the same
-            User updatedUser = new User(
-                    currentUser.getUserId(),
-                    currentUser.getEmail(),
-                    currentUser.getPassword(),
-                    newUsername.trim(),
-                    currentUser.getWalletBalance(),
-                    currentUser.getCreatedAt());
-
-            userManagement.updateUser(updatedUser);
-            this.currentUser = updatedUser; // Update the frame's current user object
+            // Only the username is written, so a stale wallet balance in currentUser can't be saved
+            userManagement.updateUsername(currentUser.getUserId(), newUsername);
+            this.currentUser = userManagement.getUser(currentUser.getUserId()); // Reload with the current balance
 
             JOptionPane.showMessageDialog(this, "Username updated successfully!", "Success",
                     JOptionPane.INFORMATION_MESSAGE);
@@ -504,6 +504,10 @@ public class GameVaultFrame extends JFrame {
         return currentUser;
     }
 
+    public PanelDataLoader getDataLoader() {
+        return dataLoader;
+    }
+
     public boolean isAdmin() {
         return isAdmin;
     }
@@ -565,6 +569,10 @@ public class GameVaultFrame extends JFrame {
         return gameVaultManagement;
     }
 
+    public StatisticsManagement getStatisticsManagement() {
+        return statisticsManagement;
+    }
+
     private JPanel createRoleSelectionPanel() {
         JPanel panel = new JPanel(new GridBagLayout());
         panel.setBackground(new Color(230, 235, 240));
@@ -641,11 +649,16 @@ public class GameVaultFrame extends JFrame {
         com.project.gamevaultcli.storage.TransactionStorage transactionStorage = new com.project.gamevaultcli.storage.TransactionStorage();
 
         UserManagement userManagement = new UserManagement(userStorage);
-        GameManagement gameManagement = new GameManagement(gameStorage);
-        CartManagement cartManagement = new CartManagement(cartStorage);
+        SalesCounters salesCounters = new SalesCounters(new com.project.gamevaultcli.storage.SalesCounterStorage());
+        GameManagement gameManagement = new GameManagement(gameStorage, salesCounters);
+        CartManagement cartManagement = new CartManagement(cartStorage, gameStorage);
         TransactionManagement transactionManagement = new TransactionManagement(transactionStorage);
+        StatisticsManagement statisticsManagement = new StatisticsManagement(userStorage, gameStorage,
+                transactionStorage, salesCounters);
+        RecommendationManagement recommendationManagement = new RecommendationManagement(gameStorage);
         OrderManagement orderManagement = new OrderManagement(orderStorage, cartStorage, userStorage,
-                transactionManagement);
+                gameStorage, transactionManagement, salesCounters, recommendationManagement);
+        WalletManagement walletManagement = new WalletManagement(userStorage, transactionStorage, salesCounters);
 
         GameVaultManagement vaultManager = new GameVaultManagement(userManagement, gameManagement, orderManagement,
                 transactionManagement);
@@ -653,7 +666,8 @@ public class GameVaultFrame extends JFrame {
         // Create and show the frame - no database connection attempt here
         SwingUtilities.invokeLater(() -> {
             GameVaultFrame frame = new GameVaultFrame(vaultManager, userManagement, gameManagement, cartManagement,
-                    orderManagement, transactionManagement);
+                    orderManagement, transactionManagement, statisticsManagement, walletManagement,
+                    recommendationManagement);
             frame.setVisible(true);
 
             // Start with the database connection panel
@@ -0,0 +1,304 @@
+package com.project.gamevaultgui;
+
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
+
+import javax.swing.JTable;
+import javax.swing.SwingUtilities;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableColumn;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A read-only table model for tables too big to load at once. Only the row
+ * count is read up front; rows are read a page at a time, on a worker
+ * thread, the first time the table asks for a cell on that page, i.e. when
+ * it scrolls into view. A page that follows a loaded page is read by keyset
+ * from that page's last row, other pages by offset. At most a fixed number of
+ * pages stay in memory; the least recently used ones are dropped and read
+ * again if they come back into view.
+ *
+ * Clicking a sortable column header re-sorts the rows in the database. Cells
+ * of a page that hasn't arrived yet read as null.
+ *
+ * Everything except the page reads runs on the EDT.
+ */
+public class PagedTableModel<T> extends AbstractTableModel {
+
+    // Reads the rows behind the model
+    public interface PageSource<T> {
+        // The number of rows, or -1 if it can't be read
+        long count();
+
+        // One page of rows, or null if it can't be read
+        Page<T> fetch(PageRequest request);
+    }
+
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int DEFAULT_MAX_CACHED_PAGES = 20;
+    // Caps the reads queued while the user drags the scrollbar; pages skipped
+    // meanwhile are requested again by the repaint after a read completes
+    private static final int MAX_PENDING_FETCHES = 4;
+
+    private final String[] columnNames;
+    private final String[] sortColumns;
+    private final PageSource<T> source;
+    private final Function<T, Object[]> rowMapper;
+    private final Executor executor;
+    private final int pageSize;
+
+    private final Map<Integer, LoadedPage> pages;
+    private final Set<Integer> pending = new HashSet<>();
+    private final Set<Integer> failed = new HashSet<>();
+    private boolean deferred = false;
+    private int rowCount = 0;
+    private int sortIndex;
+    private boolean ascending;
+    // Bumped whenever the loaded pages become stale; reads started before are discarded
+    private int generation = 0;
+    private Consumer<String> errorHandler = message -> { };
+
+    /**
+     * @param columnNames The column headers
+     * @param sortColumns The database column behind each table column, or null
+     *                    for columns that can't be sorted
+     * @param source      Reads the rows
+     * @param rowMapper   Turns a row into its cell values; runs on the EDT
+     * @param executor    Runs the reads
+     * @param sortIndex   The column sorted by initially
+     * @param ascending   The initial sort direction
+     */
+    public PagedTableModel(String[] columnNames, String[] sortColumns, PageSource<T> source,
+            Function<T, Object[]> rowMapper, Executor executor, int sortIndex, boolean ascending) {
+        this(columnNames, sortColumns, source, rowMapper, executor, sortIndex, ascending, DEFAULT_PAGE_SIZE,
+                DEFAULT_MAX_CACHED_PAGES);
+    }
+
+    public PagedTableModel(String[] columnNames, String[] sortColumns, PageSource<T> source,
+            Function<T, Object[]> rowMapper, Executor executor, int sortIndex, boolean ascending, int pageSize,
+            int maxCachedPages) {
+        if (columnNames.length != sortColumns.length) {
+            throw new IllegalArgumentException("Every column needs a sort column (or null)");
+        }
+        if (sortColumns[sortIndex] == null) {
+            throw new IllegalArgumentException("Column " + columnNames[sortIndex] + " can't be sorted");
+        }
+        if (pageSize <= 0 || maxCachedPages <= 0) {
+            throw new IllegalArgumentException("Page size and cached pages must be positive");
+        }
+        this.columnNames = columnNames.clone();
+        this.sortColumns = sortColumns.clone();
+        this.source = source;
+        this.rowMapper = rowMapper;
+        this.executor = executor;
+        this.sortIndex = sortIndex;
+        this.ascending = ascending;
+        this.pageSize = pageSize;
+        // Access-ordered, so the eldest entry is the least recently viewed page
+        this.pages = new LinkedHashMap<Integer, LoadedPage>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, LoadedPage> eldest) {
+                return size() > maxCachedPages;
+            }
+        };
+    }
+
+    // Called on the EDT with a message when the count or a page can't be read
+    public void setErrorHandler(Consumer<String> errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /**
+     * Drops the loaded pages and reads the row count again. Pages are read
+     * again as the table asks for them.
+     */
+    public void refresh() {
+        discardPages();
+        int refreshGeneration = generation;
+        submit(source::count, (count, error) -> {
+            if (refreshGeneration != generation) {
+                return;
+            }
+            if (error != null || count < 0) {
+                errorHandler.accept("Could not count the rows");
+                return;
+            }
+            rowCount = (int) Math.min(count, Integer.MAX_VALUE);
+            fireTableDataChanged();
+        });
+    }
+
+    /**
+     * Sorts by a column, or reverses the sort if the table is already sorted
+     * by it. Does nothing for columns that can't be sorted.
+     */
+    public void toggleSort(int column) {
+        if (sortColumns[column] == null) {
+            return;
+        }
+        ascending = column == sortIndex ? !ascending : true;
+        sortIndex = column;
+        // The row count doesn't change, so only the rows need reading again
+        discardPages();
+        if (rowCount > 0) {
+            fireTableRowsUpdated(0, rowCount - 1);
+        }
+    }
+
+    /**
+     * Shows this model in a table. Client-side sorting is turned off, since
+     * it could only sort the pages in memory, and header clicks sort in the
+     * database instead.
+     */
+    public void install(JTable table) {
+        table.setAutoCreateRowSorter(false);
+        table.setRowSorter(null);
+        table.setModel(this);
+        JTableHeader header = table.getTableHeader();
+        if (header.getClientProperty(PagedTableModel.class) == null) {
+            // One listener per table, serving whichever paged model it shows
+            header.putClientProperty(PagedTableModel.class, Boolean.TRUE);
+            header.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int viewColumn = header.columnAtPoint(e.getPoint());
+                    if (viewColumn < 0 || !(table.getModel() instanceof PagedTableModel)) {
+                        return;
+                    }
+                    PagedTableModel<?> model = (PagedTableModel<?>) table.getModel();
+                    model.toggleSort(table.convertColumnIndexToModel(viewColumn));
+                    for (int i = 0; i < table.getColumnCount(); i++) {
+                        TableColumn tableColumn = table.getColumnModel().getColumn(i);
+                        tableColumn.setHeaderValue(model.getColumnName(tableColumn.getModelIndex()));
+                    }
+                    header.repaint();
+                }
+            });
+        }
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    // Marks the sorted column with an arrow
+    @Override
+    public String getColumnName(int column) {
+        if (column != sortIndex) {
+            return columnNames[column];
+        }
+        return columnNames[column] + (ascending ? " ▲" : " ▼");
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int pageIndex = row / pageSize;
+        LoadedPage page = pages.get(pageIndex);
+        if (page == null) {
+            requestPage(pageIndex);
+            return null;
+        }
+        int offset = row % pageSize;
+        return offset < page.rows.length ? page.rows[offset][column] : null;
+    }
+
+    private void requestPage(int pageIndex) {
+        if (pending.contains(pageIndex) || failed.contains(pageIndex)) {
+            return;
+        }
+        if (pending.size() >= MAX_PENDING_FETCHES) {
+            deferred = true;
+            return;
+        }
+
+        // Continue from the page before if it's loaded and full, otherwise seek by offset
+        LoadedPage previous = pages.get(pageIndex - 1);
+        String sortColumn = sortColumns[sortIndex];
+        PageRequest request = previous != null && previous.rows.length == pageSize
+                ? PageRequest.after(previous.cursor, sortColumn, ascending, pageSize)
+                : PageRequest.atOffset(sortColumn, ascending, pageIndex * pageSize, pageSize);
+
+        pending.add(pageIndex);
+        int requestGeneration = generation;
+        submit(() -> source.fetch(request), (page, error) -> {
+            if (requestGeneration != generation) {
+                return;
+            }
+            pending.remove(pageIndex);
+            if (error != null || page == null) {
+                failed.add(pageIndex);
+                errorHandler.accept("Could not read rows " + (pageIndex * pageSize + 1) + " to "
+                        + ((pageIndex + 1) * pageSize));
+            } else {
+                pages.put(pageIndex, new LoadedPage(page, rowMapper));
+            }
+
+            if (deferred) {
+                // Repaint everything visible so skipped pages are requested now
+                deferred = false;
+                if (rowCount > 0) {
+                    fireTableRowsUpdated(0, rowCount - 1);
+                }
+            } else {
+                int first = pageIndex * pageSize;
+                int last = Math.min(first + pageSize, rowCount) - 1;
+                if (first <= last) {
+                    fireTableRowsUpdated(first, last);
+                }
+            }
+        });
+    }
+
+    private void discardPages() {
+        generation++;
+        pages.clear();
+        pending.clear();
+        failed.clear();
+        deferred = false;
+    }
+
+    // Runs a read on the executor and hands its result to the callback on the EDT
+    private <R> void submit(Supplier<R> read, BiConsumer<R, Throwable> callback) {
+        try {
+            CompletableFuture.supplyAsync(read, executor)
+                    .whenComplete((result, error) -> SwingUtilities.invokeLater(() -> callback.accept(result, error)));
+        } catch (RejectedExecutionException e) {
+            // The executor is shut down, i.e. the application is closing
+        }
+    }
+
+    // A loaded page's cell values and the cursor for reading the page after it
+    private static final class LoadedPage {
+        private final Object[][] rows;
+        private final Page<?> cursor;
+
+        private <T> LoadedPage(Page<T> page, Function<T, Object[]> rowMapper) {
+            List<T> pageRows = page.getRows();
+            this.rows = new Object[pageRows.size()][];
+            for (int i = 0; i < rows.length; i++) {
+                rows[i] = rowMapper.apply(pageRows.get(i));
+            }
+            this.cursor = page;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.project.gamevaultgui;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs the database queries behind the GUI panels on a small worker pool so
+ * the event dispatch thread never waits on MySQL.
+ * A panel starts a {@link Load}, fetches each independent query with
+ * {@link Load#fetch} (they run in parallel) and hands the combined result to
+ * {@link Load#publish}, which applies it on the EDT. Starting a new load for a
+ * panel cancels its previous one, and {@link #cancelAll()} drops every
+ * pending load when the user switches panels, so stale results are never
+ * shown.
+ */
+public class PanelDataLoader {
+
+    // Enough for the dashboard's queries to run side by side without
+    // borrowing the whole connection pool
+    private static final int DEFAULT_THREADS = 4;
+
+    private final ExecutorService executor;
+    private final Map<String, Load> current = new ConcurrentHashMap<>();
+
+    public PanelDataLoader() {
+        this(DEFAULT_THREADS);
+    }
+
+    public PanelDataLoader(int threads) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "gamevault-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts a new load for a panel, cancelling the panel's previous load if
+     * it is still running.
+     *
+     * @param key Identifies the panel, e.g. its CardLayout name
+     * @return The new load
+     */
+    public Load start(String key) {
+        Load load = new Load();
+        Load previous = current.put(key, load);
+        if (previous != null) {
+            previous.cancel();
+        }
+        return load;
+    }
+
+    // Cancels the running load of one panel, if any
+    public void cancel(String key) {
+        Load load = current.remove(key);
+        if (load != null) {
+            load.cancel();
+        }
+    }
+
+    // Cancels every running load; called when the visible panel changes
+    public void cancelAll() {
+        for (String key : current.keySet()) {
+            cancel(key);
+        }
+    }
+
+    // The worker pool, for components that schedule their own queries (e.g. PagedTableModel)
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public void shutdown() {
+        cancelAll();
+        executor.shutdownNow();
+    }
+
+    /**
+     * One panel's set of queries. Once cancelled, queued queries are dropped
+     * and results of queries already running are discarded. Running queries
+     * are not interrupted, since interrupting a thread in the middle of JDBC
+     * I/O can leave the pooled connection unusable.
+     */
+    public final class Load {
+        private final List<CompletableFuture<?>> futures = new CopyOnWriteArrayList<>();
+        private volatile boolean cancelled = false;
+
+        /**
+         * Runs a query on the worker pool.
+         *
+         * @param query The query; it may throw checked exceptions
+         * @return A future completing with the query's result
+         */
+        public <T> CompletableFuture<T> fetch(Callable<T> query) {
+            CompletableFuture<T> future = CompletableFuture.supplyAsync(() -> {
+                if (cancelled) {
+                    throw new CompletionException(new IllegalStateException("Load cancelled"));
+                }
+                try {
+                    return query.call();
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+            futures.add(future);
+            if (cancelled) {
+                future.cancel(false);
+            }
+            return future;
+        }
+
+        /**
+         * Hands the result to onSuccess, or the failure to onError, on the EDT.
+         * Nothing is called if the load was cancelled in the meantime.
+         *
+         * @param result    The combined result of this load's queries
+         * @param onSuccess Applies the result to the panel
+         * @param onError   Reports a failure; receives the underlying exception
+         */
+        public <T> void publish(CompletableFuture<T> result, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+            result.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+                if (cancelled) {
+                    return;
+                }
+                if (error == null) {
+                    onSuccess.accept(value);
+                } else {
+                    onError.accept(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            }));
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            for (CompletableFuture<?> future : futures) {
+                future.cancel(false);
+            }
+        }
+    }
+}
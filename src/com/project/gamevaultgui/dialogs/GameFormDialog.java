@@ -1,6 +1,7 @@
 package com.project.gamevaultgui.dialogs;
 
 import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.helpers.Money;
 import com.project.gamevaultcli.management.GameManagement;
 
 import javax.swing.*;
@@ -229,7 +230,7 @@ public class GameFormDialog extends JDialog {
         descriptionField.setText(game.getDescription());
         developerField.setText(game.getDeveloper());
         platformField.setText(game.getPlatform());
-        priceField.setText(String.valueOf(game.getPrice()));
+        priceField.setText(Money.format(game.getPriceCents()));
         releaseDateField.setText((game.getReleaseDate() != null) ? DATE_FORMAT.format(game.getReleaseDate()) : "");
         saveButton.setText("Save Changes"); // Change button text in edit mode
     }
@@ -253,16 +254,16 @@ public class GameFormDialog extends JDialog {
             return;
         }
 
-        float price;
+        long priceCents;
         try {
-            price = Float.parseFloat(priceText);
-            if (price < 0) {
+            priceCents = Money.parse(priceText);
+            if (priceCents < 0) {
                 JOptionPane.showMessageDialog(this, "Price must be a positive number.", "Validation Error",
                         JOptionPane.WARNING_MESSAGE);
                 return;
             }
         } catch (NumberFormatException e) {
-            JOptionPane.showMessageDialog(this, "Invalid price format. Please enter a number.", "Validation Error",
+            JOptionPane.showMessageDialog(this, "Invalid price format. Please enter an amount such as 19.99.", "Validation Error",
                     JOptionPane.WARNING_MESSAGE);
             return;
         }
@@ -281,14 +282,14 @@ public class GameFormDialog extends JDialog {
             if (isEditing) {
                 // --- Update Existing Game ---
                 int gameId = Integer.parseInt(idField.getText()); // Get the ID from the hidden field
-                game = new Game(gameId, title, description, developer, platform, price, releaseDate);
+                game = new Game(gameId, title, description, developer, platform, priceCents, releaseDate);
                 gameManagement.updateGame(game);
                 // JOptionPane.showMessageDialog(this, "Game updated successfully!", "Success",
                 // JOptionPane.INFORMATION_MESSAGE); // Success message shown on panel after
                 // dialog closes
             } else {
                 // --- Add New Game ---
-                game = new Game(title, description, developer, platform, price, releaseDate);
+                game = new Game(title, description, developer, platform, priceCents, releaseDate);
                 gameManagement.addGame(game); // The addGame method should set the new ID on the game object
                 // JOptionPane.showMessageDialog(this, "Game added successfully!", "Success",
                 // JOptionPane.INFORMATION_MESSAGE); // Success message shown on panel after
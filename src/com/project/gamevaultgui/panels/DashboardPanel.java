@@ -6,15 +6,28 @@ import com.project.gamevaultcli.entities.Transaction;
 import com.project.gamevaultcli.entities.User;
 import com.project.gamevaultcli.management.GameManagement;
 import com.project.gamevaultcli.management.OrderManagement;
+import com.project.gamevaultcli.management.RecommendationManagement;
+import com.project.gamevaultcli.management.StatisticsManagement;
 import com.project.gamevaultcli.management.TransactionManagement;
+import com.project.gamevaultcli.management.TrendingSales;
 import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultgui.GameFilterBar;
 import com.project.gamevaultgui.GameVaultFrame;
+import com.project.gamevaultgui.PagedTableModel;
+import com.project.gamevaultgui.PanelDataLoader;
 import com.project.gamevaultcli.management.CartManagement;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -24,17 +37,40 @@ import java.awt.event.MouseEvent;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 
 public class DashboardPanel extends JPanel {
 
+    // PanelDataLoader key of the search and filter queries
+    private static final String GAME_LIST_LOAD = "DashboardGameList";
+    // Most search results shown in the games table
+    private static final int SEARCH_RESULT_LIMIT = 100;
+    // Search results read while a filter is set, which may reject most of them
+    private static final int FILTERED_SEARCH_LIMIT = 1000;
+    // PanelDataLoader key of the "customers also bought" query for the selected game
+    private static final String ALSO_BOUGHT_LOAD = "DashboardAlsoBought";
+    // Games shown in the recommendations table and the "customers also bought" line
+    private static final int RECOMMENDATION_LIMIT = 10;
+    private static final int ALSO_BOUGHT_LIMIT = 5;
+    // PanelDataLoader key of the trending query when its window is changed
+    private static final String TRENDING_LOAD = "DashboardTrending";
+    private static final int TRENDING_LIMIT = 10;
+    // The trending windows offered, with their labels
+    private static final TrendingSales.Window[] TRENDING_WINDOWS = {
+            TrendingSales.Window.LAST_HOUR, TrendingSales.Window.LAST_DAY, TrendingSales.Window.LAST_WEEK };
+    private static final String[] TRENDING_WINDOW_LABELS = { "Last hour", "Last 24 hours", "Last 7 days" };
+
     private final UserManagement userManagement;
     private final GameManagement gameManagement;
     private final OrderManagement orderManagement;
     private final TransactionManagement transactionManagement;
     private final CartManagement cartManagement;
+    private final StatisticsManagement statisticsManagement;
+    private final RecommendationManagement recommendationManagement;
     private final GameVaultFrame parentFrame; // Parent frame reference
 
     // Summary labels
@@ -46,16 +82,37 @@ public class DashboardPanel extends JPanel {
     private JTable gamesTable;
     private DefaultTableModel gamesTableModel;
     private JScrollPane gamesScrollPane;
+    private JTextField searchField;
+    private GameFilterBar filterBar;
+    // The games from the last dashboard load, shown again when the search is cleared
+    private List<Game> availableGames = new ArrayList<>();
+    // The user the dashboard was last loaded for, or -1 for the admin view
+    private int viewUserId = -1;
 
     // Owned Games table
     private JTable ownedGamesTable;
     private DefaultTableModel ownedGamesTableModel;
     private JScrollPane ownedGamesScrollPane;
 
+    // Recommendations for the user, and games bought with the selected one
+    private JTable recommendedGamesTable;
+    private DefaultTableModel recommendedGamesTableModel;
+    private JScrollPane recommendedGamesScrollPane;
+    private JLabel alsoBoughtLabel;
+
+    // Best selling games over a recent window, for everyone
+    private JTable trendingGamesTable;
+    private DefaultTableModel trendingGamesTableModel;
+    private JComboBox<String> trendingWindowBox;
+    private JPanel trendingPanel;
+
     private JTable recentOrdersTable;
     private JTable recentTransactionsTable;
     private DefaultTableModel ordersTableModel;
     private DefaultTableModel transactionsTableModel;
+    // The admin view pages through every order and transaction instead of loading them all
+    private PagedTableModel<Order> allOrdersTableModel;
+    private PagedTableModel<Transaction> allTransactionsTableModel;
     private JScrollPane ordersScrollPane;
     private JScrollPane transactionsScrollPane;
 
@@ -63,12 +120,16 @@ public class DashboardPanel extends JPanel {
     private JButton addToCartButton;
 
     public DashboardPanel(UserManagement userManagement, GameManagement gameManagement, OrderManagement orderManagement,
-            TransactionManagement transactionManagement, CartManagement cartManagement, GameVaultFrame parentFrame) {
+            TransactionManagement transactionManagement, CartManagement cartManagement,
+            StatisticsManagement statisticsManagement, RecommendationManagement recommendationManagement,
+            GameVaultFrame parentFrame) {
         this.userManagement = userManagement;
         this.gameManagement = gameManagement;
         this.orderManagement = orderManagement;
         this.transactionManagement = transactionManagement;
         this.cartManagement = cartManagement;
+        this.statisticsManagement = statisticsManagement;
+        this.recommendationManagement = recommendationManagement;
         this.parentFrame = parentFrame;
 
         setLayout(new BorderLayout());
@@ -111,6 +172,9 @@ public class DashboardPanel extends JPanel {
                 TitledBorder.LEADING, TitledBorder.TOP,
                 new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
         customizeTable(gamesTable);
+        searchField = new JTextField(30);
+        searchField.setToolTipText("Search titles, developers, platforms and descriptions");
+        filterBar = new GameFilterBar(filter -> refreshGameList());
 
         // --- Owned Games Table ---
         ownedGamesTableModel = new DefaultTableModel(new Object[] { "ID", "Title", "Developer", "Platform" }, 0) {
@@ -128,6 +192,49 @@ public class DashboardPanel extends JPanel {
                 new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
         customizeTable(ownedGamesTable);
 
+        // --- Recommended Games Table ---
+        recommendedGamesTableModel = new DefaultTableModel(new Object[] { "ID", "Title", "Developer", "Price" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        recommendedGamesTable = new JTable(recommendedGamesTableModel);
+        recommendedGamesScrollPane = new JScrollPane(recommendedGamesTable);
+        recommendedGamesScrollPane.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(180, 180, 180), 1),
+                "Recommended for You",
+                TitledBorder.LEADING, TitledBorder.TOP,
+                new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
+        customizeTable(recommendedGamesTable);
+        alsoBoughtLabel = new JLabel(" ");
+        alsoBoughtLabel.setFont(new Font("SansSerif", Font.ITALIC, 13));
+        alsoBoughtLabel.setForeground(new Color(50, 50, 50));
+
+        // --- Trending Games Table ---
+        trendingGamesTableModel = new DefaultTableModel(new Object[] { "#", "Title", "Platform", "Units Sold" }, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        trendingGamesTable = new JTable(trendingGamesTableModel);
+        customizeTable(trendingGamesTable);
+        trendingWindowBox = new JComboBox<>(TRENDING_WINDOW_LABELS);
+        trendingWindowBox.setSelectedIndex(1);
+        trendingPanel = new JPanel(new BorderLayout(0, 5));
+        trendingPanel.setOpaque(false);
+        trendingPanel.setBorder(BorderFactory.createTitledBorder(
+                BorderFactory.createLineBorder(new Color(180, 180, 180), 1),
+                "Trending",
+                TitledBorder.LEADING, TitledBorder.TOP,
+                new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
+        JPanel trendingWindowPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        trendingWindowPanel.setOpaque(false);
+        trendingWindowPanel.add(trendingWindowBox);
+        trendingPanel.add(trendingWindowPanel, BorderLayout.NORTH);
+        trendingPanel.add(new JScrollPane(trendingGamesTable), BorderLayout.CENTER);
+
         // --- Recent Orders Table ---
         ordersTableModel = new DefaultTableModel(new Object[] { "Order ID", "User ID", "Total Amount", "Order Date" },
                 0);
@@ -152,6 +259,56 @@ public class DashboardPanel extends JPanel {
                 new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
         customizeTable(recentTransactionsTable);
 
+        // --- Paged models for the admin view, newest first ---
+        allOrdersTableModel = new PagedTableModel<>(
+                new String[] { "Order ID", "User ID", "Total Amount", "Order Date" },
+                new String[] { "orderId", "userId", "totalAmount", "orderDate" },
+                new PagedTableModel.PageSource<Order>() {
+                    @Override
+                    public long count() {
+                        return orderManagement.getOrderCount();
+                    }
+
+                    @Override
+                    public Page<Order> fetch(PageRequest request) {
+                        return orderManagement.getOrderPage(request);
+                    }
+                },
+                order -> new Object[] {
+                        order.getOrderId(),
+                        order.getUserId(),
+                        Money.format(order.getTotalAmountCents()),
+                        order.getOrderDate()
+                },
+                parentFrame.getDataLoader().getExecutor(), 0, false);
+        allTransactionsTableModel = new PagedTableModel<>(
+                new String[] { "Transaction ID", "Order ID", "User ID", "Type", "Amount", "Date" },
+                new String[] { "transactionId", "orderId", "userId", "transactionType", "amount", "transactionDate" },
+                new PagedTableModel.PageSource<Transaction>() {
+                    @Override
+                    public long count() {
+                        return transactionManagement.getTransactionCount();
+                    }
+
+                    @Override
+                    public Page<Transaction> fetch(PageRequest request) {
+                        return transactionManagement.getTransactionPage(request);
+                    }
+                },
+                transaction -> new Object[] {
+                        transaction.getTransactionId(),
+                        transaction.getOrderId(),
+                        transaction.getUserId(),
+                        transaction.getTransactionType(),
+                        Money.format(transaction.getAmountCents()),
+                        transaction.getTransactionDate()
+                },
+                parentFrame.getDataLoader().getExecutor(), 0, false);
+        allOrdersTableModel.setErrorHandler(message -> JOptionPane.showMessageDialog(this,
+                "Error loading orders: " + message, "Error", JOptionPane.ERROR_MESSAGE));
+        allTransactionsTableModel.setErrorHandler(message -> JOptionPane.showMessageDialog(this,
+                "Error loading transactions: " + message, "Error", JOptionPane.ERROR_MESSAGE));
+
         // --- Button component ---
         addToCartButton = new JButton("Add Selected Game to Cart");
         addToCartButton.setFont(new Font("SansSerif", Font.BOLD, 14));
@@ -213,16 +370,35 @@ public class DashboardPanel extends JPanel {
         // Panel for the game list table and the "Add to Cart" button
         JPanel gameListPanel = new JPanel(new BorderLayout(0, 8));
         gameListPanel.setOpaque(false);
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT, 5, 0));
+        searchPanel.setOpaque(false);
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
+        JPanel findPanel = new JPanel(new GridLayout(2, 1, 0, 5));
+        findPanel.setOpaque(false);
+        findPanel.add(searchPanel);
+        findPanel.add(filterBar);
+        gameListPanel.add(findPanel, BorderLayout.NORTH);
         gameListPanel.add(gamesScrollPane, BorderLayout.CENTER);
         JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
         buttonPanel.setOpaque(false);
         buttonPanel.add(addToCartButton);
-        gameListPanel.add(buttonPanel, BorderLayout.SOUTH);
-
-        // Panel for owned games
-        JPanel ownedGamesPanel = new JPanel(new BorderLayout(0, 8));
+        JPanel gameActionsPanel = new JPanel(new BorderLayout(0, 5));
+        gameActionsPanel.setOpaque(false);
+        gameActionsPanel.add(alsoBoughtLabel, BorderLayout.NORTH);
+        gameActionsPanel.add(buttonPanel, BorderLayout.CENTER);
+        gameListPanel.add(gameActionsPanel, BorderLayout.SOUTH);
+
+        // Panel for owned games, recommendations and trending games, side by side;
+        // BoxLayout leaves no gap where the admin view hides the first two
+        JPanel ownedGamesPanel = new JPanel();
+        ownedGamesPanel.setLayout(new BoxLayout(ownedGamesPanel, BoxLayout.X_AXIS));
         ownedGamesPanel.setOpaque(false);
-        ownedGamesPanel.add(ownedGamesScrollPane, BorderLayout.CENTER);
+        ownedGamesPanel.add(ownedGamesScrollPane);
+        ownedGamesPanel.add(Box.createRigidArea(new Dimension(10, 0)));
+        ownedGamesPanel.add(recommendedGamesScrollPane);
+        ownedGamesPanel.add(Box.createRigidArea(new Dimension(10, 0)));
+        ownedGamesPanel.add(trendingPanel);
 
         // Panel for orders and transactions tables
         JPanel ordersTransactionsPanel = new JPanel(new GridLayout(1, 2, 10, 0));
@@ -248,6 +424,33 @@ public class DashboardPanel extends JPanel {
     }
 
     private void setupEventHandlers() {
+        // Search as the user types
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                refreshGameList();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                refreshGameList();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                refreshGameList();
+            }
+        });
+
+        trendingWindowBox.addActionListener(e -> refreshTrending());
+
+        // Show what else buyers of the selected game bought
+        gamesTable.getSelectionModel().addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                showAlsoBought();
+            }
+        });
+
         addToCartButton.addActionListener(new ActionListener() {
             @Override
             public void actionPerformed(ActionEvent e) {
@@ -278,7 +481,13 @@ public class DashboardPanel extends JPanel {
                         return;
                     }
 
-                    cartManagement.addGameToCart(currentUser.getUserId(), gameId);
+                    if (!cartManagement.addGameToCart(currentUser.getUserId(), gameId)) {
+                        JOptionPane.showMessageDialog(DashboardPanel.this,
+                                "'" + gameTitle + "' is already in your cart.",
+                                "Already in Cart",
+                                JOptionPane.INFORMATION_MESSAGE);
+                        return;
+                    }
 
                     JOptionPane.showMessageDialog(DashboardPanel.this, "'" + gameTitle + "' added to your cart!",
                             "Added to Cart", JOptionPane.INFORMATION_MESSAGE);
@@ -292,185 +501,365 @@ public class DashboardPanel extends JPanel {
         });
     }
 
-    public void loadDashboardData(int currentUserId) {
-        try {
-            // Load user count
-            List<User> users = userManagement.getAllUsers();
-            userCountLabel.setText("Total Users: " + users.size());
-
-            // Get owned games first (if a user is logged in)
-            List<Game> ownedGames = new ArrayList<>();
-            if (currentUserId != -1) {
-                ownedGames = gameManagement.getOwnedGames(currentUserId);
+    /**
+     * Shows the available games matching the search field and the filter
+     * bar, or the games of the last load when both are empty, and refreshes
+     * the filter's counts. The queries run on the frame's PanelDataLoader;
+     * each change starts a new load, which discards the previous one's
+     * results if they haven't been shown yet.
+     */
+    private void refreshGameList() {
+        String query = searchField.getText().trim();
+        GameFilter filter = filterBar.getFilter();
+        int userId = viewUserId;
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start(GAME_LIST_LOAD);
+        // The counts cover the whole catalog, including games the user owns
+        CompletableFuture<GameFacets> facets = load.fetch(() -> gameManagement.getGameFacets(filter));
+        load.publish(facets, filterBar::setFacets, e -> e.printStackTrace());
+        if (query.isEmpty() && filter.isEmpty()) {
+            showGames(availableGames);
+            return;
+        }
+
+        CompletableFuture<List<Game>> games = load.fetch(() -> {
+            List<Game> matches;
+            if (query.isEmpty()) {
+                Page<Game> page = gameManagement.getGamePage(filter,
+                        PageRequest.atOffset("gameId", true, 0, Integer.MAX_VALUE));
+                matches = page != null ? page.getRows() : Collections.<Game>emptyList();
+            } else {
+                // Ask for enough extra results to fill the table after leaving out
+                // the games the filter rejects and the games the user owns
+                int limit = filter.isEmpty() ? SEARCH_RESULT_LIMIT : FILTERED_SEARCH_LIMIT;
+                if (userId != -1) {
+                    limit += gameManagement.getOwnedGames(userId).size();
+                }
+                matches = gameManagement.searchGames(query, limit);
             }
+            List<Game> available = new ArrayList<>();
+            for (Game game : matches) {
+                if (!query.isEmpty() && (available.size() == SEARCH_RESULT_LIMIT || !filter.matches(game))) {
+                    continue;
+                }
+                if (userId == -1 || !gameManagement.isGameOwnedByUser(userId, game.getGameId())) {
+                    available.add(game);
+                }
+            }
+            return available;
+        });
+        load.publish(games, this::showGames, e -> {
+            JOptionPane.showMessageDialog(this, "Error searching games: " + e.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            e.printStackTrace();
+        });
+    }
 
-            // Load all games and display in the games table (filtering out owned ones for
-            // users)
-            List<Game> allGames = gameManagement.getAllGames();
-            gameCountLabel.setText("Total Games: " + allGames.size());
-            gamesTableModel.setRowCount(0);
-
-            for (Game game : allGames) {
-                // Skip games the user already owns (only for logged-in users)
-                if (currentUserId != -1) {
-                    // Check if this game is in the owned games list
-                    boolean isOwned = ownedGames.stream()
-                            .anyMatch(ownedGame -> ownedGame.getGameId() == game.getGameId());
-
-                    if (isOwned) {
-                        continue; // Skip this game, the user already owns it
+    /**
+     * Fills the "customers also bought" line for the game selected in the
+     * games table, leaving out games the user owns. Runs in the background
+     * like the other dashboard queries; a newer selection discards it.
+     */
+    private void showAlsoBought() {
+        int selectedRow = gamesTable.getSelectedRow();
+        if (selectedRow == -1) {
+            parentFrame.getDataLoader().cancel(ALSO_BOUGHT_LOAD);
+            alsoBoughtLabel.setText(" ");
+            return;
+        }
+        int gameId = (int) gamesTableModel.getValueAt(gamesTable.convertRowIndexToModel(selectedRow), 0);
+        int userId = viewUserId;
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start(ALSO_BOUGHT_LOAD);
+        CompletableFuture<List<Game>> alsoBought = load.fetch(() -> userId != -1
+                ? recommendationManagement.getAlsoBought(gameId, userId, ALSO_BOUGHT_LIMIT)
+                : recommendationManagement.getAlsoBought(gameId, ALSO_BOUGHT_LIMIT));
+        load.publish(alsoBought, games -> {
+            if (games.isEmpty()) {
+                alsoBoughtLabel.setText(" ");
+                return;
+            }
+            StringBuilder text = new StringBuilder("Customers who bought this also bought: ");
+            for (int i = 0; i < games.size(); i++) {
+                text.append(i > 0 ? ", " : "").append(games.get(i).getTitle());
+            }
+            alsoBoughtLabel.setText(text.toString());
+        }, e -> e.printStackTrace());
+    }
+
+    // The trending window picked in the combo box
+    private TrendingSales.Window selectedTrendingWindow() {
+        return TRENDING_WINDOWS[Math.max(trendingWindowBox.getSelectedIndex(), 0)];
+    }
+
+    // Reloads the trending table for the picked window, in the background
+    private void refreshTrending() {
+        TrendingSales.Window window = selectedTrendingWindow();
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start(TRENDING_LOAD);
+        load.publish(load.fetch(() -> gameManagement.getTrendingGames(window, TRENDING_LIMIT)),
+                this::showTrending, e -> {
+                    JOptionPane.showMessageDialog(this, "Error loading trending games: " + e.getMessage(), "Error",
+                            JOptionPane.ERROR_MESSAGE);
+                    e.printStackTrace();
+                });
+    }
+
+    // Fills the trending table; runs on the EDT
+    private void showTrending(List<GameManagement.TopSeller> topSellers) {
+        trendingGamesTableModel.setRowCount(0);
+        int rank = 1;
+        for (GameManagement.TopSeller topSeller : topSellers) {
+            trendingGamesTableModel.addRow(new Object[] {
+                    rank++,
+                    topSeller.getGame().getTitle(),
+                    topSeller.getGame().getPlatform(),
+                    topSeller.getUnitsSold()
+            });
+        }
+    }
+
+    // Everything the dashboard shows, fetched off the EDT by loadDashboardData
+    private static final class DashboardData {
+        private long userCount;
+        private long gameCount;
+        private long totalRevenueCents;
+        private List<Game> availableGames;
+        private List<Game> ownedGames;
+        private List<Game> recommendedGames;
+        private TrendingSales.Window trendingWindow;
+        private List<GameManagement.TopSeller> trendingGames;
+        private List<Order> orders;
+        private List<Transaction> transactions;
+    }
+
+    /**
+     * Loads the dashboard in the background. The queries run in parallel on the
+     * frame's PanelDataLoader and the tables are filled on the EDT once all of
+     * them have finished. A newer call, or switching to another panel, discards
+     * the result of a load that is still running.
+     *
+     * @param currentUserId The logged-in user's ID, or -1 for the admin view
+     */
+    public void loadDashboardData(int currentUserId) {
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start("Dashboard");
+        boolean isUserView = currentUserId != -1;
+        viewUserId = currentUserId;
+
+        // The summary figures are SQL aggregates, so they cost the same however big the shop is
+        CompletableFuture<Long> gameCount = load.fetch(statisticsManagement::getGameCount);
+        // Read from the in-memory sales windows, never from OrderItems
+        TrendingSales.Window trendingWindow = selectedTrendingWindow();
+        CompletableFuture<List<GameManagement.TopSeller>> trendingGames = load
+                .fetch(() -> gameManagement.getTrendingGames(trendingWindow, TRENDING_LIMIT));
+        CompletableFuture<Long> userCount;
+        CompletableFuture<Long> totalRevenueCents;
+        CompletableFuture<List<Game>> availableGames;
+        CompletableFuture<List<Game>> ownedGames;
+        CompletableFuture<List<Game>> recommendedGames;
+        CompletableFuture<List<Order>> orders;
+        CompletableFuture<List<Transaction>> transactions;
+        if (isUserView) {
+            userCount = CompletableFuture.completedFuture(-1L);
+            totalRevenueCents = CompletableFuture.completedFuture(-1L);
+            // Filter out games the user already owns, using the user's owned-games index
+            availableGames = load.fetch(() -> {
+                List<Game> available = new ArrayList<>();
+                for (Game game : gameManagement.getAllGames()) {
+                    if (!gameManagement.isGameOwnedByUser(currentUserId, game.getGameId())) {
+                        available.add(game);
                     }
                 }
+                return available;
+            });
+            ownedGames = load.fetch(() -> gameManagement.getOwnedGames(currentUserId));
+            // Served from the in-memory co-purchase counts, so this costs no queries once they're loaded
+            recommendedGames = load.fetch(
+                    () -> recommendationManagement.getRecommendations(currentUserId, RECOMMENDATION_LIMIT));
+            orders = load.fetch(() -> orderManagement.getOrdersByUser(currentUserId));
+            transactions = load.fetch(() -> transactionManagement.getTransactionsByUser(currentUserId));
+        } else {
+            userCount = load.fetch(statisticsManagement::getUserCount);
+            totalRevenueCents = load.fetch(statisticsManagement::getTotalRevenueCents);
+            availableGames = load.fetch(gameManagement::getAllGames);
+            ownedGames = CompletableFuture.completedFuture(null);
+            recommendedGames = CompletableFuture.completedFuture(null);
+            // The paged tables read their own rows as they scroll
+            orders = CompletableFuture.completedFuture(null);
+            transactions = CompletableFuture.completedFuture(null);
+        }
 
-                // Add the game to the available games table
-                String releaseDateStr = (game.getReleaseDate() != null)
-                        ? new SimpleDateFormat("yyyy-MM-dd").format(game.getReleaseDate())
-                        : "N/A";
-                gamesTableModel.addRow(new Object[] {
+        CompletableFuture<DashboardData> result = CompletableFuture
+                .allOf(gameCount, userCount, totalRevenueCents, availableGames, ownedGames, recommendedGames,
+                        trendingGames, orders, transactions)
+                .thenApply(ignored -> {
+                    DashboardData data = new DashboardData();
+                    data.gameCount = gameCount.join();
+                    data.userCount = userCount.join();
+                    data.totalRevenueCents = totalRevenueCents.join();
+                    data.availableGames = availableGames.join();
+                    data.ownedGames = ownedGames.join();
+                    data.recommendedGames = recommendedGames.join();
+                    data.trendingWindow = trendingWindow;
+                    data.trendingGames = trendingGames.join();
+                    data.orders = orders.join();
+                    data.transactions = transactions.join();
+                    return data;
+                });
+
+        load.publish(result, data -> showDashboardData(data, isUserView), e -> {
+            JOptionPane.showMessageDialog(this, "Error loading dashboard data: " + e.getMessage(), "Error",
+                    JOptionPane.ERROR_MESSAGE);
+            e.printStackTrace();
+        });
+    }
+
+    // Fills the available games table; runs on the EDT
+    private void showGames(List<Game> games) {
+        gamesTableModel.setRowCount(0);
+        SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+        for (Game game : games) {
+            String releaseDateStr = (game.getReleaseDate() != null)
+                    ? dateFormat.format(game.getReleaseDate())
+                    : "N/A";
+            gamesTableModel.addRow(new Object[] {
+                    game.getGameId(),
+                    game.getTitle(),
+                    game.getDeveloper(),
+                    game.getPlatform(),
+                    Money.format(game.getPriceCents()),
+                    releaseDateStr
+            });
+        }
+    }
+
+    // Fills the labels and tables from a finished load; runs on the EDT
+    private void showDashboardData(DashboardData data, boolean isUserView) {
+        gameCountLabel.setText("Total Games: " + (data.gameCount >= 0 ? data.gameCount : "N/A"));
+        availableGames = data.availableGames;
+        // Re-run any search and filter so they reflect this load (e.g. a game bought since)
+        refreshGameList();
+        if (data.trendingWindow == selectedTrendingWindow()) {
+            // Otherwise the window was changed mid-load and refreshTrending() fills the table
+            showTrending(data.trendingGames);
+        }
+
+        // Load owned games if a user is logged in
+        ownedGamesTableModel.setRowCount(0);
+        recommendedGamesTableModel.setRowCount(0);
+        if (isUserView) {
+            for (Game game : data.ownedGames) {
+                ownedGamesTableModel.addRow(new Object[] {
                         game.getGameId(),
                         game.getTitle(),
                         game.getDeveloper(),
-                        game.getPlatform(),
-                        String.format("%.2f", game.getPrice()),
-                        releaseDateStr
+                        game.getPlatform()
                 });
             }
-
-            // Load owned games if a user is logged in
-            ownedGamesTableModel.setRowCount(0);
-            if (currentUserId != -1) {
-                for (Game game : ownedGames) {
-                    ownedGamesTableModel.addRow(new Object[] {
-                            game.getGameId(),
-                            game.getTitle(),
-                            game.getDeveloper(),
-                            game.getPlatform()
-                    });
-                }
-                // Show owned games panel for users
-                ownedGamesScrollPane.setVisible(true);
-            } else {
-                // Hide owned games panel for admins
-                ownedGamesScrollPane.setVisible(false);
+            for (Game game : data.recommendedGames) {
+                recommendedGamesTableModel.addRow(new Object[] {
+                        game.getGameId(),
+                        game.getTitle(),
+                        game.getDeveloper(),
+                        Money.format(game.getPriceCents())
+                });
             }
+            // Show owned games and recommendations panels for users
+            ownedGamesScrollPane.setVisible(true);
+            recommendedGamesScrollPane.setVisible(true);
+        } else {
+            // Hide owned games and recommendations panels for admins
+            ownedGamesScrollPane.setVisible(false);
+            recommendedGamesScrollPane.setVisible(false);
+        }
 
-            // Rest of the method (load total revenue, orders, transactions) remains
-            // unchanged
-            // Load total revenue
-            List<Transaction> transactions = transactionManagement.getAllTransactions();
-            double totalRevenue = transactions.stream()
-                    .filter(t -> "Purchase".equals(t.getTransactionType()))
-                    .mapToDouble(Transaction::getAmount)
-                    .sum();
-            totalRevenueLabel.setText(String.format("Total Revenue: $%.2f", totalRevenue));
-
-            // Clear previous order and transaction data
-            ordersTableModel.setRowCount(0);
-            transactionsTableModel.setRowCount(0);
-
-            // Decide which orders/transactions to show based on isAdmin status (derived
-            // from currentUserId check)
-            if (currentUserId != -1) { // User view: Show only user's orders and transactions
-                // Hide user count and revenue labels for regular users
-                userCountLabel.setVisible(false);
-                totalRevenueLabel.setVisible(false);
-
-                List<Order> allOrders = orderManagement.getAllOrders();
-                if (allOrders != null) {
-                    for (Order order : allOrders) {
-                        if (order.getUserId() == currentUserId) {
-                            ordersTableModel.addRow(new Object[] {
-                                    order.getOrderId(),
-                                    String.format("%.2f", order.getTotalAmount()),
-                                    order.getOrderDate()
-                            });
-                        }
-                    }
-                }
+        // Clear previous order and transaction data
+        ordersTableModel.setRowCount(0);
+        transactionsTableModel.setRowCount(0);
 
-                List<Transaction> allTransactions = transactionManagement.getAllTransactions();
-                if (allTransactions != null) {
-                    for (Transaction transaction : allTransactions) {
-                        if (transaction.getUserId() == currentUserId) {
-                            transactionsTableModel.addRow(new Object[] {
-                                    transaction.getTransactionId(),
-                                    transaction.getOrderId(),
-                                    transaction.getTransactionType(),
-                                    String.format("%.2f", transaction.getAmount()),
-                                    transaction.getTransactionDate()
-                            });
-                        }
-                    }
-                }
+        if (isUserView) { // User view: Show only user's orders and transactions
+            showTableModel(recentOrdersTable, ordersTableModel);
+            showTableModel(recentTransactionsTable, transactionsTableModel);
 
-                // Adjust column identifiers for the user view
-                ordersTableModel.setColumnIdentifiers(
-                        new Vector<>(java.util.Arrays.asList("Order ID", "Total Amount", "Order Date")));
-                transactionsTableModel.setColumnIdentifiers(
-                        new Vector<>(java.util.Arrays.asList("Transaction ID", "Order ID", "Type", "Amount", "Date")));
-
-                // Make the "Add to Cart" button visible for logged-in users
-                addToCartButton.setVisible(true);
-
-            } else { // Admin view: Show all orders and transactions
-                // Show user count and revenue labels for admin
-                userCountLabel.setVisible(true);
-                totalRevenueLabel.setVisible(true);
-
-                List<Order> allOrders = orderManagement.getAllOrders();
-                if (allOrders != null) {
-                    for (Order order : allOrders) {
-                        ordersTableModel.addRow(new Object[] {
-                                order.getOrderId(),
-                                order.getUserId(),
-                                String.format("%.2f", order.getTotalAmount()),
-                                order.getOrderDate()
-                        });
-                    }
+            // Hide user count and revenue labels for regular users
+            userCountLabel.setVisible(false);
+            totalRevenueLabel.setVisible(false);
+
+            if (data.orders != null) {
+                for (Order order : data.orders) {
+                    ordersTableModel.addRow(new Object[] {
+                            order.getOrderId(),
+                            Money.format(order.getTotalAmountCents()),
+                            order.getOrderDate()
+                    });
                 }
+            }
 
-                List<Transaction> allTransactions = transactionManagement.getAllTransactions();
-                if (allTransactions != null) {
-                    for (Transaction transaction : allTransactions) {
-                        transactionsTableModel.addRow(new Object[] {
-                                transaction.getTransactionId(),
-                                transaction.getOrderId(),
-                                transaction.getUserId(),
-                                transaction.getTransactionType(),
-                                String.format("%.2f", transaction.getAmount()),
-                                transaction.getTransactionDate()
-                        });
-                    }
+            if (data.transactions != null) {
+                for (Transaction transaction : data.transactions) {
+                    transactionsTableModel.addRow(new Object[] {
+                            transaction.getTransactionId(),
+                            transaction.getOrderId(),
+                            transaction.getTransactionType(),
+                            Money.format(transaction.getAmountCents()),
+                            transaction.getTransactionDate()
+                    });
                 }
-                // Ensure column names are correct for admin view (includes User ID)
-                ordersTableModel.setColumnIdentifiers(
-                        new Vector<>(java.util.Arrays.asList("Order ID", "User ID", "Total Amount", "Order Date")));
-                transactionsTableModel.setColumnIdentifiers(new Vector<>(
-                        java.util.Arrays.asList("Transaction ID", "Order ID", "User ID", "Type", "Amount", "Date")));
-
-                // Hide the "Add to Cart" button in admin view
-                addToCartButton.setVisible(false);
             }
 
-            // Ensure tables are updated in the UI
-            gamesTable.revalidate();
-            gamesTable.repaint();
-            ownedGamesTable.revalidate();
-            ownedGamesTable.repaint();
-            recentOrdersTable.revalidate();
-            recentOrdersTable.repaint();
-            recentTransactionsTable.revalidate();
-            recentTransactionsTable.repaint();
+            // Adjust column identifiers for the user view
+            ordersTableModel.setColumnIdentifiers(
+                    new Vector<>(java.util.Arrays.asList("Order ID", "Total Amount", "Order Date")));
+            transactionsTableModel.setColumnIdentifiers(
+                    new Vector<>(java.util.Arrays.asList("Transaction ID", "Order ID", "Type", "Amount", "Date")));
+
+            // Make the "Add to Cart" button visible for logged-in users
+            addToCartButton.setVisible(true);
+
+        } else { // Admin view: Show all orders and transactions
+            // Show user count and revenue labels for admin
+            userCountLabel.setText("Total Users: " + (data.userCount >= 0 ? data.userCount : "N/A"));
+            totalRevenueLabel.setText(data.totalRevenueCents >= 0
+                    ? "Total Revenue: $" + Money.format(data.totalRevenueCents)
+                    : "Total Revenue: N/A");
+            userCountLabel.setVisible(true);
+            totalRevenueLabel.setVisible(true);
+
+            // Page through all orders and transactions, read as the tables scroll
+            if (recentOrdersTable.getModel() != allOrdersTableModel) {
+                allOrdersTableModel.install(recentOrdersTable);
+                allTransactionsTableModel.install(recentTransactionsTable);
+            }
+            allOrdersTableModel.refresh();
+            allTransactionsTableModel.refresh();
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading dashboard data: " + e.getMessage(), "Error",
-                    JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
+            // Hide the "Add to Cart" button in admin view
+            addToCartButton.setVisible(false);
+        }
+
+        // Ensure tables are updated in the UI
+        gamesTable.revalidate();
+        gamesTable.repaint();
+        ownedGamesTable.revalidate();
+        ownedGamesTable.repaint();
+        recommendedGamesTable.revalidate();
+        recommendedGamesTable.repaint();
+        trendingGamesTable.revalidate();
+        trendingGamesTable.repaint();
+        recentOrdersTable.revalidate();
+        recentOrdersTable.repaint();
+        recentTransactionsTable.revalidate();
+        recentTransactionsTable.repaint();
+    }
+
+    // Switches a table back from its paged admin model to the user view's model
+    private void showTableModel(JTable table, DefaultTableModel model) {
+        if (table.getModel() != model) {
+            table.setModel(model);
+            table.setAutoCreateRowSorter(true);
         }
     }
 
     /**
-     * Refreshes only the owned games list for the current user.
+     * Refreshes only the owned games list for the current user, in the
+     * background.
      * This is more efficient than reloading all dashboard data when only owned
      * games change.
      * 
@@ -480,10 +869,10 @@ public class DashboardPanel extends JPanel {
         if (userId == -1)
             return; // No user logged in, nothing to refresh
 
-        try {
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start("Dashboard.OwnedGames");
+        load.publish(load.fetch(() -> gameManagement.getOwnedGames(userId)), ownedGames -> {
             // Clear and reload just the owned games table
             ownedGamesTableModel.setRowCount(0);
-            List<Game> ownedGames = gameManagement.getOwnedGames(userId);
             for (Game game : ownedGames) {
                 ownedGamesTableModel.addRow(new Object[] {
                         game.getGameId(),
@@ -499,10 +888,10 @@ public class DashboardPanel extends JPanel {
             // Ensure UI is updated
             ownedGamesTable.revalidate();
             ownedGamesTable.repaint();
-        } catch (Exception e) {
+        }, e -> {
             JOptionPane.showMessageDialog(this, "Error refreshing owned games: " + e.getMessage(),
                     "Error", JOptionPane.ERROR_MESSAGE);
             e.printStackTrace();
-        }
+        });
     }
-}
\ No newline at end of file
+}
@@ -155,13 +155,16 @@ public class DatabaseConnectionPanel extends JPanel {
         SwingWorker<Boolean, Void> worker = new SwingWorker<Boolean, Void>() {
             @Override
             protected Boolean doInBackground() throws Exception {
+                // Borrow and return one connection to make sure the pool is up
                 try {
-                    DBUtil.getConnection();
-                    return true;
+                    DBUtil.getConnection().close();
                 } catch (SQLException | IOException e) {
                     e.printStackTrace();
                     return false;
                 }
+                // Load the live sales totals before anyone can place an order
+                parentFrame.getStatisticsManagement().getSalesCounters().start();
+                return true;
             }
 
             @Override
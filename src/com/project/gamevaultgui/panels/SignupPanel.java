@@ -244,7 +244,7 @@ public class SignupPanel extends JPanel {
         try {
             // Create a new user object (initial wallet balance could be 0.0f or
             // user-defined)
-            User newUser = new User(email, password, username, 0.0f); // Start with $0 wallet
+            User newUser = new User(email, password, username, 0); // Start with $0 wallet
 
             // Call UserManagement to add the user (handles DB insertion)
             parentFrame.getUserManagement().addUser(newUser);
@@ -1,23 +1,34 @@
 package com.project.gamevaultgui.panels.admin;
 
 import com.project.gamevaultcli.entities.Game;
+import com.project.gamevaultcli.management.GameCatalogTransfer;
 import com.project.gamevaultcli.management.GameManagement;
+import com.project.gamevaultgui.GameFilterBar;
 import com.project.gamevaultgui.GameVaultFrame;
+import com.project.gamevaultgui.PagedTableModel;
+import com.project.gamevaultgui.PanelDataLoader;
 import com.project.gamevaultgui.dialogs.GameFormDialog;
 import com.project.gamevaultcli.exceptions.GameNotFoundException;
+import com.project.gamevaultcli.helpers.GameFacets;
+import com.project.gamevaultcli.helpers.GameFilter;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.filechooser.FileNameExtensionFilter;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.File;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.CompletableFuture;
 
 public class ManageGamesPanel extends JPanel {
 
@@ -25,11 +36,17 @@ public class ManageGamesPanel extends JPanel {
     private final GameVaultFrame parentFrame; // Need parent frame to launch the dialog
 
     private JTable gamesTable;
-    private DefaultTableModel gamesTableModel;
+    private PagedTableModel<Game> gamesTableModel;
     private JScrollPane gamesScrollPane;
+    private GameFilterBar filterBar;
+    // Read by the table's page reads on the worker pool
+    private volatile GameFilter filter = GameFilter.any();
 
     private JButton addNewGameButton; // Button to trigger the add dialog
     private JButton deleteButton;
+    private JButton importButton;
+    private JButton exportButton;
+    private JLabel transferStatusLabel; // Progress of a running import/export
 
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd");
 
@@ -54,14 +71,37 @@ public class ManageGamesPanel extends JPanel {
 
     private void initComponents() {
         // --- Games Table ---
-        gamesTableModel = new DefaultTableModel(
-                new Object[] { "ID", "Title", "Developer", "Platform", "Price", "Release Date" }, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        gamesTable = new JTable(gamesTableModel);
+        // Rows are read a page at a time as the table scrolls, sorted in the database,
+        // or filtered and sorted in the in-memory catalog while a filter is set
+        gamesTableModel = new PagedTableModel<>(
+                new String[] { "ID", "Title", "Developer", "Platform", "Price", "Release Date" },
+                new String[] { "gameId", "title", "developer", "platform", "price", "releaseDate" },
+                new PagedTableModel.PageSource<Game>() {
+                    @Override
+                    public long count() {
+                        GameFilter current = filter;
+                        return current.isEmpty() ? gameManagement.getGameCount() : gameManagement.getGameCount(current);
+                    }
+
+                    @Override
+                    public Page<Game> fetch(PageRequest request) {
+                        GameFilter current = filter;
+                        return current.isEmpty() ? gameManagement.getGamePage(request)
+                                : gameManagement.getGamePage(current, request);
+                    }
+                },
+                game -> new Object[] {
+                        game.getGameId(),
+                        game.getTitle(),
+                        game.getDeveloper(),
+                        game.getPlatform(),
+                        Money.format(game.getPriceCents()),
+                        game.getReleaseDate() != null ? DATE_FORMAT.format(game.getReleaseDate()) : "N/A"
+                },
+                parentFrame.getDataLoader().getExecutor(), 0, true);
+        gamesTableModel.setErrorHandler(message -> JOptionPane.showMessageDialog(this,
+                "Error loading games: " + message, "Database Error", JOptionPane.ERROR_MESSAGE));
+        gamesTable = new JTable();
         gamesScrollPane = new JScrollPane(gamesTable);
         gamesScrollPane.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(new Color(180, 180, 180), 1),
@@ -69,14 +109,25 @@ public class ManageGamesPanel extends JPanel {
                 TitledBorder.LEADING, TitledBorder.TOP,
                 new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
         customizeTable(gamesTable);
+        gamesTableModel.install(gamesTable);
+        filterBar = new GameFilterBar(newFilter -> {
+            filter = newFilter;
+            loadGames();
+        });
 
         // --- Buttons ---
         addNewGameButton = new JButton("New Game Entry"); // Button to open dialog for adding
         deleteButton = new JButton("Delete Selected");
+        importButton = new JButton("Import...");
+        exportButton = new JButton("Export...");
+        transferStatusLabel = new JLabel(" ");
+        transferStatusLabel.setFont(new Font("SansSerif", Font.PLAIN, 12));
 
         // Style buttons
         styleButton(addNewGameButton, new Color(40, 167, 69), Color.WHITE); // Green for New
         styleButton(deleteButton, new Color(220, 53, 69), Color.WHITE); // Red for Delete
+        styleButton(importButton, new Color(0, 123, 255), Color.WHITE); // Blue for file transfers
+        styleButton(exportButton, new Color(0, 123, 255), Color.WHITE);
     }
 
     private void customizeTable(JTable table) {
@@ -88,7 +139,6 @@ public class ManageGamesPanel extends JPanel {
         table.setGridColor(new Color(200, 200, 200));
         table.setBackground(Color.WHITE);
         table.getTableHeader().setBackground(new Color(220, 220, 220));
-        table.setAutoCreateRowSorter(true); // Enable sorting
     }
 
     private void styleButton(JButton button, Color bgColor, Color fgColor) {
@@ -132,12 +182,16 @@ public class ManageGamesPanel extends JPanel {
         // Panel for table buttons (New Game Entry, Delete)
         JPanel tableButtonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0)); // Right alignment, 10px gap
         tableButtonPanel.setOpaque(false);
+        tableButtonPanel.add(transferStatusLabel);
+        tableButtonPanel.add(importButton);
+        tableButtonPanel.add(exportButton);
         tableButtonPanel.add(addNewGameButton);
         tableButtonPanel.add(deleteButton);
 
         // Combine table and its buttons
         JPanel tableAreaPanel = new JPanel(new BorderLayout(0, 5)); // BorderLayout with vertical gap
         tableAreaPanel.setOpaque(false);
+        tableAreaPanel.add(filterBar, BorderLayout.NORTH);
         tableAreaPanel.add(gamesScrollPane, BorderLayout.CENTER);
         tableAreaPanel.add(tableButtonPanel, BorderLayout.SOUTH);
 
@@ -164,8 +218,10 @@ public class ManageGamesPanel extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 if (e.getClickCount() == 2 && gamesTable.getSelectedRow() != -1) {
                     int selectedRow = gamesTable.getSelectedRow();
-                    int gameId = (int) gamesTableModel.getValueAt(selectedRow, 0);
-                    editGame(gameId); // Call method to open edit dialog
+                    Object gameId = gamesTableModel.getValueAt(selectedRow, 0);
+                    if (gameId != null) { // null while the row's page is still loading
+                        editGame((int) gameId); // Call method to open edit dialog
+                    }
                 }
             }
         });
@@ -175,6 +231,10 @@ public class ManageGamesPanel extends JPanel {
 
         // Delete Button Action
         deleteButton.addActionListener(e -> deleteSelectedGame());
+
+        // Import/Export Button Actions
+        importButton.addActionListener(e -> importGames());
+        exportButton.addActionListener(e -> exportGames());
     }
 
     /**
@@ -235,7 +295,11 @@ public class ManageGamesPanel extends JPanel {
         }
 
         // Get ID directly from the table model
-        int gameId = (int) gamesTableModel.getValueAt(selectedRow, 0);
+        Object selectedId = gamesTableModel.getValueAt(selectedRow, 0);
+        if (selectedId == null) { // The row's page is still loading
+            return;
+        }
+        int gameId = (int) selectedId;
         String gameTitle = (String) gamesTableModel.getValueAt(selectedRow, 1);
 
         int confirmResult = JOptionPane.showConfirmDialog(this,
@@ -274,34 +338,121 @@ public class ManageGamesPanel extends JPanel {
     }
 
     /**
-     * Loads all games from the database and populates the table.
-     * This method should be called when the panel is made visible and after
-     * saves/deletes.
+     * Lets the admin pick a CSV or JSON Lines file and imports it in the
+     * background, showing progress next to the buttons.
      */
-    public void loadGames() {
-        gamesTableModel.setRowCount(0); // Clear existing data
+    private void importGames() {
+        JFileChooser chooser = createCatalogFileChooser();
+        if (chooser.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        runTransfer(chooser.getSelectedFile(), true);
+    }
+
+    /**
+     * Lets the admin pick a destination file and exports the catalog to it in
+     * the background.
+     */
+    private void exportGames() {
+        JFileChooser chooser = createCatalogFileChooser();
+        chooser.setSelectedFile(new File("games.csv"));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        File file = chooser.getSelectedFile();
+        if (file.exists()) {
+            int confirmResult = JOptionPane.showConfirmDialog(this,
+                    "File '" + file.getName() + "' already exists. Overwrite it?", "Confirm Overwrite",
+                    JOptionPane.YES_NO_OPTION, JOptionPane.QUESTION_MESSAGE);
+            if (confirmResult != JOptionPane.YES_OPTION) {
+                return;
+            }
+        }
+        runTransfer(file, false);
+    }
+
+    private JFileChooser createCatalogFileChooser() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Game catalogs (*.csv, *.jsonl, *.ndjson)",
+                "csv", "jsonl", "ndjson"));
+        return chooser;
+    }
+
+    private void runTransfer(File file, boolean isImport) {
+        GameCatalogTransfer.Format format;
         try {
-            List<Game> games = gameManagement.getAllGames();
-            if (games != null) {
-                for (Game game : games) {
-                    String releaseDateStr = (game.getReleaseDate() != null) ? DATE_FORMAT.format(game.getReleaseDate())
-                            : "N/A";
-                    gamesTableModel.addRow(new Object[] {
-                            game.getGameId(),
-                            game.getTitle(),
-                            game.getDeveloper(),
-                            game.getPlatform(),
-                            String.format("%.2f", game.getPrice()),
-                            releaseDateStr
-                    });
+            format = GameCatalogTransfer.Format.fromFileName(file.getName());
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Unsupported File", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        importButton.setEnabled(false);
+        exportButton.setEnabled(false);
+        transferStatusLabel.setText(isImport ? "Importing..." : "Exporting...");
+
+        SwingWorker<GameCatalogTransfer.Report, String> worker = new SwingWorker<GameCatalogTransfer.Report, String>() {
+            @Override
+            protected GameCatalogTransfer.Report doInBackground() throws Exception {
+                GameCatalogTransfer.ProgressListener listener = (rows, elapsedMillis) -> publish(String.format(
+                        "%,d rows (%.0f rows/s)", rows, elapsedMillis == 0 ? 0.0 : rows * 1000.0 / elapsedMillis));
+                return isImport
+                        ? gameManagement.importGames(file.toPath(), format, listener)
+                        : gameManagement.exportGames(file.toPath(), format, listener);
+            }
+
+            @Override
+            protected void process(List<String> chunks) {
+                transferStatusLabel.setText(chunks.get(chunks.size() - 1));
+            }
+
+            @Override
+            protected void done() {
+                importButton.setEnabled(true);
+                exportButton.setEnabled(true);
+                transferStatusLabel.setText(" ");
+                try {
+                    GameCatalogTransfer.Report report = get();
+                    StringBuilder message = new StringBuilder((isImport ? "Import" : "Export") + " finished: " + report);
+                    for (String error : report.getErrors()) {
+                        message.append("\nSkipped ").append(error);
+                    }
+                    JOptionPane.showMessageDialog(ManageGamesPanel.this, message.toString(),
+                            isImport ? "Import Complete" : "Export Complete", JOptionPane.INFORMATION_MESSAGE);
+                } catch (Exception e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    JOptionPane.showMessageDialog(ManageGamesPanel.this,
+                            (isImport ? "Error importing games: " : "Error exporting games: ") + cause.getMessage(),
+                            "Transfer Failed", JOptionPane.ERROR_MESSAGE);
+                }
+                if (isImport) {
+                    // Refresh even after a failure, earlier chunks may have been imported
+                    loadGames();
+                    parentFrame.refreshGameData();
                 }
             }
-            // Ensure delete button state is correct after loading
-            deleteButton.setEnabled(gamesTable.getSelectedRow() != -1);
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading games: " + e.getMessage(), "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        };
+        worker.execute();
+    }
+
+    /**
+     * Reloads the games table. Only the game count is read here; the rows are
+     * read in the background as they scroll into view.
+     * This method should be called when the panel is made visible and after
+     * saves/deletes.
+     */
+    public void loadGames() {
+        gamesTableModel.refresh();
+        loadFacets();
+        // Ensure delete button state is correct after loading
+        deleteButton.setEnabled(gamesTable.getSelectedRow() != -1);
+    }
+
+    // Updates the filter choices' counts in the background
+    private void loadFacets() {
+        GameFilter current = filter;
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start("ManageGamesFacets");
+        CompletableFuture<GameFacets> facets = load.fetch(() -> gameManagement.getGameFacets(current));
+        load.publish(facets, filterBar::setFacets, e -> e.printStackTrace());
     }
-}
\ No newline at end of file
+}
@@ -1,31 +1,36 @@
 package com.project.gamevaultgui.panels.admin;
 
 import com.project.gamevaultcli.entities.User;
+import com.project.gamevaultcli.helpers.Money;
+import com.project.gamevaultcli.helpers.Page;
+import com.project.gamevaultcli.helpers.PageRequest;
 import com.project.gamevaultcli.management.UserManagement;
+import com.project.gamevaultgui.GameVaultFrame;
+import com.project.gamevaultgui.PagedTableModel;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Vector;
 
 public class ManageUsersPanel extends JPanel {
 
     private final UserManagement userManagement;
+    private final GameVaultFrame parentFrame;
 
     private JTable usersTable;
-    private DefaultTableModel usersTableModel;
+    private PagedTableModel<User> usersTableModel;
     private JScrollPane usersScrollPane;
     private JButton deleteButton;
 
     private static final SimpleDateFormat DATE_FORMAT = new SimpleDateFormat("yyyy-MM-dd HH:mm");
 
-    public ManageUsersPanel(UserManagement userManagement) {
+    public ManageUsersPanel(UserManagement userManagement, GameVaultFrame parentFrame) {
         this.userManagement = userManagement;
+        this.parentFrame = parentFrame;
 
         setLayout(new BorderLayout(10, 10));
         setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
@@ -40,14 +45,32 @@ public class ManageUsersPanel extends JPanel {
     }
 
     private void initComponents() {
-        usersTableModel = new DefaultTableModel(
-                new Object[] { "ID", "Username", "Email", "Wallet Balance", "Member Since" }, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        usersTable = new JTable(usersTableModel);
+        // Rows are read a page at a time as the table scrolls, sorted in the database
+        usersTableModel = new PagedTableModel<>(
+                new String[] { "ID", "Username", "Email", "Wallet Balance", "Member Since" },
+                new String[] { "userId", "username", "email", "walletBalance", "createdAt" },
+                new PagedTableModel.PageSource<User>() {
+                    @Override
+                    public long count() {
+                        return userManagement.getUserCount();
+                    }
+
+                    @Override
+                    public Page<User> fetch(PageRequest request) {
+                        return userManagement.getUserPage(request);
+                    }
+                },
+                user -> new Object[] {
+                        user.getUserId(),
+                        user.getUsername(),
+                        user.getEmail(),
+                        Money.format(user.getWalletBalanceCents()),
+                        user.getCreatedAt() != null ? DATE_FORMAT.format(user.getCreatedAt()) : "N/A"
+                },
+                parentFrame.getDataLoader().getExecutor(), 0, true);
+        usersTableModel.setErrorHandler(message -> JOptionPane.showMessageDialog(this,
+                "Error loading users: " + message, "Database Error", JOptionPane.ERROR_MESSAGE));
+        usersTable = new JTable();
         usersScrollPane = new JScrollPane(usersTable);
         usersScrollPane.setBorder(BorderFactory.createTitledBorder(
                 BorderFactory.createLineBorder(new Color(180, 180, 180), 1),
@@ -55,6 +78,7 @@ public class ManageUsersPanel extends JPanel {
                 TitledBorder.LEADING, TitledBorder.TOP,
                 new Font("SansSerif", Font.BOLD, 14), new Color(50, 50, 50)));
         customizeTable(usersTable);
+        usersTableModel.install(usersTable);
 
         // Initialize delete button
         deleteButton = new JButton("Delete Selected User");
@@ -76,7 +100,6 @@ public class ManageUsersPanel extends JPanel {
         table.setGridColor(new Color(200, 200, 200));
         table.setBackground(Color.WHITE);
         table.getTableHeader().setBackground(new Color(220, 220, 220));
-        table.setAutoCreateRowSorter(true); // Enable sorting
     }
 
     private void addComponents() {
@@ -113,7 +136,11 @@ public class ManageUsersPanel extends JPanel {
         }
 
         // Get ID directly from the table model
-        int userId = (int) usersTableModel.getValueAt(selectedRow, 0);
+        Object selectedId = usersTableModel.getValueAt(selectedRow, 0);
+        if (selectedId == null) { // The row's page is still loading
+            return;
+        }
+        int userId = (int) selectedId;
         String username = (String) usersTableModel.getValueAt(selectedRow, 1);
 
         int confirmResult = JOptionPane.showConfirmDialog(this,
@@ -149,30 +176,11 @@ public class ManageUsersPanel extends JPanel {
     }
 
     /**
-     * Loads all users from the database and populates the table.
+     * Reloads the users table. Only the user count is read here; the rows are
+     * read in the background as they scroll into view.
      * This method should be called when the panel is made visible.
      */
     public void loadUsers() {
-        usersTableModel.setRowCount(0); // Clear existing data
-        try {
-            List<User> users = userManagement.getAllUsers();
-            if (users != null) {
-                for (User user : users) {
-                    String createdAtStr = (user.getCreatedAt() != null) ? DATE_FORMAT.format(user.getCreatedAt())
-                            : "N/A";
-                    usersTableModel.addRow(new Object[] {
-                            user.getUserId(),
-                            user.getUsername(),
-                            user.getEmail(),
-                            String.format("%.2f", user.getWalletBalance()),
-                            createdAtStr
-                    });
-                }
-            }
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Error loading users: " + e.getMessage(), "Database Error",
-                    JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace();
-        }
+        usersTableModel.refresh();
     }
-}
\ No newline at end of file
+}
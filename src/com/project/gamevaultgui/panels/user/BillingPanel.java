@@ -1,17 +1,18 @@
 package com.project.gamevaultgui.panels.user;
 
-import com.project.gamevaultcli.entities.Game;
 import com.project.gamevaultcli.entities.Order;
 import com.project.gamevaultcli.entities.Transaction;
-import com.project.gamevaultcli.management.GameManagement;
+import com.project.gamevaultcli.helpers.Money;
 import com.project.gamevaultcli.management.OrderManagement;
 import com.project.gamevaultcli.management.TransactionManagement;
 import com.project.gamevaultgui.GameVaultFrame;
+import com.project.gamevaultgui.PanelDataLoader;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder; // Import TitledBorder
 import java.awt.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.Vector; // Necessary for DefaultTableModel constructor with column names as Vector
 import javax.swing.table.DefaultTableModel;
 
@@ -19,7 +20,6 @@ public class BillingPanel extends JPanel {
 
     private final OrderManagement orderManagement;
     private final TransactionManagement transactionManagement;
-    private final GameManagement gameManagement; // Added GameManagement reference
     private final GameVaultFrame parentFrame; // Reference to the parent frame
 
     private JTable ordersTable;
@@ -34,7 +34,6 @@ public class BillingPanel extends JPanel {
             GameVaultFrame parentFrame) {
         this.orderManagement = orderManagement;
         this.transactionManagement = transactionManagement;
-        this.gameManagement = parentFrame.getGameManagement(); // Get GameManagement from parent frame
         this.parentFrame = parentFrame; // Initialize parent frame reference
 
         setLayout(new GridLayout(2, 1, 10, 10)); // 2 rows, 1 column, with spacing
@@ -113,92 +112,77 @@ public class BillingPanel extends JPanel {
 
     /**
      * Loads and displays the orders and transactions for the given user ID.
+     * Both queries run in parallel in the background; the tables are filled on
+     * the EDT when they finish.
      * 
      * @param userId The ID of the user whose history to load.
      */
     public void loadBills(int userId) {
+        PanelDataLoader.Load load = parentFrame.getDataLoader().start("Billing");
+        // Load past orders for the current user, with the games bought in each
+        CompletableFuture<List<Order>> userOrders = load.fetch(() -> orderManagement.getOrderHistory(userId));
+        // Load transactions for the current user
+        CompletableFuture<List<Transaction>> userTransactions = load
+                .fetch(() -> transactionManagement.getTransactionsByUser(userId));
+
+        load.publish(CompletableFuture.allOf(userOrders, userTransactions),
+                ignored -> showBills(userOrders.join(), userTransactions.join()), e -> {
+                    // Display an error message to the user if data loading fails
+                    JOptionPane.showMessageDialog(this,
+                            "Error loading order and transaction history: " + e.getMessage(),
+                            "Loading Error", JOptionPane.ERROR_MESSAGE);
+                    e.printStackTrace(); // Print stack trace for debugging purposes
+                });
+    }
+
+    // Fills both tables from a finished load; runs on the EDT
+    private void showBills(List<Order> userOrders, List<Transaction> userTransactions) {
         ordersTableModel.setRowCount(0); // Clear previous data from the orders table
         transactionsTableModel.setRowCount(0); // Clear previous data from the transactions table
 
-        try {
-            // Load past orders for the current user
-            List<Order> allOrders = orderManagement.getAllOrders();
-            if (allOrders != null) { // Check if the list is not null
-                for (Order order : allOrders) {
-                    if (order.getUserId() == userId) {
-                        // Get game name for this order from the transaction
-                        List<Transaction> transactions = transactionManagement.getAllTransactions();
-                        String gameName = "Unknown Game";
-
-                        // Find transaction for this order to get the game ID
-                        for (Transaction transaction : transactions) {
-                            if (transaction.getOrderId() != null &&
-                                    transaction.getOrderId() == order.getOrderId() &&
-                                    transaction.getTransactionType().equals("Purchase")) {
-
-                                // Try to get game using orderId from transaction (which might be gameId)
-                                try {
-                                    Game game = gameManagement.getGame(transaction.getOrderId());
-                                    if (game != null) {
-                                        gameName = game.getTitle();
-                                        break;
-                                    }
-                                } catch (Exception e) {
-                                    // Game not found, continue with default name
-                                }
-                            }
-                        }
-
-                        // Add row with game name
-                        ordersTableModel.addRow(new Object[] {
-                                order.getOrderId(),
-                                gameName,
-                                String.format("%.2f", order.getTotalAmount()), // Format total amount to 2 decimal
-                                                                               // places
-                                order.getOrderDate() // Display the order date
-                        });
-                    }
-                }
+        if (userOrders != null) { // Check if the list is not null
+            for (Order order : userOrders) {
+                String gameName = order.getGameTitles().isEmpty() ? "Unknown Game"
+                        : String.join(", ", order.getGameTitles());
+
+                // Add row with game name
+                ordersTableModel.addRow(new Object[] {
+                        order.getOrderId(),
+                        gameName,
+                        Money.format(order.getTotalAmountCents()), // Format total amount to 2 decimal
+                                                                       // places
+                        order.getOrderDate() // Display the order date
+                });
             }
+        }
 
-            // Load transactions for the current user
-            List<Transaction> allTransactions = transactionManagement.getAllTransactions();
-            if (allTransactions != null) { // Check if the list is not null
-                for (Transaction transaction : allTransactions) {
-                    if (transaction.getUserId() == userId) {
-                        transactionsTableModel.addRow(new Object[] {
-                                transaction.getTransactionId(),
-                                transaction.getOrderId(),
-                                // transaction.getUserId(), // User ID column is typically hidden in user's own
-                                // view
-                                transaction.getTransactionType(),
-                                String.format("%.2f", transaction.getAmount()), // Format amount
-                                transaction.getTransactionDate() // Display the transaction date (LocalDateTime or Date)
-                        });
-                    }
-                }
+        if (userTransactions != null) { // Check if the list is not null
+            for (Transaction transaction : userTransactions) {
+                transactionsTableModel.addRow(new Object[] {
+                        transaction.getTransactionId(),
+                        transaction.getOrderId(),
+                        // transaction.getUserId(), // User ID column is typically hidden in user's own
+                        // view
+                        transaction.getTransactionType(),
+                        Money.format(transaction.getAmountCents()), // Format amount
+                        transaction.getTransactionDate() // Display the transaction date (LocalDateTime or Date)
+                });
             }
-
-            // Ensure column identifiers are correctly set in case they were changed or
-            // cleared
-            // This line is optional if column names are always the same, but can help
-            // ensure consistency
-            ordersTableModel.setColumnIdentifiers(
-                    new Vector<>(java.util.Arrays.asList("Order ID", "Game Name", "Total Amount", "Order Date")));
-            transactionsTableModel.setColumnIdentifiers(
-                    new Vector<>(java.util.Arrays.asList("Transaction ID", "Order ID", "Type", "Amount", "Date")));
-
-            // After loading data, ensure the tables are updated in the UI
-            ordersTable.revalidate();
-            ordersTable.repaint();
-            transactionsTable.revalidate();
-            transactionsTable.repaint();
-
-        } catch (Exception e) {
-            // Display an error message to the user if data loading fails
-            JOptionPane.showMessageDialog(this, "Error loading order and transaction history: " + e.getMessage(),
-                    "Loading Error", JOptionPane.ERROR_MESSAGE);
-            e.printStackTrace(); // Print stack trace for debugging purposes
         }
+
+        // Ensure column identifiers are correctly set in case they were changed or
+        // cleared
+        // This line is optional if column names are always the same, but can help
+        // ensure consistency
+        ordersTableModel.setColumnIdentifiers(
+                new Vector<>(java.util.Arrays.asList("Order ID", "Game Name", "Total Amount", "Order Date")));
+        transactionsTableModel.setColumnIdentifiers(
+                new Vector<>(java.util.Arrays.asList("Transaction ID", "Order ID", "Type", "Amount", "Date")));
+
+        // After loading data, ensure the tables are updated in the UI
+        ordersTable.revalidate();
+        ordersTable.repaint();
+        transactionsTable.revalidate();
+        transactionsTable.repaint();
     }
 }
\ No newline at end of file
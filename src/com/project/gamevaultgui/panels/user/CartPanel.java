@@ -6,6 +6,7 @@ import com.project.gamevaultcli.management.CartManagement;
 import com.project.gamevaultcli.management.GameManagement;
 import com.project.gamevaultgui.GameVaultFrame;
 import com.project.gamevaultcli.entities.User; // Import User
+import com.project.gamevaultcli.helpers.Money;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
@@ -138,7 +139,7 @@ public class CartPanel extends JPanel {
 
     public void loadCart(int userId) {
         tableModel.setRowCount(0); // Clear previous data
-        double total = 0.0;
+        long totalCents = 0;
         boolean hasItems = false;
 
         try {
@@ -147,8 +148,8 @@ public class CartPanel extends JPanel {
                 hasItems = true;
                 for (Game game : gamesInCart) {
                     tableModel.addRow(
-                            new Object[] { game.getGameId(), game.getTitle(), String.format("%.2f", game.getPrice()) });
-                    total += game.getPrice();
+                            new Object[] { game.getGameId(), game.getTitle(), Money.format(game.getPriceCents()) });
+                    totalCents += game.getPriceCents();
                 }
             }
 
@@ -162,7 +163,7 @@ public class CartPanel extends JPanel {
                     JOptionPane.ERROR_MESSAGE);
             e.printStackTrace();
         } finally {
-            totalLabel.setText(String.format("Total: $%.2f", total));
+            totalLabel.setText("Total: $" + Money.format(totalCents));
             // Enable checkout if there are items in cart, regardless of total price
             checkoutButton.setEnabled(hasItems);
         }
@@ -15,6 +15,7 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.time.LocalDateTime; // Import LocalDateTime
 import com.project.gamevaultcli.entities.Transaction; // Import Transaction
+import com.project.gamevaultcli.helpers.Money;
 
 public class UserPanel extends JPanel {
 
@@ -307,7 +308,7 @@ public class UserPanel extends JPanel {
         if (user != null) {
             usernameValueLabel.setText(user.getUsername());
             emailValueLabel.setText(user.getEmail());
-            walletBalanceValueLabel.setText(String.format("$%.2f", user.getWalletBalance()));
+            walletBalanceValueLabel.setText("$" + Money.format(user.getWalletBalanceCents()));
             Date createdAtDate = user.getCreatedAt();
             if (createdAtDate != null) {
                 createdAtValueLabel.setText(DATE_FORMAT.format(createdAtDate));
@@ -368,18 +369,18 @@ public class UserPanel extends JPanel {
 
         if (amountStr != null) { // Check if user didn't cancel
             try {
-                float amount = Float.parseFloat(amountStr.trim());
+                long amountCents = Money.parse(amountStr);
 
-                if (amount <= 0) {
+                if (amountCents <= 0) {
                     JOptionPane.showMessageDialog(this, "Please enter a positive amount.", "Invalid Amount",
                             JOptionPane.WARNING_MESSAGE);
                 } else {
                     // Call parent frame to handle the balance update logic
-                    parentFrame.addBalanceToCurrentUser(amount);
+                    parentFrame.addBalanceToCurrentUser(amountCents);
                 }
 
             } catch (NumberFormatException e) {
-                JOptionPane.showMessageDialog(this, "Invalid input. Please enter a valid number.", "Invalid Amount",
+                JOptionPane.showMessageDialog(this, "Invalid input. Please enter an amount such as 10 or 10.50.", "Invalid Amount",
                         JOptionPane.WARNING_MESSAGE);
             }
         }